@@ -0,0 +1,649 @@
+package healthcare;
+
+import java.util.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.IntFunction;
+import java.lang.management.ManagementFactory;
+
+// ==================== Healthcare Benchmark ====================
+// Stand-alone load and throughput harness for the monitoring system, compiled with the tests
+// Observers here only count and sum what they receive, so the figures measure the pipeline and not console output
+// Usage: mvn -pl Exercise-1 test-compile exec:exec@load -Dload.args="[ingest] [monitor] [history] [analytics] [alerts] [fanout] [devices] [registry] [replay] [metrics] [output]"   (no arguments runs all)
+public class HealthcareBenchmark {
+    private static final int PATIENTS = 10_000;
+    private static final int PRODUCERS = 4;
+    private static final long READINGS_PER_PRODUCER = 2_000_000;
+    private static final int DAY_AT_1HZ = 86_400;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    static volatile long sink; // Keeps measured results alive so the JIT cannot drop the work
+
+    public static void main(String[] args) throws Exception {
+        Set<String> sections = new HashSet<>(Arrays.asList(args));
+        boolean all = sections.isEmpty();
+
+        if (all || sections.contains("ingest")) {
+            System.out.println("=== Vitals Ingestion ===");
+            ingestion(PATIENTS, PRODUCERS, READINGS_PER_PRODUCER);
+        }
+        if (all || sections.contains("monitor")) {
+            System.out.println("\n=== Concurrent Monitoring ===");
+            for (int patients : new int[] { 1_000, 10_000, 50_000 }) monitoring(patients, 4, 5_000);
+        }
+        if (all || sections.contains("history")) {
+            System.out.println("\n=== Vitals History ===");
+            history(1_000);
+        }
+        if (all || sections.contains("analytics")) {
+            System.out.println("\n=== Vitals Analytics ===");
+            analytics(10_000, 10_000_000);
+        }
+        if (all || sections.contains("alerts")) {
+            System.out.println("\n=== Alert Dispatch ===");
+            alertDispatch(1_000, 20_000);
+        }
+        if (all || sections.contains("fanout")) {
+            System.out.println("\n=== Observer Fan-out ===");
+            fanOut(10_000, 3, 5_000_000);
+        }
+        if (all || sections.contains("devices")) {
+            System.out.println("\n=== Sensor I/O ===");
+            sensorReads(10_000, 64);
+            for (int devices : new int[] { 100, 1_000, 5_000 }) deviceStreams(devices, 50, 16);
+        }
+        if (all || sections.contains("registry")) {
+            System.out.println("\n=== Patient Registry ===");
+            registry(200_000, 4, 8);
+        }
+        if (all || sections.contains("replay")) {
+            System.out.println("\n=== Recording and Replay ===");
+            replay(10_000, 10_000_000);
+        }
+        if (all || sections.contains("metrics")) {
+            System.out.println("\n=== Metrics Overhead ===");
+            metricsOverhead(10_000, 4, 2_000_000);
+        }
+        if (all || sections.contains("output")) {
+            System.out.println("\n=== Console Output ===");
+            output(1_000, 4, 100_000);
+        }
+    }
+
+    // Readings per second through the pipeline for several lane counts and both backpressure policies,
+    // against producers calling setVitals/notifyObservers themselves
+    static void ingestion(int patientCount, int producers, long readingsPerProducer) throws Exception {
+        CountingObserver observer = new CountingObserver();
+        List<Patient> patients = patients(patientCount, observer);
+
+        // Warm-up pass so both paths are compiled before anything is reported
+        direct(patients, producers, readingsPerProducer / 4);
+        try (VitalsPipeline pipeline = new VitalsPipeline(2, 65_536, 1024, VitalsPipeline.Backpressure.BLOCK, new LatestVitalsSink())) {
+            new VitalsLoadGenerator(patients, producers, 1).run(pipeline, readingsPerProducer / 4, 0);
+            pipeline.flush();
+        }
+
+        System.out.printf("%-34s %14s %10s %10s %12s %10s%n",
+                "configuration", "readings/s", "dropped", "blocked", "notified", "avg batch");
+        long before = observer.updates.sum();
+        long nanos = direct(patients, producers, readingsPerProducer);
+        long total = readingsPerProducer * producers;
+        System.out.printf("%-34s %,14.0f %10s %10s %,12d %10s%n", "direct (caller thread)",
+                total * 1e9 / nanos, "-", "-", observer.updates.sum() - before, "1.0");
+
+        for (VitalsPipeline.Backpressure policy : VitalsPipeline.Backpressure.values()) {
+            for (int lanes : new int[] { 1, 2, 4 }) {
+                before = observer.updates.sum();
+                VitalsLoadGenerator.Result result;
+                long delivered, batches, dropped, blockedCount;
+                long begin = System.nanoTime();
+                try (VitalsPipeline pipeline = new VitalsPipeline(lanes, 65_536, 1024, policy, new LatestVitalsSink())) {
+                    result = new VitalsLoadGenerator(patients, producers, 2).run(pipeline, readingsPerProducer, 0);
+                    pipeline.flush();
+                    delivered = pipeline.getDelivered();
+                    batches = pipeline.getBatches();
+                    dropped = pipeline.getDropped();
+                    blockedCount = pipeline.getBlockedCount();
+                }
+                nanos = System.nanoTime() - begin;
+                System.out.printf("%-34s %,14.0f %,10d %,10d %,12d %10.1f%n",
+                        String.format("pipeline [%s, %d lanes]", policy, lanes),
+                        delivered * 1e9 / nanos, dropped, blockedCount, observer.updates.sum() - before,
+                        (batches == 0) ? 0.0 : (double) delivered / batches);
+                if (result.submitted != delivered + dropped)
+                    System.out.println("  mismatch: submitted " + result.submitted + ", delivered + dropped " + (delivered + dropped));
+            }
+        }
+    }
+
+    // Checks per second and scheduling lag for a ward split evenly across the three polling rates
+    static void monitoring(int patientCount, int threads, long runMillis) throws InterruptedException {
+        LongAdder checks = new LongAdder();
+        MonitoringStrategy[] strategies = {
+                new QuietStrategy(new NormalMonitoring().pollIntervalMillis(), checks),
+                new QuietStrategy(new CriticalMonitoring().pollIntervalMillis(), checks),
+                new QuietStrategy(new PostSurgeryMonitoring().pollIntervalMillis(), checks) };
+        double expected = 0;
+        try (MonitoringEngine engine = new MonitoringEngine(threads)) {
+            for (int i = 0; i < patientCount; i++) {
+                Patient p = new Patient("Patient " + i);
+                p.setStrategy(strategies[i % strategies.length]);
+                expected += 1000.0 / p.getStrategy().pollIntervalMillis();
+                engine.watch(p);
+            }
+            Thread.sleep(runMillis);
+            System.out.printf("%,7d patients, %d threads: %,10.0f checks/s (expected %,.0f), mean lag %.2f ms, max lag %.2f ms, %d failures%n",
+                    patientCount, threads, engine.getChecks() * 1000.0 / runMillis, expected,
+                    engine.getMeanLagNanos() / 1e6, engine.getMaxLagNanos() / 1e6, engine.getFailures());
+        }
+    }
+
+    // Append and window-query cost of the per-patient ring buffers, and measured heap against the sizing estimate
+    static void history(int patientCount) {
+        VitalsHistory h = new VitalsHistory(DAY_AT_1HZ, 24 * 3_600_000L);
+        long t0 = System.currentTimeMillis();
+        long[] clock = { t0 };
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 2 * DAY_AT_1HZ; i++) h.append(clock[0] += 1000, 60 + random.nextDouble() * 40, 37); // Warm and full
+        measure("append (full ring, retention on)", 5_000_000, () -> {
+            for (int i = 0; i < 5_000_000; i++) h.append(clock[0] += 1000, 72.5, 36.8);
+        });
+
+        long[] times = new long[DAY_AT_1HZ];
+        double[] hr = new double[DAY_AT_1HZ];
+        double[] temp = new double[DAY_AT_1HZ];
+        for (long window : new long[] { 60_000, 3_600_000, 24 * 3_600_000L }) {
+            int queries = (int) Math.max(100, 100_000_000 / window);
+            measure(String.format("range copy, %,d s window", window / 1000), queries, () -> {
+                long n = 0;
+                for (int q = 0; q < queries; q++) {
+                    long to = clock[0] - (q % 1000) * 1000L;
+                    n += h.range(to - window, to, times, hr, temp);
+                }
+                sink = n;
+            });
+        }
+
+        System.gc();
+        long before = usedHeap();
+        VitalsHistoryStore store = new VitalsHistoryStore(DAY_AT_1HZ, 24 * 3_600_000L);
+        List<Patient> patients = patients(patientCount, new CountingObserver());
+        for (Patient p : patients) store.record(p, t0, 70, 37);
+        long bytes = usedHeap() - before;
+        System.out.printf("%,d patients x %,d samples: %,d MB measured, %,d MB estimated (%,d B/patient estimated)%n",
+                patientCount, DAY_AT_1HZ, bytes >> 20, VitalsHistoryStore.estimateBytes(patientCount, DAY_AT_1HZ) >> 20,
+                VitalsHistory.estimateBytes(DAY_AT_1HZ));
+        sink = store.history(patients.get(0)).size();
+    }
+
+    // Per-reading cost of rolling statistics plus rule evaluation with the default rules, spread over a ward
+    static void analytics(int patientCount, int readings) {
+        List<Patient> patients = patients(patientCount, new CountingObserver());
+        LongAdder alerts = new LongAdder();
+        VitalsAnalytics analytics = new VitalsAnalytics(VitalsAnalytics.defaultRules(), message -> alerts.increment(), 60, 0.1);
+        double[] hr = new double[4096];
+        double[] temp = new double[4096];
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < hr.length; i++) {
+            hr[i] = 60 + random.nextDouble() * 40;
+            temp[i] = 36 + random.nextDouble() * 2;
+        }
+        measure("rolling stats + 5 rules per reading", readings, () -> {
+            for (int i = 0; i < readings; i++) {
+                analytics.record(patients.get(i % patientCount), hr[i & 4095], temp[i & 4095]);
+            }
+        });
+        System.out.printf("%,d alert transitions over %,d readings%n", alerts.sum(), 3L * readings);
+    }
+
+    // Readings/s through analytics when a noisy rule keeps firing and the gateways are slow:
+    // synchronous delivery through the Alert chain against the dispatcher with one lane per channel
+    static void alertDispatch(int patientCount, int readings) {
+        List<Patient> patients = patients(patientCount, new CountingObserver());
+        List<VitalsRule> noisy = Collections.singletonList(
+                VitalsRule.above("Heart rate over 100", VitalSign.HEART_RATE, Statistic.LATEST, 100, 0));
+        SplittableRandom random = new SplittableRandom(13);
+        double[] hr = new double[readings];
+        for (int i = 0; i < readings; i++) hr[i] = 60 + random.nextDouble() * 80; // Crosses 100 about half the time
+
+        DelayedAlertChannel email = new DelayedAlertChannel("Email", 20, 1, message -> { });
+        DelayedAlertChannel sms = new DelayedAlertChannel("SMS", 50, 2, message -> { });
+        Alert synchronous = message -> {
+            try {
+                email.deliver(Collections.singletonList(message));
+                sms.deliver(Collections.singletonList(message));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        int syncReadings = Math.min(readings, 200); // Each transition costs ~73 ms here, so keep this run short
+        VitalsAnalytics direct = new VitalsAnalytics(noisy, synchronous, 60, 0.1);
+        long begin = System.nanoTime();
+        for (int i = 0; i < syncReadings; i++) direct.record(patients.get(i % patientCount), hr[i], 37);
+        long nanos = System.nanoTime() - begin;
+        System.out.printf("%-36s %,12.0f readings/s, %,d alerts sent inline%n", "synchronous Alert chain",
+                syncReadings * 1e9 / nanos, direct.getAlertsRaised() + direct.getAlertsResolved());
+
+        DelayedAlertChannel email2 = new DelayedAlertChannel("Email", 20, 1, message -> { });
+        DelayedAlertChannel sms2 = new DelayedAlertChannel("SMS", 50, 2, message -> { });
+        int maxDepth = 0;
+        try (AlertDispatcher dispatcher = new AlertDispatcher(Arrays.asList(email2, sms2), 4096, 256, 10_000, 3)) {
+            VitalsAnalytics analytics = new VitalsAnalytics(noisy, dispatcher, 60, 0.1);
+            begin = System.nanoTime();
+            for (int i = 0; i < readings; i++) {
+                analytics.record(patients.get(i % patientCount), hr[i], 37);
+                if ((i & 255) == 0) maxDepth = Math.max(maxDepth, dispatcher.getQueueDepth());
+            }
+            nanos = System.nanoTime() - begin;
+            long transitions = analytics.getAlertsRaised() + analytics.getAlertsResolved();
+            dispatcher.flush();
+            System.out.printf("%-36s %,12.0f readings/s, %,d transitions: %,d admitted, %,d suppressed, %,d dropped, max depth %,d%n",
+                    "dispatcher (lane per channel)", readings * 1e9 / nanos, transitions, dispatcher.getAdmitted(),
+                    dispatcher.getSuppressed(), dispatcher.getDropped(), maxDepth);
+            System.out.printf("%-36s email %,d in %,d batches, sms %,d in %,d batches%n", "",
+                    email2.getDelivered(), email2.getBatches(), sms2.getDelivered(), sms2.getBatches());
+        }
+    }
+
+    // Observer notifications per second: every patient with its own observers notified per reading,
+    // against the same number of observers subscribed once for the ward and fed batches of 256
+    static void fanOut(int patientCount, int observersPerPatient, int readings) {
+        SplittableRandom random = new SplittableRandom(17);
+        double[] hr = new double[4096];
+        double[] temp = new double[4096];
+        for (int i = 0; i < hr.length; i++) {
+            hr[i] = 60 + random.nextDouble() * 40;
+            temp[i] = 36 + random.nextDouble() * 2;
+        }
+        long notifications = (long) readings * observersPerPatient;
+
+        List<Patient> own = new ArrayList<>(patientCount);
+        for (int i = 0; i < patientCount; i++) {
+            Patient p = new Patient("Patient " + i);
+            for (int o = 0; o < observersPerPatient; o++) p.addObserver(new CountingObserver());
+            own.add(p);
+        }
+        double perPatient = measure("per-patient observers", notifications, () -> {
+            for (int i = 0; i < readings; i++) {
+                Patient p = own.get(i % patientCount);
+                p.setVitals(hr[i & 4095], temp[i & 4095]);
+                p.notifyObservers();
+            }
+        });
+
+        List<Patient> ward = patients(patientCount, new CountingObserver());
+        SubscriptionRegistry registry = new SubscriptionRegistry(256);
+        LongAdder received = new LongAdder();
+        for (int o = 0; o < observersPerPatient; o++) {
+            registry.subscribe(0, batch -> {
+                double sum = 0;
+                for (int i = 0; i < batch.size(); i++) sum += batch.heartRate(i);
+                received.add(batch.size());
+                sink += (long) sum;
+            });
+        }
+        long[] clock = { System.currentTimeMillis() };
+        double shared = measure("shared registry, batches of 256", notifications, () -> {
+            for (int i = 0; i < readings; i++) registry.publish(ward.get(i % patientCount), clock[0]++, hr[i & 4095], temp[i & 4095]);
+            registry.flush();
+        });
+        System.out.printf("notifications/s: %,.0f per-patient, %,.0f shared (%,d per run; registry delivered %,d to each observer)%n",
+                1e9 / perPatient, 1e9 / shared, notifications, received.sum() / observersPerPatient);
+    }
+
+    // Pooled bulk reads against the old pattern of a new sensor pair from the factory for every reading
+    static void sensorReads(int patientCount, int samples) {
+        List<Patient> patients = patients(patientCount, new CountingObserver());
+        double[] hr = new double[samples];
+        double[] temp = new double[samples];
+        int reads = 200_000;
+        measure("factory sensors, one reading per call", reads, () -> {
+            double sum = 0;
+            for (int i = 0; i < reads; i++) {
+                sum += SensorFactory.createSensor("HeartRate").readData();
+                sum += SensorFactory.createSensor("Temperature").readData();
+            }
+            sink = (long) sum;
+        });
+        SensorPool pool = new SensorPool();
+        int batches = reads / samples;
+        measure(String.format("pooled sensors, bulk read of %d", samples), (long) batches * samples, () -> {
+            double sum = 0;
+            for (int i = 0; i < batches; i++) {
+                pool.readInto(patients.get(i % patientCount), hr, temp, 0, samples);
+                sum += hr[samples - 1] + temp[samples - 1];
+            }
+            sink = (long) sum;
+        });
+    }
+
+    // Readings/s from simulated devices streaming framed binary data through one selector thread into the pipeline
+    static void deviceStreams(int devices, int rounds, int samplesPerFrame) throws Exception {
+        List<Patient> patients = patients(devices, new CountingObserver());
+        LongAdder received = new LongAdder();
+        VitalsSink counter = (patient, times, heartRates, temperatures, from, count) -> received.add(count);
+        try (VitalsPipeline pipeline = new VitalsPipeline(2, 65_536, 1024, VitalsPipeline.Backpressure.BLOCK, counter);
+             NioSensorHub hub = new NioSensorHub(pipeline);
+             SimulatedDeviceWard ward = new SimulatedDeviceWard(19)) {
+            for (Patient p : patients) ward.connect(hub, p);
+            while (hub.getConnectedDevices() < devices) Thread.sleep(1);
+            long begin = System.nanoTime();
+            long sent = ward.stream(rounds, samplesPerFrame);
+            while (hub.getReadings() < sent && hub.getProtocolErrors() == 0) Thread.sleep(1);
+            pipeline.flush();
+            long nanos = System.nanoTime() - begin;
+            System.out.printf("%,6d devices on 1 selector thread: %,12.0f readings/s, %,d frames, %,d bytes, %d errors, %,d delivered%n",
+                    devices, received.sum() * 1e9 / nanos, hub.getFrames(), hub.getBytesRead(), hub.getProtocolErrors(), received.sum());
+        }
+    }
+
+    // Concurrent registration, id lookup, and strategy moves while every shard's monitoring loop runs
+    static void registry(int patientCount, int threads, int shardCount) throws InterruptedException {
+        Patient[] patients = new Patient[patientCount];
+        for (int i = 0; i < patientCount; i++) patients[i] = new Patient("Patient " + i);
+        LongAdder checks = new LongAdder();
+        MonitoringStrategy normal = new QuietStrategy(new NormalMonitoring().pollIntervalMillis(), checks);
+        MonitoringStrategy critical = new QuietStrategy(new CriticalMonitoring().pollIntervalMillis(), checks);
+        for (Patient p : patients) p.setStrategy(normal);
+
+        try (PatientRegistry registry = new PatientRegistry(shardCount)) {
+            Thread[] workers = new Thread[threads];
+            long begin = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                final int first = t;
+                workers[t] = new Thread(() -> {
+                    for (int i = first; i < patientCount; i += threads) registry.register(patients[i]);
+                });
+                workers[t].start();
+            }
+            for (Thread w : workers) w.join();
+            long nanos = System.nanoTime() - begin;
+            System.out.printf("%-40s %12.1f ns/op (%,d patients, %d threads, %d shards)%n",
+                    "concurrent register", (double) nanos * threads / patientCount, registry.size(), threads, registry.getShardCount());
+
+            int[] ids = new int[1 << 16];
+            SplittableRandom random = new SplittableRandom(23);
+            for (int i = 0; i < ids.length; i++) ids[i] = patients[random.nextInt(patientCount)].getId();
+            measure("find by id", 10_000_000, () -> {
+                long n = 0;
+                for (int i = 0; i < 10_000_000; i++) n += registry.find(ids[i & 0xFFFF]).getId();
+                sink = n;
+            });
+
+            int monitored = Math.min(patientCount, 20_000);
+            for (int i = monitored; i < patientCount; i++) registry.unregister(patients[i].getId());
+            registry.startMonitoring();
+            Thread.sleep(2_000);
+            long before = checks.sum();
+            Thread.sleep(2_000);
+            double normalRate = (checks.sum() - before) / 2.0;
+            begin = System.nanoTime();
+            for (int i = 0; i < monitored; i++) registry.changeStrategy(patients[i].getId(), critical);
+            nanos = System.nanoTime() - begin;
+            Thread.sleep(1_000);
+            before = checks.sum();
+            Thread.sleep(2_000);
+            double criticalRate = (checks.sum() - before) / 2.0;
+            System.out.printf("%-40s %12.1f ns/op (%,d patients moved while monitored)%n",
+                    "change strategy", (double) nanos / monitored, monitored);
+            System.out.printf("%-40s %,.0f checks/s as Normal, %,.0f checks/s as Critical, max lag %.1f ms%n",
+                    "per-shard monitoring", normalRate, criticalRate, registry.getMaxLagNanos() / 1e6);
+        }
+    }
+
+    // Recording write/read cost and size per reading, replay throughput into the pipeline, and real-time pacing accuracy
+    static void replay(int patientCount, int readings) throws Exception {
+        List<Patient> patients = patients(patientCount, new CountingObserver());
+        int firstId = patients.get(0).getId();
+        IntFunction<Patient> byId = id -> patients.get(id - firstId);
+        Path file = Files.createTempFile("vitals", ".vrec");
+        Path paced = Files.createTempFile("vitals-paced", ".vrec");
+        try {
+            long start = System.currentTimeMillis();
+            measure("record reading (mmap writer)", readings, () -> {
+                // Every patient at 1 Hz, as a ward's devices would report
+                record(file, patients, readings, start, 1000, patientCount);
+            });
+            long bytes = Files.size(file);
+            System.out.printf("%-40s %12.2f bytes/reading (device frame %d, raw long + 2 doubles 24)%n",
+                    "recording size", (double) (bytes - VitalsRecording.HEADER_BYTES) / readings, VitalsFrame.SAMPLE_BYTES);
+            measure("read reading (mmap reader)", readings, () -> {
+                try (VitalsRecordingReader reader = new VitalsRecordingReader(file)) {
+                    long n = 0;
+                    while (reader.next()) n += reader.getPatientId();
+                    sink = n;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            // Two max-speed replays into the pipeline deliver the same readings
+            for (int run = 1; run <= 2; run++) {
+                LongAdder checksum = new LongAdder();
+                VitalsSink summing = (patient, times, heartRates, temperatures, from, count) -> {
+                    long sum = 0;
+                    for (int i = from; i < from + count; i++) sum += Math.round(heartRates[i] * 100) + times[i];
+                    checksum.add(sum);
+                };
+                VitalsReplay.Result result;
+                try (VitalsPipeline pipeline = new VitalsPipeline(2, 65_536, 1024, VitalsPipeline.Backpressure.BLOCK, summing)) {
+                    result = new VitalsReplay(file, byId).run(pipeline::submit, VitalsReplay.MAX_SPEED);
+                    pipeline.flush();
+                }
+                System.out.printf("%-40s %,12.0f readings/s, checksum %x%n", "replay run " + run + ", max speed", result.readingsPerSecond(), checksum.sum());
+            }
+
+            // 2 s of recorded time (1,000 patients at 10 Hz, readings from 0 to 2,000 ms) replayed at real time and 4x
+            record(paced, patients.subList(0, 1_000), 21_000, start, 100, 1_000);
+            for (double speed : new double[] { 1, 4 }) {
+                VitalsReplay.Result result = new VitalsReplay(paced, byId).run(VitalsReplay.DIRECT, speed);
+                System.out.printf("%-40s %8.1f ms for 2,000 ms recorded (target %.0f ms)%n",
+                        String.format("replay at %.0fx, direct", speed), result.nanos / 1e6, 2_000 / speed);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(paced);
+        }
+    }
+
+    // Write `readings` readings round-robin over the patients, stepping the clock by stepMillis after every `perStep`
+    private static void record(Path file, List<Patient> patients, int readings, long start, long stepMillis, int perStep) {
+        SplittableRandom random = new SplittableRandom(29);
+        try (VitalsRecordingWriter writer = new VitalsRecordingWriter(file)) {
+            for (int i = 0; i < readings; i++) {
+                writer.append(patients.get(i % patients.size()).getId(), start + (i / perStep) * stepMillis,
+                        60 + random.nextDouble() * 40, 36 + random.nextDouble() * 2);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Cost of recording a latency, alone and from several threads, and of the instrumented hot paths with timers on and off
+    static void metricsOverhead(int patientCount, int producers, long readingsPerProducer) throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int records = 10_000_000;
+        measure("histogram record", records, () -> {
+            for (int i = 0; i < records; i++) histogram.record(i & 0xFFFFF);
+        });
+        Thread[] threads = new Thread[producers];
+        long begin = System.nanoTime();
+        for (int t = 0; t < producers; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < records; i++) histogram.record(i & 0xFFFFF);
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+        System.out.printf("%-40s %12.1f ns/op (%d threads, all cores together)%n", "histogram record, concurrent",
+                (double) (System.nanoTime() - begin) / ((long) records * producers), producers);
+
+        List<Patient> patients = patients(patientCount, new CountingObserver());
+        for (Patient p : patients) {
+            p.addObserver(new CountingObserver());
+            p.addObserver(new CountingObserver());
+        }
+        int notifications = 10_000_000;
+        for (boolean on : new boolean[] { false, true }) {
+            Metrics.setEnabled(on);
+            measure("notify 3 observers, timers " + (on ? "on" : "off"), notifications, () -> {
+                for (int i = 0; i < notifications; i++) patients.get(i % patientCount).notifyObservers();
+            });
+        }
+
+        // Pipeline throughput, alternating off and on so drift affects both alike; best of two runs each
+        double[] best = new double[2];
+        for (int round = 0; round < 4; round++) {
+            boolean on = round % 2 == 1;
+            Metrics.setEnabled(on);
+            try (VitalsPipeline pipeline = new VitalsPipeline(2, 65_536, 1024, VitalsPipeline.Backpressure.BLOCK, new LatestVitalsSink())) {
+                begin = System.nanoTime();
+                new VitalsLoadGenerator(patients, producers, round).run(pipeline, readingsPerProducer, 0);
+                pipeline.flush();
+                double rate = pipeline.getDelivered() * 1e9 / (System.nanoTime() - begin);
+                best[on ? 1 : 0] = Math.max(best[on ? 1 : 0], rate);
+            }
+        }
+        Metrics.setEnabled(true);
+        System.out.printf("%-40s %,12.0f readings/s timers off, %,.0f on (%+.1f%%)%n", "pipeline with 3 observers",
+                best[0], best[1], (best[1] / best[0] - 1) * 100);
+        measure("metrics dump", 1_000, () -> {
+            for (int i = 0; i < 1_000; i++) sink += Metrics.global().dump().length();
+        });
+    }
+
+    // Notifications/s from several threads to the doctor, nurse and app observers, written to a file through an
+    // autoflushing println per line (how the observers used to print), the buffered console renderer, and no renderer
+    static void output(int patientCount, int threads, int notificationsPerThread) throws Exception {
+        List<Patient> patients = patients(patientCount, new DoctorDashboard());
+        for (Patient p : patients) {
+            p.addObserver(new NurseStation());
+            p.addObserver(new PatientApp());
+        }
+        Path file = Files.createTempFile("console", ".txt");
+        try {
+            for (String mode : new String[] { "autoflush println", "buffered renderer", "headless" }) {
+                try (OutputStream stream = new FileOutputStream(file.toFile())) {
+                    Renderer renderer = mode.startsWith("autoflush")
+                            ? new PrintStreamRenderer(new PrintStream(new BufferedOutputStream(stream, 128), true)) // As System.out
+                            : mode.startsWith("buffered") ? new ConsoleRenderer(stream) : new HeadlessRenderer();
+                    Output.use(renderer);
+                    Thread[] workers = new Thread[threads];
+                    long begin = System.nanoTime();
+                    for (int t = 0; t < threads; t++) {
+                        final int first = t;
+                        workers[t] = new Thread(() -> {
+                            for (int i = 0; i < notificationsPerThread; i++) patients.get((first + i * threads) % patientCount).notifyObservers();
+                        });
+                        workers[t].start();
+                    }
+                    for (Thread w : workers) w.join();
+                    renderer.flush();
+                    long nanos = System.nanoTime() - begin;
+                    Output.use(new HeadlessRenderer()); // Nothing may write to the stream after it is closed
+                    System.out.printf("%-40s %,12.0f notifications/s (%d threads, 3 lines each, %,d bytes)%n",
+                            mode, (double) threads * notificationsPerThread * 1e9 / nanos, threads, Files.size(file));
+                }
+            }
+        } finally {
+            Output.use(new ConsoleRenderer(System.out));
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Mean time and bytes allocated per operation on this thread, after two warm-up runs
+    static double measure(String name, long ops, Runnable body) {
+        body.run();
+        body.run();
+        long id = Thread.currentThread().getId();
+        long bytes = THREADS.getThreadAllocatedBytes(id);
+        long start = System.nanoTime();
+        body.run();
+        long nanos = System.nanoTime() - start;
+        bytes = THREADS.getThreadAllocatedBytes(id) - bytes;
+        System.out.printf("%-40s %12.1f ns/op %10.2f B/op%n", name, (double) nanos / ops, (double) bytes / ops);
+        return (double) nanos / ops;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    // Producers deliver each reading themselves; each owns a slice of the patients, as in VitalsLoadGenerator
+    private static long direct(List<Patient> patients, int producers, long readingsPerProducer) throws InterruptedException {
+        Thread[] threads = new Thread[producers];
+        long begin = System.nanoTime();
+        for (int t = 0; t < producers; t++) {
+            final int producer = t;
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(producer);
+                int owned = (patients.size() - producer + producers - 1) / producers;
+                for (long i = 0; i < readingsPerProducer; i++) {
+                    Patient p = patients.get(producer + (int) (i % owned) * producers);
+                    p.setVitals(60 + random.nextDouble() * 40, 36 + random.nextDouble() * 2);
+                    p.notifyObservers();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+        return System.nanoTime() - begin;
+    }
+
+    private static List<Patient> patients(int count, Observer observer) {
+        List<Patient> patients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Patient p = new Patient("Patient " + i);
+            p.addObserver(observer);
+            patients.add(p);
+        }
+        return patients;
+    }
+
+    // Prints every line straight to a stream, the way the observers did before the renderers
+    static final class PrintStreamRenderer implements Renderer {
+        private final PrintStream out;
+
+        PrintStreamRenderer(PrintStream out) { this.out = out; }
+
+        public void vitals(String recipient, double heartRate, double temperature) {
+            out.println(recipient + ": HeartRate: " + heartRate + ", Temperature: " + temperature);
+        }
+        public void monitored(String check, String patientName) { out.println(check + patientName); }
+        public void alert(String step, String message) { out.println(step + ": " + message); }
+        public void println(String text) { out.println(text); }
+        public void print(String text) { out.print(text); }
+        public void printf(String format, Object... args) { out.printf(format, args); }
+        public void prompt(String text) { out.print(text); }
+        public void flush() { out.flush(); }
+    }
+
+    // Polls at a real strategy's rate but only counts, so console output does not dominate
+    static final class QuietStrategy implements MonitoringStrategy {
+        private final long intervalMillis;
+        private final LongAdder checks;
+
+        QuietStrategy(long intervalMillis, LongAdder checks) {
+            this.intervalMillis = intervalMillis;
+            this.checks = checks;
+        }
+
+        public void monitor(String patientName) { checks.increment(); }
+        public long pollIntervalMillis() { return intervalMillis; }
+    }
+
+    // Shared by every patient; sums values so the JIT cannot drop the delivery
+    static final class CountingObserver implements Observer {
+        final LongAdder updates = new LongAdder();
+        final DoubleAdder total = new DoubleAdder();
+
+        public void update(double heartRate, double temperature) {
+            updates.increment();
+            total.add(heartRate);
+        }
+    }
+}
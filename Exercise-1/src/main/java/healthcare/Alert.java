@@ -0,0 +1,9 @@
+package healthcare;
+
+// ==================== Decorator Pattern ====================
+public interface Alert {
+    void send(String message);
+
+    // Send with a grouping key, e.g. the patient; plain alerts ignore it, the dispatcher rate-limits by it
+    default void send(String key, String message) { send(message); }
+}
@@ -0,0 +1,20 @@
+package healthcare;
+
+import java.util.*;
+
+// ==================== Alert Dispatch ====================
+// Destination of dispatched alerts; receives them in batches on its own dispatcher lane
+public interface AlertChannel {
+    String getName();
+    void deliver(List<String> messages) throws Exception;
+
+    // Channel that passes each message of a batch through an existing Alert chain
+    static AlertChannel of(String name, Alert alert) {
+        return new AlertChannel() {
+            public String getName() { return name; }
+            public void deliver(List<String> messages) {
+                for (String m : messages) alert.send(m);
+            }
+        };
+    }
+}
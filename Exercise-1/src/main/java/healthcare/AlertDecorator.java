@@ -0,0 +1,9 @@
+package healthcare;
+
+// Common base of the decorators: each forwards to the alert it wraps and adds only its own step
+// (Email and SMS used to extend LoggingDecorator, so every stacked decorator logged the message again)
+public abstract class AlertDecorator implements Alert {
+    private final Alert alert;
+    protected AlertDecorator(Alert alert) { this.alert = alert; }
+    public void send(String message) { alert.send(message); }
+}
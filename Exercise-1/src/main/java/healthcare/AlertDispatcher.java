@@ -0,0 +1,199 @@
+package healthcare;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+// Takes alert delivery off the caller's thread
+// send() only admits the alert and enqueues it; every channel has its own bounded lane and worker thread,
+// which drains the lane and delivers in batches, so a slow channel only delays itself and a full lane drops
+// instead of blocking the vitals path. Per key (normally one patient), repeats of the same message within
+// the window are dropped and at most maxPerWindow alerts pass; the next alert that passes reports how many
+// were suppressed
+public class AlertDispatcher implements Alert, AutoCloseable {
+    private static final int CLEANUP_EVERY = 1024;
+    private static final LongAdder QUEUED = new LongAdder(); // Alerts waiting in the lanes of every dispatcher
+    private static final LatencyHistogram DELIVERY = Metrics.global().histogram("alerts.delivery"); // Per batch
+
+    static {
+        Metrics.global().gauge("alerts.queue.depth", QUEUED::sum);
+    }
+
+    private final Lane[] lanes;
+    private final long windowNanos;
+    private final int maxPerWindow;
+    private final ConcurrentHashMap<String, KeyState> keys = new ConcurrentHashMap<>();
+    private final AtomicLong admitted = new AtomicLong();
+    private final LongAdder suppressed = new LongAdder();
+    private volatile boolean closed;
+
+    public AlertDispatcher(List<AlertChannel> channels, int laneCapacity, int maxBatch, long windowMillis, int maxPerWindow) {
+        if (channels.isEmpty() || laneCapacity <= 0 || maxBatch <= 0 || maxPerWindow <= 0)
+            throw new IllegalArgumentException("Need channels, and positive capacity, batch size and rate");
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxPerWindow = maxPerWindow;
+        lanes = new Lane[channels.size()];
+        for (int i = 0; i < lanes.length; i++) lanes[i] = new Lane(channels.get(i), laneCapacity, maxBatch);
+        for (Lane lane : lanes) lane.thread.start();
+    }
+
+    public void send(String message) { send(message, message); }
+
+    public void send(String key, String message) {
+        if (closed) return;
+        String text = admit(key, message, System.nanoTime());
+        if (text == null) {
+            suppressed.increment();
+            return;
+        }
+        for (Lane lane : lanes) lane.offer(text);
+        if (admitted.incrementAndGet() % CLEANUP_EVERY == 0) cleanup(System.nanoTime());
+    }
+
+    // Wait until every alert admitted so far has been delivered, failed or dropped on every channel
+    public void flush() {
+        for (Lane lane : lanes) lane.awaitIdle();
+    }
+
+    // Deliver what is queued, then stop the lanes
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        for (Lane lane : lanes) {
+            try {
+                lane.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public long getAdmitted() { return admitted.get(); }
+    public long getSuppressed() { return suppressed.sum(); }
+    public long getDropped() { long n = 0; for (Lane l : lanes) n += l.dropped.sum(); return n; }
+    public long getFailures() { long n = 0; for (Lane l : lanes) n += l.failures; return n; }
+    public int getQueueDepth() { int n = 0; for (Lane l : lanes) n += l.queue.size(); return n; }
+
+    public int getQueueDepth(String channel) {
+        for (Lane l : lanes) if (l.channel.getName().equals(channel)) return l.queue.size();
+        throw new IllegalArgumentException("Unknown channel " + channel);
+    }
+
+    // Text to dispatch, or null if the alert is a duplicate or over the key's rate
+    private String admit(String key, String message, long now) {
+        KeyState state = keys.computeIfAbsent(key, k -> new KeyState());
+        synchronized (state) {
+            state.lastSeen = now;
+            if (now - state.windowStart >= windowNanos) {
+                state.windowStart = now;
+                state.sentInWindow = 0;
+            }
+            boolean duplicate = message.equals(state.lastMessage) && now - state.lastSent < windowNanos;
+            if (duplicate || state.sentInWindow >= maxPerWindow) {
+                state.suppressed++;
+                return null;
+            }
+            state.sentInWindow++;
+            state.lastMessage = message;
+            state.lastSent = now;
+            int skipped = state.suppressed;
+            state.suppressed = 0;
+            return (skipped == 0) ? message : message + " (" + skipped + " similar alerts suppressed)";
+        }
+    }
+
+    // Forget keys that have been quiet for a whole window
+    private void cleanup(long now) {
+        keys.values().removeIf(s -> {
+            synchronized (s) {
+                return now - s.lastSeen >= windowNanos && s.suppressed == 0;
+            }
+        });
+    }
+
+    private static final class KeyState {
+        long windowStart;
+        int sentInWindow;
+        String lastMessage;
+        long lastSent;
+        long lastSeen;
+        int suppressed;
+    }
+
+    private final class Lane {
+        final AlertChannel channel;
+        final ArrayBlockingQueue<String> queue;
+        final Thread thread;
+        final int maxBatch;
+        final LongAdder enqueued = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        private final Object progress = new Object(); // Guards done and wakes awaitIdle()
+        private long done;
+        volatile long failures;
+
+        Lane(AlertChannel channel, int capacity, int maxBatch) {
+            this.channel = channel;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.maxBatch = maxBatch;
+            thread = new Thread(this::drainLoop, "alert-" + channel.getName());
+            thread.setDaemon(true);
+        }
+
+        void offer(String text) {
+            if (queue.offer(text)) {
+                enqueued.increment();
+                QUEUED.increment();
+            } else {
+                dropped.increment();
+            }
+        }
+
+        void awaitIdle() {
+            long target = enqueued.sum();
+            synchronized (progress) {
+                while (done < target && thread.isAlive()) {
+                    try {
+                        progress.wait(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void drainLoop() {
+            List<String> batch = new ArrayList<>(maxBatch);
+            try {
+                while (!closed || !queue.isEmpty()) {
+                    String first = queue.poll(50, TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatch - 1);
+                    QUEUED.add(-batch.size());
+                    long start = DELIVERY.startTimer();
+                    try {
+                        channel.deliver(batch);
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        failures = failures + batch.size(); // A failing gateway loses this batch, not the lane
+                    }
+                    DELIVERY.recordSince(start);
+                    synchronized (progress) {
+                        done += batch.size();
+                        progress.notifyAll();
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                synchronized (progress) {
+                    progress.notifyAll();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package healthcare;
+
+public class ArduinoAdapter implements SensorAdapter {
+    public double getValue() {
+        return 36 + Math.random() * 2;
+    }
+}
@@ -0,0 +1,7 @@
+package healthcare;
+
+public class BaseAlert implements Alert {
+    public void send(String message) {
+        Output.get().alert("Base Alert", message);
+    }
+}
@@ -0,0 +1,6 @@
+package healthcare;
+
+// Subscriber for a whole patient group; receives readings in batches instead of one call per reading
+public interface BatchObserver {
+    void onBatch(VitalsBatch batch);
+}
@@ -0,0 +1,32 @@
+package healthcare;
+
+import java.io.*;
+
+// Formats into a large buffer instead of an autoflushing stream: a line costs a buffer append, not a write call,
+// and threads reporting at once only share the buffer's lock. Output appears when the buffer fills, at a prompt,
+// and on flush()
+public class ConsoleRenderer implements Renderer {
+    public static final int DEFAULT_BUFFER_CHARS = 1 << 16;
+
+    private final PrintWriter out;
+
+    public ConsoleRenderer(OutputStream stream) { this(stream, DEFAULT_BUFFER_CHARS); }
+
+    public ConsoleRenderer(OutputStream stream, int bufferChars) {
+        out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(stream), bufferChars), false);
+    }
+
+    public void vitals(String recipient, double heartRate, double temperature) {
+        out.println(recipient + ": HeartRate: " + heartRate + ", Temperature: " + temperature);
+    }
+    public void monitored(String check, String patientName) { out.println(check + patientName); }
+    public void alert(String step, String message) { out.println(step + ": " + message); }
+    public void println(String text) { out.println(text); }
+    public void print(String text) { out.print(text); }
+    public void printf(String format, Object... args) { out.printf(format, args); }
+    public void prompt(String text) {
+        out.print(text);
+        out.flush();
+    }
+    public void flush() { out.flush(); }
+}
@@ -0,0 +1,8 @@
+package healthcare;
+
+public class CriticalMonitoring implements MonitoringStrategy {
+    public void monitor(String patientName) {
+        Output.get().monitored("Critical Monitoring: High frequency checks for ", patientName);
+    }
+    public long pollIntervalMillis() { return 100; }
+}
@@ -0,0 +1,33 @@
+package healthcare;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+// Local stand-in for a slow email or SMS gateway: every batch costs a fixed round trip plus a per-message delay
+public class DelayedAlertChannel implements AlertChannel {
+    private final String name;
+    private final long batchDelayMillis;
+    private final long perMessageMillis;
+    private final Alert target;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    public DelayedAlertChannel(String name, long batchDelayMillis, long perMessageMillis, Alert target) {
+        this.name = name;
+        this.batchDelayMillis = batchDelayMillis;
+        this.perMessageMillis = perMessageMillis;
+        this.target = target;
+    }
+
+    public String getName() { return name; }
+
+    public void deliver(List<String> messages) throws InterruptedException {
+        Thread.sleep(batchDelayMillis + perMessageMillis * messages.size());
+        for (String m : messages) target.send(m);
+        delivered.add(messages.size());
+        batches.increment();
+    }
+
+    public long getDelivered() { return delivered.sum(); }
+    public long getBatches() { return batches.sum(); }
+}
@@ -0,0 +1,7 @@
+package healthcare;
+
+public class DoctorDashboard implements Observer {
+    public void update(double heartRate, double temperature) {
+        Output.get().vitals("Doctor notified", heartRate, temperature);
+    }
+}
@@ -0,0 +1,9 @@
+package healthcare;
+
+public class EmailDecorator extends AlertDecorator {
+    public EmailDecorator(Alert alert) { super(alert); }
+    public void send(String message) {
+        super.send(message);
+        Output.get().alert("Email sent", message);
+    }
+}
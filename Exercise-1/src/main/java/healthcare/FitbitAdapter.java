@@ -0,0 +1,7 @@
+package healthcare;
+
+public class FitbitAdapter implements SensorAdapter {
+    public double getValue() {
+        return 70 + Math.random() * 20;
+    }
+}
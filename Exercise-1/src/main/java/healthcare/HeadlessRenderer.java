@@ -0,0 +1,13 @@
+package healthcare;
+
+// Drops everything without formatting it, so the system runs at full speed when embedded or under load tests
+public class HeadlessRenderer implements Renderer {
+    public void vitals(String recipient, double heartRate, double temperature) { }
+    public void monitored(String check, String patientName) { }
+    public void alert(String step, String message) { }
+    public void println(String text) { }
+    public void print(String text) { }
+    public void printf(String format, Object... args) { }
+    public void prompt(String text) { }
+    public void flush() { }
+}
@@ -0,0 +1,14 @@
+package healthcare;
+
+import java.util.concurrent.*;
+
+public class HeartRateSensor implements Sensor {
+    public double readData() {
+        return 60 + Math.random() * 40;
+    }
+    public int readBatch(double[] out, int offset, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current(); // No shared generator across sensor threads
+        for (int i = offset; i < offset + count; i++) out[i] = 60 + random.nextDouble() * 40;
+        return count;
+    }
+}
@@ -0,0 +1,66 @@
+package healthcare;
+
+import java.util.*;
+import javax.management.*;
+
+// ==================== Singleton Pattern ====================
+public class IoTController {
+    private final PatientRegistry registry;
+
+    private IoTController() {
+        // At least one shard per core, so every core can run a shard's monitoring loop
+        registry = new PatientRegistry(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        Metrics metrics = Metrics.global();
+        metrics.gauge("patients.registered", registry::size);
+        metrics.gauge("monitor.checks", registry::getMonitoringChecks);
+        try {
+            metrics.registerJmx("SmartHealthcareSystem");
+        } catch (JMException e) {
+            Output.get().println("Warning: Metrics are not available over JMX.");
+        }
+    }
+
+    // Initialization-on-demand holder: created once, on first use, without locking on every call
+    private static final class Holder {
+        static final IoTController INSTANCE = new IoTController();
+    }
+
+    public static IoTController getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public void registerPatient(Patient p) {
+        registry.register(p);
+    }
+
+    public Patient unregisterPatient(int id) { return registry.unregister(id); }
+    public Patient findPatient(int id) { return registry.find(id); }
+    public List<Patient> findPatients(String name) { return registry.findByName(name); }
+    public boolean changeStrategy(int id, MonitoringStrategy strategy) { return registry.changeStrategy(id, strategy); }
+    public PatientRegistry getRegistry() { return registry; }
+
+    // Monitor every registered patient, and any registered later, with one monitoring loop per shard
+    public void startMonitoring() { registry.startMonitoring(); }
+    public void stopMonitoring() { registry.stopMonitoring(); }
+    public long getMonitoringChecks() { return registry.getMonitoringChecks(); }
+
+    // One round of checks in registration order on the caller's thread
+    public void monitorPatients() {
+        for (Patient p : registry.snapshot()) {
+            p.getStrategy().monitor(p.getName());
+        }
+    }
+
+    // One round of checks with the shards processed in parallel
+    public void monitorPatientsParallel() {
+        registry.forEachShard(p -> {
+            MonitoringStrategy strategy = p.getStrategy();
+            if (strategy != null) strategy.monitor(p.getName());
+        });
+    }
+
+    // Registered patients in registration order; a copy, so callers cannot change the registry through it
+    public List<Patient> getPatients() {
+        return Collections.unmodifiableList(registry.snapshot());
+    }
+}
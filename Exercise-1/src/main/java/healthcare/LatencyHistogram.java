@@ -0,0 +1,107 @@
+package healthcare;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+// ==================== Metrics ====================
+// Latency distribution with log-linear buckets, HDR-style: 32 linear sub-buckets per power of two, so
+// recorded values are kept to within ~3% from 1 ns up to ~70 minutes (longer values land in the last bucket)
+// Buckets are striped LongAdders: concurrent recorders neither lock nor allocate
+// Very hot paths time a random 1 in sampleEvery operations, since reading the clock can cost more than the operation;
+// counts are then scaled back up, while percentiles come from the samples alone
+// Exercise-2 has the same class in package scheduler: each exercise builds and runs from its own classes, so change both
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int MAX_EXP = 41;
+    static final int BUCKETS = (MAX_EXP - SUB_BITS + 2) * SUB;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    private final int sampleEvery;
+    private final int sampleMask;
+
+    public LatencyHistogram() { this(1); }
+
+    public LatencyHistogram(int sampleEvery) {
+        if (sampleEvery <= 0 || Integer.bitCount(sampleEvery) != 1) throw new IllegalArgumentException("Sampling must be a power of two");
+        this.sampleEvery = sampleEvery;
+        this.sampleMask = sampleEvery - 1;
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+    }
+
+    public int getSampleEvery() { return sampleEvery; }
+
+    // Start of a timed operation for recordSince, or 0 when this one is not sampled or timing is off
+    public long startTimer() {
+        if (!Metrics.isEnabled()) return 0;
+        if (sampleMask != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) return 0;
+        return System.nanoTime();
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[indexOf(nanos)].increment();
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    // Record the time since a startTimer() value; nothing when that operation was not timed
+    public void recordSince(long startNanos) {
+        if (startNanos != 0) record(System.nanoTime() - startNanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) count += counts[i] = buckets[i].sum();
+        return new Snapshot(counts, count, count * sampleEvery, total.sum(), max.get());
+    }
+
+    static int indexOf(long v) {
+        if (v < SUB) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        if (exp > MAX_EXP) return BUCKETS - 1;
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB - 1);
+        return (exp - SUB_BITS + 1) * SUB + sub;
+    }
+
+    // Largest value that falls into the bucket
+    static long upperBound(int index) {
+        if (index < SUB) return index;
+        int exp = index / SUB + SUB_BITS - 1;
+        long lower = (long) (SUB + index % SUB) << (exp - SUB_BITS);
+        return lower + (1L << (exp - SUB_BITS)) - 1;
+    }
+
+    public static final class Snapshot {
+        private final long[] counts;
+        public final long count;      // Values recorded
+        public final long operations; // Operations they stand for, when sampled
+        public final long total;
+        public final long max;
+
+        Snapshot(long[] counts, long count, long operations, long total, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.operations = operations;
+            this.total = total;
+            this.max = max;
+        }
+
+        public double mean() { return (count == 0) ? 0 : (double) total / count; }
+
+        // Value at or below which the given fraction of recorded values fall, e.g. 0.99
+        public long valueAt(double quantile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length - 1; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(upperBound(i), max);
+            }
+            return max; // The last bucket holds everything past the range, so it has no top of its own
+        }
+    }
+}
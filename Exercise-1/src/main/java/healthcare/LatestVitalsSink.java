@@ -0,0 +1,16 @@
+package healthcare;
+
+// Default sink: the newest reading of each batch becomes the patient's current vitals and observers hear about it once
+// (without notification when observers are served by a SubscriptionRegistry instead)
+public class LatestVitalsSink implements VitalsSink {
+    private final boolean notify;
+
+    public LatestVitalsSink() { this(true); }
+    public LatestVitalsSink(boolean notify) { this.notify = notify; }
+
+    public void onBatch(Patient patient, long[] times, double[] heartRates, double[] temperatures, int from, int count) {
+        int last = from + count - 1;
+        patient.setVitals(heartRates[last], temperatures[last]);
+        if (notify) patient.notifyObservers();
+    }
+}
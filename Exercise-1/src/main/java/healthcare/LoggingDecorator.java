@@ -0,0 +1,9 @@
+package healthcare;
+
+public class LoggingDecorator extends AlertDecorator {
+    public LoggingDecorator(Alert alert) { super(alert); }
+    public void send(String message) {
+        Output.get().alert("Logging", message);
+        super.send(message);
+    }
+}
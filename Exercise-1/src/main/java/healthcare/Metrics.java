@@ -0,0 +1,156 @@
+package healthcare;
+
+import java.util.*;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import javax.management.*;
+
+// Process-wide registry of counters, gauges and latency histograms, shared like a logger:
+// instrumented classes look their metrics up once into static final fields
+// Counters are always on; timers (the clock reads) can be switched off with setEnabled(false)
+// Readable over JMX (domain:type=Metrics) and as a text dump, optionally every few seconds
+// Exercise-2 has the same class in package scheduler: each exercise builds and runs from its own classes, so change both
+public class Metrics {
+    private static final Metrics GLOBAL = new Metrics();
+    private static volatile boolean enabled = true;
+
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastCounts = new HashMap<>(); // For per-second rates between dumps
+    private long lastDumpNanos = System.nanoTime();
+    private ScheduledExecutorService dumper;
+
+    public static Metrics global() { return GLOBAL; }
+
+    public static boolean isEnabled() { return enabled; }
+    public static void setEnabled(boolean on) { enabled = on; }
+
+    public LongAdder counter(String name) { return counters.computeIfAbsent(name, n -> new LongAdder()); }
+    public LatencyHistogram histogram(String name) { return histogram(name, 1); }
+
+    // Histogram timing 1 in sampleEvery operations (a power of two); the first registration decides
+    public LatencyHistogram histogram(String name, int sampleEvery) {
+        return histograms.computeIfAbsent(name, n -> new LatencyHistogram(sampleEvery));
+    }
+    public void gauge(String name, LongSupplier value) { gauges.put(name, value); }
+
+    // Current value of every metric by name; a histogram contributes name.count (operations), .mean, .p50, .p99, .p999 and .max
+    public SortedMap<String, Long> values() {
+        SortedMap<String, Long> values = new TreeMap<>();
+        counters.forEach((name, c) -> values.put(name, c.sum()));
+        gauges.forEach((name, g) -> values.put(name, g.getAsLong()));
+        histograms.forEach((name, h) -> {
+            LatencyHistogram.Snapshot s = h.snapshot();
+            values.put(name + ".count", s.operations);
+            values.put(name + ".mean", Math.round(s.mean()));
+            values.put(name + ".p50", s.valueAt(0.50));
+            values.put(name + ".p99", s.valueAt(0.99));
+            values.put(name + ".p999", s.valueAt(0.999));
+            values.put(name + ".max", s.max);
+        });
+        return values;
+    }
+
+    // One line per metric; counters and histograms also show their rate since the previous dump
+    public synchronized String dump() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-9, (now - lastDumpNanos) / 1e9);
+        lastDumpNanos = now;
+        StringBuilder out = new StringBuilder();
+        for (String name : new TreeSet<>(counters.keySet())) {
+            long value = counters.get(name).sum();
+            out.append(String.format("%-28s %,14d %,12.1f/s%n", name, value, rate(name, value, seconds)));
+        }
+        for (String name : new TreeSet<>(gauges.keySet())) {
+            out.append(String.format("%-28s %,14d%n", name, gauges.get(name).getAsLong()));
+        }
+        for (String name : new TreeSet<>(histograms.keySet())) {
+            LatencyHistogram.Snapshot s = histograms.get(name).snapshot();
+            int every = histograms.get(name).getSampleEvery();
+            if (s.count == 0) {
+                out.append(String.format("%-28s %,14d %,12.1f/s  (no samples yet)%n", name, s.operations, rate(name, s.operations, seconds)));
+                continue;
+            }
+            out.append(String.format("%-28s %,14d %,12.1f/s  mean %s  p50 %s  p99 %s  p99.9 %s  max %s%s%n",
+                    name, s.operations, rate(name, s.operations, seconds), duration(Math.round(s.mean())), duration(s.valueAt(0.5)),
+                    duration(s.valueAt(0.99)), duration(s.valueAt(0.999)), duration(s.max),
+                    (every == 1) ? "" : "  (1 in " + every + " timed)"));
+        }
+        return out.toString();
+    }
+
+    // Hand a dump to out every period on a background thread, e.g. to a log
+    public synchronized void startDump(long periodMillis, Consumer<String> out) {
+        stopDump();
+        dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        dumper.scheduleAtFixedRate(() -> out.accept(dump()), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopDump() {
+        if (dumper != null) dumper.shutdownNow();
+        dumper = null;
+    }
+
+    // Publish the registry on the platform MBean server as <domain>:type=Metrics; a second call is a no-op
+    public void registerJmx(String domain) throws JMException {
+        ObjectName name = new ObjectName(domain + ":type=Metrics");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (!server.isRegistered(name)) server.registerMBean(new MetricsMBean(), name);
+    }
+
+    private double rate(String name, long value, double seconds) {
+        Long last = lastCounts.put(name, value);
+        return (value - (last == null ? 0 : last)) / seconds;
+    }
+
+    private static String duration(long nanos) {
+        if (nanos < 10_000) return nanos + "ns";
+        if (nanos < 10_000_000) return String.format("%.1fus", nanos / 1e3);
+        return String.format("%.1fms", nanos / 1e6);
+    }
+
+    // Every value of values() as a read-only long attribute
+    private final class MetricsMBean implements DynamicMBean {
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Long value = values().get(attribute);
+            if (value == null) throw new AttributeNotFoundException(attribute);
+            return value;
+        }
+
+        public AttributeList getAttributes(String[] attributes) {
+            SortedMap<String, Long> values = values();
+            AttributeList list = new AttributeList();
+            for (String a : attributes) if (values.containsKey(a)) list.add(new Attribute(a, values.get(a)));
+            return list;
+        }
+
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+        }
+
+        public AttributeList setAttributes(AttributeList attributes) { return new AttributeList(); }
+
+        public Object invoke(String action, Object[] params, String[] signature) throws ReflectionException {
+            if ("dump".equals(action)) return dump();
+            throw new ReflectionException(new NoSuchMethodException(action));
+        }
+
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            for (String name : values().keySet()) {
+                attributes.add(new MBeanAttributeInfo(name, "long", name, true, false, false));
+            }
+            MBeanOperationInfo dump = new MBeanOperationInfo("dump", "All metrics as text", new MBeanParameterInfo[0],
+                    "java.lang.String", MBeanOperationInfo.INFO);
+            return new MBeanInfo(Metrics.class.getName(), "Operational metrics",
+                    attributes.toArray(new MBeanAttributeInfo[0]), null, new MBeanOperationInfo[] { dump }, null);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package healthcare;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+// ==================== Concurrent Monitoring ====================
+// Runs every watched patient's MonitoringStrategy on a small scheduler pool instead of one caller thread
+// Each patient has one pending check at a time; after a check it is rescheduled using the interval of its
+// current strategy, so a strategy change takes effect from the next check and critical patients are polled
+// more often than normal ones. The next check is due one interval after the previous one was due, not after
+// it finished, so checks keep their rate; one that is already overdue runs at once and the interval is then
+// counted from that catch-up check, so a stall leads to at most one extra check rather than a burst
+public class MonitoringEngine implements AutoCloseable {
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ConcurrentHashMap<Patient, PatientMonitor> monitors = new ConcurrentHashMap<>();
+
+    // Throughput and scheduling-lag counters
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalLagNanos = new LongAdder();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    public MonitoringEngine(int threads) { this(threads, "patient-monitor"); }
+
+    public MonitoringEngine(int threads, String threadName) {
+        scheduler = new ScheduledThreadPoolExecutor(threads, r -> {
+            Thread t = new Thread(r, threadName);
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    // Start monitoring a patient; does nothing if it is already watched
+    public void watch(Patient patient) {
+        if (scheduler.isShutdown()) return;
+        monitors.computeIfAbsent(patient, p -> {
+            PatientMonitor m = new PatientMonitor(p);
+            // Random first delay within one interval spreads patients over the period instead of polling them in lockstep
+            long interval = intervalNanos(p.getStrategy());
+            m.schedule(System.nanoTime(), ThreadLocalRandom.current().nextLong(interval));
+            return m;
+        });
+    }
+
+    public void unwatch(Patient patient) {
+        PatientMonitor m = monitors.remove(patient);
+        if (m != null) m.stop();
+    }
+
+    // Check the patient as soon as possible and continue from there, e.g. after a strategy change
+    public void recheckNow(Patient patient) {
+        PatientMonitor m = monitors.get(patient);
+        if (m != null) m.recheckNow();
+    }
+
+    @Override
+    public void close() {
+        for (PatientMonitor m : monitors.values()) m.stop();
+        monitors.clear();
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getWatchedCount() { return monitors.size(); }
+    public long getChecks() { return checks.sum(); }
+    public long getFailures() { return failures.sum(); }
+    public long getMaxLagNanos() { return maxLagNanos.get(); }
+    public double getMeanLagNanos() { long n = checks.sum(); return (n == 0) ? 0 : (double) totalLagNanos.sum() / n; }
+
+    private static long intervalNanos(MonitoringStrategy strategy) {
+        long millis = (strategy == null) ? MonitoringStrategy.DEFAULT_POLL_MILLIS : strategy.pollIntervalMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(1, millis));
+    }
+
+    private final class PatientMonitor {
+        private final Patient patient;
+        private volatile boolean stopped;
+        private volatile ScheduledFuture<?> pending;
+        // Guarded by this
+        private long ticket;      // Number of the one scheduled check allowed to run; older ones are stale
+        private long due;         // When that check should run, in System.nanoTime() terms
+        private boolean running;  // A check is in progress
+        private boolean hurry;    // Recheck requested while a check was running
+
+        PatientMonitor(Patient patient) { this.patient = patient; }
+
+        // Replace the pending check with one due now; if a check is running, the next one is due at once
+        // Cancelling a check that has already started does not stop it, so the ticket is what keeps a single chain
+        synchronized void recheckNow() {
+            if (stopped) return;
+            if (running) {
+                hurry = true;
+                return;
+            }
+            ScheduledFuture<?> f = pending;
+            if (f != null) f.cancel(false);
+            schedule(System.nanoTime(), 0);
+        }
+
+        synchronized void schedule(long now, long delayNanos) {
+            long t = ++ticket;
+            due = now + delayNanos;
+            try {
+                pending = scheduler.schedule(() -> check(t), delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                stopped = true; // Engine closed meanwhile
+            }
+        }
+
+        void stop() {
+            stopped = true;
+            ScheduledFuture<?> f = pending;
+            if (f != null) f.cancel(false);
+        }
+
+        private void check(long t) {
+            long start = System.nanoTime();
+            synchronized (this) {
+                if (stopped || t != ticket) return; // Replaced by a recheck after it was already dequeued
+                running = true;
+                long lag = Math.max(0, start - due);
+                totalLagNanos.add(lag);
+                maxLagNanos.accumulateAndGet(lag, Math::max);
+            }
+            MonitoringStrategy strategy = patient.getStrategy();
+            try {
+                if (strategy != null) strategy.monitor(patient.getName());
+            } catch (RuntimeException e) {
+                failures.increment(); // A failing strategy must not stop the patient's monitoring
+            }
+            checks.increment();
+            synchronized (this) {
+                running = false;
+                if (stopped) return;
+                long now = System.nanoTime();
+                long next = hurry ? now : due + intervalNanos(patient.getStrategy());
+                hurry = false;
+                schedule(now, Math.max(0, next - now));
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package healthcare;
+
+// ==================== Strategy Pattern ====================
+public interface MonitoringStrategy {
+    long DEFAULT_POLL_MILLIS = 1000;
+
+    void monitor(String patientName);
+
+    // How often the monitoring engine runs this strategy for a patient
+    default long pollIntervalMillis() { return DEFAULT_POLL_MILLIS; }
+}
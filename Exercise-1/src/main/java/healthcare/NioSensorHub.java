@@ -0,0 +1,173 @@
+package healthcare;
+
+import java.util.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+// Reads framed vitals from many devices on one selector thread and submits them to the ingestion pipeline
+// Devices are any selectable byte channels (sockets, pipes) opened by the caller; each gets a receive buffer,
+// partial frames wait in it until the rest arrives, and a device sending a malformed frame is disconnected
+public class NioSensorHub implements AutoCloseable {
+    private static final int BUFFER_BYTES = VitalsFrame.HEADER_BYTES + VitalsFrame.MAX_SAMPLES * VitalsFrame.SAMPLE_BYTES;
+
+    private final Selector selector;
+    private final VitalsPipeline pipeline;
+    private final Thread thread;
+    private final ConcurrentLinkedQueue<Device> pendingRegistrations = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    // Stream counters
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder readings = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder protocolErrors = new LongAdder();
+    private final AtomicInteger connected = new AtomicInteger();
+
+    public NioSensorHub(VitalsPipeline pipeline) throws IOException {
+        this.pipeline = pipeline;
+        this.selector = Selector.open();
+        thread = new Thread(this::selectLoop, "sensor-hub");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Start reading a device's stream for the patient; the channel is switched to non-blocking mode
+    public <C extends SelectableChannel & ReadableByteChannel> void attach(C channel, Patient patient) throws IOException {
+        if (closed) throw new IllegalStateException("Sensor hub is closed");
+        channel.configureBlocking(false);
+        Device d = new Device(channel, patient);
+        pendingRegistrations.add(d);
+        // Closed meanwhile: the selector thread may already have released the pending devices
+        if (closed && pendingRegistrations.remove(d)) {
+            channel.close();
+            throw new IllegalStateException("Sensor hub is closed");
+        }
+        selector.wakeup(); // Registration has to happen on the selector thread
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getFrames() { return frames.sum(); }
+    public long getReadings() { return readings.sum(); }
+    public long getBytesRead() { return bytesRead.sum(); }
+    public long getProtocolErrors() { return protocolErrors.sum(); }
+    public int getConnectedDevices() { return connected.get(); }
+
+    private void selectLoop() {
+        try {
+            while (!closed) {
+                selector.select(100);
+                Device d;
+                while ((d = pendingRegistrations.poll()) != null) {
+                    try {
+                        d.channel.register(selector, SelectionKey.OP_READ, d);
+                        connected.incrementAndGet();
+                    } catch (ClosedChannelException e) {
+                        // Device went away before it was registered; the others are unaffected
+                    }
+                }
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (key.isValid() && key.isReadable()) read(key);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            protocolErrors.increment();
+        } finally {
+            // Cancelled keys stay in the key set until the next select; those devices are already disconnected
+            for (SelectionKey key : selector.keys()) {
+                if (key.isValid()) disconnect(key);
+            }
+            Device d;
+            while ((d = pendingRegistrations.poll()) != null) close(d.channel);
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    private void read(SelectionKey key) {
+        Device d = (Device) key.attachment();
+        try {
+            int n = ((ReadableByteChannel) d.channel).read(d.buffer);
+            if (n < 0) {
+                disconnect(key); // Device closed its end
+                return;
+            }
+            bytesRead.add(n);
+            d.buffer.flip();
+            boolean ok = parse(d);
+            d.buffer.compact();
+            if (!ok) {
+                protocolErrors.increment();
+                disconnect(key);
+            }
+        } catch (IOException e) {
+            protocolErrors.increment();
+            disconnect(key);
+        }
+    }
+
+    // Submit every complete frame in the buffer; false on a malformed frame
+    private boolean parse(Device d) {
+        ByteBuffer b = d.buffer;
+        while (b.remaining() >= VitalsFrame.HEADER_BYTES) {
+            int start = b.position();
+            short magic = b.getShort(start);
+            int count = b.getShort(start + 2) & 0xFFFF;
+            if (magic != VitalsFrame.MAGIC || count == 0 || count > VitalsFrame.MAX_SAMPLES) return false;
+            int length = VitalsFrame.HEADER_BYTES + count * VitalsFrame.SAMPLE_BYTES;
+            if (b.remaining() < length) break; // Rest of the frame has not arrived yet
+            int p = start + VitalsFrame.HEADER_BYTES;
+            for (int i = 0; i < count; i++, p += VitalsFrame.SAMPLE_BYTES) {
+                pipeline.submit(d.patient, b.getLong(p), b.getShort(p + 8) / 100.0, b.getShort(p + 10) / 100.0);
+            }
+            b.position(start + length);
+            frames.increment();
+            readings.add(count);
+        }
+        return true;
+    }
+
+    private void disconnect(SelectionKey key) {
+        key.cancel();
+        close(key.channel());
+        connected.decrementAndGet();
+    }
+
+    private static void close(Channel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Already gone
+        }
+    }
+
+    private static final class Device {
+        final SelectableChannel channel;
+        final Patient patient;
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+        Device(SelectableChannel channel, Patient patient) {
+            this.channel = channel;
+            this.patient = patient;
+        }
+    }
+}
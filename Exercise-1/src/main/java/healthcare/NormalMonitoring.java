@@ -0,0 +1,7 @@
+package healthcare;
+
+public class NormalMonitoring implements MonitoringStrategy {
+    public void monitor(String patientName) {
+        Output.get().monitored("Normal Monitoring for patient: ", patientName);
+    }
+}
@@ -0,0 +1,7 @@
+package healthcare;
+
+public class NurseStation implements Observer {
+    public void update(double heartRate, double temperature) {
+        Output.get().vitals("Nurse notified", heartRate, temperature);
+    }
+}
@@ -0,0 +1,6 @@
+package healthcare;
+
+// ==================== Observer Pattern ====================
+public interface Observer {
+    void update(double heartRate, double temperature);
+}
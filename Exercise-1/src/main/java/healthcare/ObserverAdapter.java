@@ -0,0 +1,10 @@
+package healthcare;
+
+// Lets an existing per-reading Observer subscribe once for a group instead of once per patient
+public class ObserverAdapter implements BatchObserver {
+    private final Observer observer;
+    public ObserverAdapter(Observer observer) { this.observer = observer; }
+    public void onBatch(VitalsBatch batch) {
+        for (int i = 0; i < batch.size(); i++) observer.update(batch.heartRate(i), batch.temperature(i));
+    }
+}
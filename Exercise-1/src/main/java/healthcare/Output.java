@@ -0,0 +1,21 @@
+package healthcare;
+
+// The renderer everything reports to: the console until replaced, e.g. by a HeadlessRenderer
+public final class Output {
+    private static volatile Renderer renderer = new ConsoleRenderer(System.out);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> renderer.flush(), "output-flush"));
+    }
+
+    private Output() { }
+
+    public static Renderer get() { return renderer; }
+
+    // Switch renderers; what the previous one still buffers is written first
+    public static void use(Renderer next) {
+        Renderer previous = renderer;
+        renderer = next;
+        previous.flush();
+    }
+}
@@ -0,0 +1,45 @@
+package healthcare;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+// ==================== Patient Class ====================
+public class Patient {
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final LatencyHistogram FANOUT = Metrics.global().histogram("observers.fanout", 64);
+
+    private final int id; // Dense, assigned in creation order; used to route readings
+    private String name;
+    private volatile double heartRate;   // Written by the ingestion pipeline, read anywhere
+    private volatile double temperature;
+    private volatile MonitoringStrategy strategy; // May be changed while the monitoring engine runs
+    private volatile Observer[] observers = new Observer[0]; // Copy-on-write: notifying neither locks nor allocates
+
+    public Patient(String name) {
+        this.id = NEXT_ID.getAndIncrement();
+        this.name = name;
+    }
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public synchronized void addObserver(Observer o) {
+        Observer[] current = observers;
+        Observer[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = o;
+        observers = updated;
+    }
+    public void setVitals(double hr, double temp) {
+        this.heartRate = hr;
+        this.temperature = temp;
+        // notifications triggered only here if needed
+    }
+    public void notifyObservers() {
+        long start = FANOUT.startTimer();
+        double hr = heartRate, temp = temperature;
+        for (Observer o : observers) o.update(hr, temp);
+        FANOUT.recordSince(start);
+    }
+    public void setStrategy(MonitoringStrategy strategy) { this.strategy = strategy; }
+    public MonitoringStrategy getStrategy() { return strategy; }
+    public double getHeartRate() { return heartRate; }
+    public double getTemperature() { return temperature; }
+}
@@ -0,0 +1,7 @@
+package healthcare;
+
+public class PatientApp implements Observer {
+    public void update(double heartRate, double temperature) {
+        Output.get().vitals("Patient app alert", heartRate, temperature);
+    }
+}
@@ -0,0 +1,190 @@
+package healthcare;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+// ==================== Patient Registry ====================
+// Concurrent registry of patients keyed by id and split into shards by the low bits of the id
+// Each shard has its own slot table and, while monitoring runs, its own single-threaded monitoring loop, so
+// shards are monitored in parallel; registration, lookup and strategy changes only touch the patient's own shard
+// Ids are dense, so a shard keeps its patients in an array indexed by id >> shard bits: lookups are a
+// lock-free array read with no hashing or boxing, and only registration takes the shard's lock
+public class PatientRegistry implements AutoCloseable {
+    private final Shard[] shards;
+    private final int mask;
+    private final int shift;
+    private final ConcurrentHashMap<String, Patient[]> byName = new ConcurrentHashMap<>(); // Copy-on-write per name
+
+    public PatientRegistry(int shardCount) {
+        if (shardCount <= 0) throw new IllegalArgumentException("Need at least one shard");
+        int n = Integer.highestOneBit(shardCount - 1) << 1;
+        if (n <= 0) n = 1;
+        shards = new Shard[n];
+        mask = n - 1;
+        shift = Integer.numberOfTrailingZeros(n);
+        for (int i = 0; i < n; i++) shards[i] = new Shard(i);
+    }
+
+    // False if a patient with the same id is already registered
+    public boolean register(Patient p) {
+        Shard shard = shardOf(p.getId());
+        if (!shard.putIfAbsent(slotOf(p.getId()), p)) return false;
+        byName.merge(p.getName(), new Patient[] { p }, PatientRegistry::concat);
+        MonitoringEngine engine = shard.engine;
+        if (engine != null) engine.watch(p); // Watching is idempotent, so racing with startMonitoring is harmless
+        return true;
+    }
+
+    // The removed patient, or null if none had that id
+    public Patient unregister(int id) {
+        Shard shard = shardOf(id);
+        Patient p = shard.remove(slotOf(id));
+        if (p == null) return null;
+        byName.computeIfPresent(p.getName(), (n, same) -> {
+            Patient[] rest = Arrays.stream(same).filter(x -> x != p).toArray(Patient[]::new);
+            return (rest.length == 0) ? null : rest;
+        });
+        MonitoringEngine engine = shard.engine;
+        if (engine != null) engine.unwatch(p);
+        return p;
+    }
+
+    public Patient find(int id) { return (id < 0) ? null : shardOf(id).get(slotOf(id)); }
+
+    public List<Patient> findByName(String name) {
+        Patient[] found = byName.get(name);
+        return (found == null) ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(found));
+    }
+
+    // Switch the patient to another strategy; a running monitoring loop applies it right away instead of
+    // at the end of the old strategy's interval. False if no patient has that id
+    public boolean changeStrategy(int id, MonitoringStrategy strategy) {
+        if (id < 0) return false;
+        Shard shard = shardOf(id);
+        Patient p = shard.get(slotOf(id));
+        if (p == null) return false;
+        p.setStrategy(strategy);
+        MonitoringEngine engine = shard.engine;
+        if (engine != null) engine.recheckNow(p);
+        return true;
+    }
+
+    public int size() {
+        int n = 0;
+        for (Shard s : shards) n += s.size();
+        return n;
+    }
+
+    public int getShardCount() { return shards.length; }
+
+    // Registered patients in registration (id) order, as a copy
+    public List<Patient> snapshot() {
+        List<Patient> all = new ArrayList<>(size());
+        for (Shard s : shards) s.forEach(all::add);
+        all.sort(Comparator.comparingInt(Patient::getId));
+        return all;
+    }
+
+    // Number of patients per strategy name
+    public Map<String, Integer> strategyCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Shard s : shards) {
+            s.forEach(p -> {
+                MonitoringStrategy strategy = p.getStrategy();
+                counts.merge((strategy == null) ? "None" : strategy.getClass().getSimpleName(), 1, Integer::sum);
+            });
+        }
+        return counts;
+    }
+
+    // Run the action over every patient, one task per shard, shards in parallel
+    public void forEachShard(Consumer<Patient> action) {
+        Arrays.stream(shards).parallel().forEach(s -> s.forEach(action));
+    }
+
+    public void startMonitoring() { for (Shard s : shards) s.start(); }
+    public void stopMonitoring() { for (Shard s : shards) s.stop(); }
+
+    @Override
+    public void close() { stopMonitoring(); }
+
+    // Monitoring totals over all shards since they were started
+    public long getMonitoringChecks() { long n = 0; for (Shard s : shards) n += s.checks(); return n; }
+    public long getMaxLagNanos() { long n = 0; for (Shard s : shards) n = Math.max(n, s.maxLag()); return n; }
+
+    private Shard shardOf(int id) { return shards[id & mask]; }
+    private int slotOf(int id) { return id >>> shift; }
+
+    private static Patient[] concat(Patient[] a, Patient[] b) {
+        Patient[] joined = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return joined;
+    }
+
+    private static final class Shard {
+        final int index;
+        private volatile AtomicReferenceArray<Patient> slots = new AtomicReferenceArray<>(16);
+        private final AtomicInteger count = new AtomicInteger();
+        volatile MonitoringEngine engine; // Non-null while this shard's monitoring loop runs
+        private long retiredChecks;       // Checks of engines already stopped
+        private long retiredMaxLag;
+
+        Shard(int index) { this.index = index; }
+
+        Patient get(int slot) {
+            AtomicReferenceArray<Patient> s = slots;
+            return (slot < s.length()) ? s.get(slot) : null;
+        }
+
+        synchronized boolean putIfAbsent(int slot, Patient p) {
+            AtomicReferenceArray<Patient> s = slots;
+            if (slot >= s.length()) {
+                AtomicReferenceArray<Patient> grown = new AtomicReferenceArray<>(Math.max(slot + 1, s.length() * 2));
+                for (int i = 0; i < s.length(); i++) grown.set(i, s.get(i));
+                slots = s = grown;
+            }
+            if (s.get(slot) != null) return false;
+            s.set(slot, p);
+            count.incrementAndGet();
+            return true;
+        }
+
+        synchronized Patient remove(int slot) {
+            AtomicReferenceArray<Patient> s = slots;
+            if (slot >= s.length()) return null;
+            Patient p = s.getAndSet(slot, null);
+            if (p != null) count.decrementAndGet();
+            return p;
+        }
+
+        int size() { return count.get(); }
+
+        void forEach(Consumer<Patient> action) {
+            AtomicReferenceArray<Patient> s = slots;
+            for (int i = 0; i < s.length(); i++) {
+                Patient p = s.get(i);
+                if (p != null) action.accept(p);
+            }
+        }
+
+        synchronized void start() {
+            if (engine != null) return;
+            MonitoringEngine e = new MonitoringEngine(1, "patient-monitor-" + index);
+            engine = e;
+            forEach(e::watch);
+        }
+
+        synchronized void stop() {
+            if (engine == null) return;
+            engine.close();
+            retiredChecks += engine.getChecks();
+            retiredMaxLag = Math.max(retiredMaxLag, engine.getMaxLagNanos());
+            engine = null;
+        }
+
+        synchronized long checks() { return retiredChecks + ((engine == null) ? 0 : engine.getChecks()); }
+        synchronized long maxLag() { return Math.max(retiredMaxLag, (engine == null) ? 0 : engine.getMaxLagNanos()); }
+    }
+}
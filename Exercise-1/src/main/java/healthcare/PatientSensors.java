@@ -0,0 +1,16 @@
+package healthcare;
+
+// ==================== Sensor I/O ====================
+// The sensors of one patient, created once and reused for every read
+public class PatientSensors {
+    final Sensor heartRate;
+    final Sensor temperature;
+
+    PatientSensors(Sensor heartRate, Sensor temperature) {
+        this.heartRate = heartRate;
+        this.temperature = temperature;
+    }
+
+    public Sensor getHeartRate() { return heartRate; }
+    public Sensor getTemperature() { return temperature; }
+}
@@ -0,0 +1,41 @@
+package healthcare;
+
+import java.util.*;
+import java.util.function.*;
+
+// Dense table of per-patient state indexed by patient id; lookups take no lock and do not allocate
+public class PatientTable<T> {
+    private volatile Object[] byId = new Object[64];
+
+    @SuppressWarnings("unchecked")
+    public T get(Patient patient) {
+        Object[] table = byId;
+        int id = patient.getId();
+        return (id < table.length) ? (T) table[id] : null;
+    }
+
+    public T computeIfAbsent(Patient patient, Function<Patient, T> factory) {
+        T value = get(patient);
+        return (value != null) ? value : create(patient, factory);
+    }
+
+    // Present values in id order
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<T> action) {
+        for (Object value : byId) {
+            if (value != null) action.accept((T) value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized T create(Patient patient, Function<Patient, T> factory) {
+        Object[] table = byId;
+        int id = patient.getId();
+        if (id >= table.length) table = Arrays.copyOf(table, Math.max(id + 1, table.length * 2));
+        if (table[id] == null) {
+            table[id] = factory.apply(patient);
+            byId = table; // Volatile write publishes the new entry
+        }
+        return (T) table[id];
+    }
+}
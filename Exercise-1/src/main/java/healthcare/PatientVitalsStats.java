@@ -0,0 +1,30 @@
+package healthcare;
+
+// Running statistics for both vital signs of one patient, plus which rules are currently breached
+public class PatientVitalsStats {
+    final RollingStats heartRate;
+    final RollingStats temperature;
+    long activeRules; // Bit i set while rule i is breached
+
+    PatientVitalsStats(int window, double alpha) {
+        heartRate = new RollingStats(window, alpha);
+        temperature = new RollingStats(window, alpha);
+    }
+
+    public RollingStats of(VitalSign sign) { return (sign == VitalSign.HEART_RATE) ? heartRate : temperature; }
+
+    public double value(VitalSign sign, Statistic statistic) {
+        RollingStats s = of(sign);
+        switch (statistic) {
+            case LATEST: return s.latest();
+            case EWMA: return s.ewma();
+            case MEAN: return s.mean();
+            case VARIANCE: return s.variance();
+            case STDDEV: return s.stddev();
+            case MIN: return s.min();
+            case MAX: return s.max();
+            case TREND: return s.trend();
+            default: throw new IllegalArgumentException("Unknown statistic " + statistic);
+        }
+    }
+}
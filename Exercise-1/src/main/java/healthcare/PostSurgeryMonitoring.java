@@ -0,0 +1,8 @@
+package healthcare;
+
+public class PostSurgeryMonitoring implements MonitoringStrategy {
+    public void monitor(String patientName) {
+        Output.get().monitored("Post-Surgery Monitoring for ", patientName);
+    }
+    public long pollIntervalMillis() { return 250; }
+}
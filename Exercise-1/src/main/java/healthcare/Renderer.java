@@ -0,0 +1,17 @@
+package healthcare;
+
+// ==================== Console Output ====================
+// Observers, strategies and alerts report what happened to the current Renderer instead of printing it
+public interface Renderer {
+    void vitals(String recipient, double heartRate, double temperature); // e.g. "Doctor notified"
+    void monitored(String check, String patientName);
+    void alert(String step, String message);                             // e.g. "Email sent"
+
+    // Free text from the console front end
+    void println(String text);
+    void print(String text);
+    void printf(String format, Object... args);
+    void prompt(String text); // Shown at once, since input is read next
+
+    void flush();
+}
@@ -0,0 +1,85 @@
+package healthcare;
+
+// ==================== Vitals Analytics ====================
+// Rolling statistics of one vital sign, updated in O(1) per reading with no allocation:
+// EWMA, fast/slow EWMA trend, and mean, sample variance and standard deviation, min and max over the last `window` readings
+// Variance uses the sliding form of Welford's update; min and max use monotonic queues of (position, value)
+public class RollingStats {
+    private final int window;
+    private final double alpha;     // EWMA smoothing
+    private final double fastAlpha; // Trend = fast EWMA - slow EWMA
+    private final double slowAlpha;
+    private final double[] values;  // Last `window` readings, circular
+    private final long[] minPos;    // Queue of readings whose values increase from head to tail
+    private final double[] minVal;
+    private final long[] maxPos;    // Queue of readings whose values decrease from head to tail
+    private final double[] maxVal;
+    private int minHead, minSize, maxHead, maxSize;
+    private int slot;               // Where the next reading goes in values
+    private long count;             // Readings seen so far
+    private double latest, ewma, fast, slow, mean, m2;
+
+    public RollingStats(int window, double alpha) {
+        if (window <= 0 || alpha <= 0 || alpha > 1) throw new IllegalArgumentException("Invalid window or smoothing factor");
+        this.window = window;
+        this.alpha = alpha;
+        this.fastAlpha = Math.min(1, alpha * 4);
+        this.slowAlpha = alpha / 4;
+        values = new double[window];
+        minPos = new long[window];
+        minVal = new double[window];
+        maxPos = new long[window];
+        maxVal = new double[window];
+    }
+
+    public void add(double x) {
+        if (count == 0) {
+            ewma = fast = slow = x;
+        } else {
+            ewma += alpha * (x - ewma);
+            fast += fastAlpha * (x - fast);
+            slow += slowAlpha * (x - slow);
+        }
+        if (count < window) {
+            // Window still filling: plain Welford
+            double delta = x - mean;
+            mean += delta / (count + 1);
+            m2 += delta * (x - mean);
+        } else {
+            double old = values[slot];
+            double oldMean = mean;
+            mean += (x - old) / window;
+            m2 += (x - old) * (x - mean + old - oldMean);
+            if (m2 < 0) m2 = 0; // Rounding can leave a tiny negative
+        }
+        values[slot] = x;
+        slot = next(slot);
+        latest = x;
+
+        long pos = count++;
+        long expired = pos - window; // Positions at or before this have left the window
+        if (minSize > 0 && minPos[minHead] <= expired) { minHead = next(minHead); minSize--; }
+        while (minSize > 0 && minVal[last(minHead, minSize)] >= x) minSize--;
+        int at = last(minHead, ++minSize);
+        minPos[at] = pos;
+        minVal[at] = x;
+        if (maxSize > 0 && maxPos[maxHead] <= expired) { maxHead = next(maxHead); maxSize--; }
+        while (maxSize > 0 && maxVal[last(maxHead, maxSize)] <= x) maxSize--;
+        at = last(maxHead, ++maxSize);
+        maxPos[at] = pos;
+        maxVal[at] = x;
+    }
+
+    public long count() { return count; }
+    public double latest() { return latest; }
+    public double ewma() { return ewma; }
+    public double trend() { return fast - slow; }
+    public double mean() { return mean; }
+    public double variance() { long n = Math.min(count, window); return (n < 2) ? 0 : m2 / (n - 1); }
+    public double stddev() { return Math.sqrt(variance()); }
+    public double min() { return (minSize == 0) ? Double.NaN : minVal[minHead]; }
+    public double max() { return (maxSize == 0) ? Double.NaN : maxVal[maxHead]; }
+
+    private int next(int i) { return (i + 1 == window) ? 0 : i + 1; }
+    private int last(int head, int size) { int i = head + size - 1; return (i >= window) ? i - window : i; }
+}
@@ -0,0 +1,9 @@
+package healthcare;
+
+public class SMSDecorator extends AlertDecorator {
+    public SMSDecorator(Alert alert) { super(alert); }
+    public void send(String message) {
+        super.send(message);
+        Output.get().alert("SMS sent", message);
+    }
+}
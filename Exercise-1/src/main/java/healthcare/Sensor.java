@@ -0,0 +1,12 @@
+package healthcare;
+
+// ==================== Factory Pattern ====================
+public interface Sensor {
+    double readData();
+
+    // Fill out[offset .. offset + count) with consecutive readings; returns how many were read
+    default int readBatch(double[] out, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) out[i] = readData();
+        return count;
+    }
+}
@@ -0,0 +1,12 @@
+package healthcare;
+
+// ==================== Adapter Pattern ====================
+public interface SensorAdapter {
+    double getValue();
+
+    // Fill out[offset .. offset + count) with consecutive values; returns how many were read
+    default int getValues(double[] out, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) out[i] = getValue();
+        return count;
+    }
+}
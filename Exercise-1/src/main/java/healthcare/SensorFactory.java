@@ -0,0 +1,9 @@
+package healthcare;
+
+public class SensorFactory {
+    public static Sensor createSensor(String type) {
+        if ("HeartRate".equals(type)) return new HeartRateSensor();
+        else if ("Temperature".equals(type)) return new TemperatureSensor();
+        else throw new IllegalArgumentException("Unknown sensor type");
+    }
+}
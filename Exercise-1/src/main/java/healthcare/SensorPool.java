@@ -0,0 +1,19 @@
+package healthcare;
+
+import java.util.function.*;
+
+// Pool of sensor instances per patient: the factory runs on a patient's first read only
+public class SensorPool {
+    private final PatientTable<PatientSensors> sensors = new PatientTable<>();
+    private final Function<Patient, PatientSensors> create =
+            p -> new PatientSensors(SensorFactory.createSensor("HeartRate"), SensorFactory.createSensor("Temperature"));
+
+    public PatientSensors forPatient(Patient patient) { return sensors.computeIfAbsent(patient, create); }
+
+    // Fill count heart-rate and temperature samples for the patient, starting at offset
+    public void readInto(Patient patient, double[] heartRates, double[] temperatures, int offset, int count) {
+        PatientSensors s = forPatient(patient);
+        s.heartRate.readBatch(heartRates, offset, count);
+        s.temperature.readBatch(temperatures, offset, count);
+    }
+}
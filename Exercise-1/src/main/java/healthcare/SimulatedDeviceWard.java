@@ -0,0 +1,88 @@
+package healthcare;
+
+import java.util.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+
+// Local stand-in for a ward of streaming devices: one thread writes frames into the sink end of a pipe per device,
+// without blocking, so thousands of simulated devices need neither threads nor sockets of their own
+public class SimulatedDeviceWard implements AutoCloseable {
+    private final List<Pipe> pipes = new ArrayList<>();
+    private final List<ByteBuffer> outgoing = new ArrayList<>();
+    private final SplittableRandom random;
+
+    public SimulatedDeviceWard(long seed) { this.random = new SplittableRandom(seed); }
+
+    // Create a device for the patient and attach its stream to the hub
+    public void connect(NioSensorHub hub, Patient patient) throws IOException {
+        Pipe pipe = Pipe.open();
+        pipe.sink().configureBlocking(false);
+        hub.attach(pipe.source(), patient);
+        pipes.add(pipe);
+        ByteBuffer out = ByteBuffer.allocate(VitalsFrame.HEADER_BYTES + VitalsFrame.MAX_SAMPLES * VitalsFrame.SAMPLE_BYTES);
+        out.flip(); // Starts empty
+        outgoing.add(out);
+    }
+
+    // Send `rounds` frames of `samplesPerFrame` readings from every device; returns readings sent
+    public long stream(int rounds, int samplesPerFrame) throws IOException {
+        long[] times = new long[samplesPerFrame];
+        double[] hr = new double[samplesPerFrame];
+        double[] temp = new double[samplesPerFrame];
+        long sent = 0;
+        long now = System.currentTimeMillis();
+        for (int r = 0; r < rounds; r++) {
+            for (int d = 0; d < pipes.size(); d++) {
+                ByteBuffer out = outgoing.get(d);
+                Pipe.SinkChannel sink = pipes.get(d).sink();
+                // Finish the previous frame first; a device that cannot take more skips this round
+                if (out.hasRemaining() && sink.write(out) == 0) continue;
+                if (out.hasRemaining()) continue;
+                for (int i = 0; i < samplesPerFrame; i++) {
+                    times[i] = now + r * 1000L;
+                    hr[i] = 60 + random.nextDouble() * 40;
+                    temp[i] = 36 + random.nextDouble() * 2;
+                }
+                out.clear();
+                VitalsFrame.encode(out, times, hr, temp, 0, samplesPerFrame);
+                out.flip();
+                sink.write(out);
+                sent += samplesPerFrame;
+            }
+        }
+        // Drain what is still buffered on the device side
+        boolean pending = true;
+        while (pending) {
+            pending = false;
+            for (int d = 0; d < pipes.size(); d++) {
+                ByteBuffer out = outgoing.get(d);
+                if (out.hasRemaining()) {
+                    pipes.get(d).sink().write(out);
+                    pending |= out.hasRemaining();
+                }
+            }
+            if (pending) Thread.onSpinWait();
+        }
+        return sent;
+    }
+
+    // Write raw bytes from one device, e.g. to test how the hub handles a corrupt stream
+    public void sendRaw(int device, byte[] bytes) throws IOException {
+        ByteBuffer b = ByteBuffer.wrap(bytes);
+        while (b.hasRemaining()) pipes.get(device).sink().write(b);
+    }
+
+    public int size() { return pipes.size(); }
+
+    @Override
+    public void close() {
+        for (Pipe p : pipes) {
+            try {
+                p.sink().close();
+            } catch (IOException ignored) {
+                // Hub side notices the end of stream
+            }
+        }
+    }
+}
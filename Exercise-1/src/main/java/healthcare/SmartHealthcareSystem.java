@@ -0,0 +1,188 @@
+package healthcare;
+
+import java.util.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+// ==================== Main Application ====================
+public class SmartHealthcareSystem {
+    // Pass --headless to skip all console formatting and output (input is still read)
+    public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--headless")) Output.use(new HeadlessRenderer());
+        Renderer out = Output.get();
+        Scanner sc = new Scanner(System.in);
+        Random rand = new Random();
+
+        // Singleton Pattern Test
+        out.println("\n=== Singleton Pattern Test ===");
+        IoTController controller1 = IoTController.getInstance();
+        IoTController controller2 = IoTController.getInstance();
+        if (controller1 == controller2)
+            out.println("Singleton verified: Only one IoTController instance exists.");
+
+        out.prompt("\nNumber of patients to monitor: ");
+        int numPatients = sc.nextInt();
+        sc.nextLine();
+
+        SensorPool sensors = new SensorPool(); // Each patient's sensors are created once and reused
+
+        // One dashboard, nurse station and app shared by every patient instead of new ones per patient
+        Observer doctor = new DoctorDashboard();
+        Observer nurse = new NurseStation();
+        Observer app = new PatientApp();
+
+        for (int i = 1; i <= numPatients; i++) {
+            out.prompt("\nEnter patient " + i + " name: ");
+            String name = sc.nextLine();
+            Patient p = new Patient(name);
+
+            // Assign random strategy using Java 8 switch
+            int choice = rand.nextInt(3);
+            switch (choice) {
+                case 0:
+                    p.setStrategy(new NormalMonitoring());
+                    break;
+                case 1:
+                    p.setStrategy(new CriticalMonitoring());
+                    break;
+                case 2:
+                    p.setStrategy(new PostSurgeryMonitoring());
+                    break;
+                default:
+                    p.setStrategy(new NormalMonitoring());
+            }
+
+            // Add observers
+            p.addObserver(doctor);
+            p.addObserver(nurse);
+            p.addObserver(app);
+
+            // Register patient
+            controller1.registerPatient(p);
+
+            // Set initial vitals
+            PatientSensors s = sensors.forPatient(p);
+            p.setVitals(s.getHeartRate().readData(), s.getTemperature().readData());
+        }
+
+        // Observer Pattern Test
+        out.println("\n=== Observer Pattern Test ===");
+        for (Patient p : controller1.getPatients()) {
+            // Trigger notifications explicitly
+            p.notifyObservers();
+        }
+
+        // Strategy Pattern Test
+        out.println("\n=== Strategy Pattern Test ===");
+        controller1.monitorPatients();
+
+        // Concurrent Monitoring Test: each strategy is polled at its own rate for a short while
+        out.println("\n=== Concurrent Monitoring Test ===");
+        controller1.startMonitoring(); // One monitoring loop per registry shard
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        controller1.stopMonitoring();
+        out.println("Monitoring engine ran " + controller1.getMonitoringChecks() + " checks for "
+                + controller1.getPatients().size() + " patients.");
+
+        // Sensor Factory Test
+        out.println("\n=== Sensor Factory Test ===");
+        for (Patient p : controller1.getPatients()) {
+            PatientSensors s = sensors.forPatient(p);
+            out.println("Reading HeartRateSensor: " + String.format("%.1f", s.getHeartRate().readData()));
+            out.println("Reading TemperatureSensor: " + String.format("%.1f", s.getTemperature().readData()));
+        }
+
+        // Ingestion Pipeline Test: one fresh reading per patient, delivered on the pipeline's lane threads
+        // The shared observers subscribe once for the whole ward and receive the readings in batches
+        out.println("\n=== Ingestion Pipeline Test ===");
+        VitalsHistoryStore history = new VitalsHistoryStore(86_400, TimeUnit.HOURS.toMillis(24)); // 24h at 1 Hz
+        SubscriptionRegistry subscriptions = new SubscriptionRegistry(256);
+        subscriptions.subscribe(0, new ObserverAdapter(doctor));
+        subscriptions.subscribe(0, new ObserverAdapter(nurse));
+        subscriptions.subscribe(0, new ObserverAdapter(app));
+        Path recording = null;
+        VitalsRecordingWriter recorder = null;
+        try {
+            recording = Files.createTempFile("vitals", ".vrec");
+            recorder = new VitalsRecordingWriter(recording); // Archives what the pipeline delivers for replay below
+        } catch (IOException e) {
+            out.println("Recording disabled: " + e.getMessage());
+        }
+        VitalsSink delivered = history.andThen(new LatestVitalsSink(false)).andThen(subscriptions);
+        try (VitalsPipeline pipeline = new VitalsPipeline(2, 1024, 256, VitalsPipeline.Backpressure.BLOCK,
+                (recorder != null) ? delivered.andThen(recorder) : delivered)) {
+            for (Patient p : controller1.getPatients()) {
+                PatientSensors s = sensors.forPatient(p);
+                pipeline.submit(p, s.getHeartRate().readData(), s.getTemperature().readData());
+            }
+            pipeline.flush();
+            out.println("Pipeline delivered " + pipeline.getDelivered() + " readings in "
+                    + pipeline.getBatches() + " batches (" + pipeline.getDropped() + " dropped).");
+        }
+        out.printf("History holds %d readings; a 10k-patient ward at 24h x 1 Hz needs about %,d MB.%n",
+                controller1.getPatients().stream().mapToInt(p -> history.history(p).size()).sum(),
+                VitalsHistoryStore.estimateBytes(10_000, 86_400) >> 20);
+
+        // Recording and Replay Test: the readings recorded above are fed back in, as fast as possible
+        out.println("\n=== Recording and Replay Test ===");
+        if (recorder != null) {
+            try {
+                recorder.close();
+                out.println("Recorded " + recorder.getCount() + " readings in " + Files.size(recording) + " bytes.");
+                VitalsReplay.Result replayed = new VitalsReplay(recording, controller1).run((p, time, hr, temp) -> {
+                    p.setVitals(hr, temp);
+                    return true;
+                }, VitalsReplay.MAX_SPEED);
+                out.println("Replay restored " + replayed.delivered + " readings.");
+                Files.deleteIfExists(recording);
+            } catch (IOException e) {
+                out.println("Replay failed: " + e.getMessage());
+            }
+        }
+
+        // Vitals Analytics Test: a fever building up in the first patient raises one alert, and one more when it passes
+        out.println("\n=== Vitals Analytics Test ===");
+        // Alerts leave through a dispatcher with slow stand-in email and SMS gateways, one lane each
+        AlertDispatcher dispatcher = new AlertDispatcher(Arrays.asList(
+                new DelayedAlertChannel("Email", 50, 0, new EmailDecorator(new BaseAlert())),
+                new DelayedAlertChannel("SMS", 100, 0, new SMSDecorator(new BaseAlert()))), 1024, 64, 60_000, 5);
+        VitalsAnalytics analytics = new VitalsAnalytics(VitalsAnalytics.defaultRules(), dispatcher, 60, 0.2);
+        if (!controller1.getPatients().isEmpty()) {
+            Patient first = controller1.getPatients().get(0);
+            for (int i = 0; i < 120; i++) {
+                double temp = (i < 60) ? 37.0 + i * 0.03 : 38.8 - (i - 60) * 0.03; // Up to 38.8 and back
+                analytics.record(first, 75, temp);
+            }
+        }
+        dispatcher.close(); // Delivers what is still queued
+        out.println("Analytics raised " + analytics.getAlertsRaised() + " alerts and resolved "
+                + analytics.getAlertsResolved() + ".");
+
+        // Decorator Pattern Test
+        out.println("\n=== Decorator Pattern Test ===");
+        Alert alert = new BaseAlert();
+        alert = new LoggingDecorator(alert);
+        alert = new EmailDecorator(alert);
+        alert = new SMSDecorator(alert);
+        alert.send("Some patients' vitals require attention!");
+
+        // Adapter Pattern Test
+        out.println("\n=== Adapter Pattern Test ===");
+        SensorAdapter fitbit = new FitbitAdapter();
+        SensorAdapter arduino = new ArduinoAdapter();
+        out.println("FitbitAdapter reading for HeartRate: " + String.format("%.1f", fitbit.getValue()));
+        out.println("ArduinoAdapter reading for Temperature: " + String.format("%.1f", arduino.getValue()));
+
+        // Metrics recorded by the tests above; also readable over JMX as SmartHealthcareSystem:type=Metrics
+        out.println("\n=== Metrics ===");
+        out.print(Metrics.global().dump());
+        out.flush();
+
+        sc.close();
+    }
+}
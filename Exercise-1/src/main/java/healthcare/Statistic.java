@@ -0,0 +1,4 @@
+package healthcare;
+
+// Which rolling statistic a rule looks at
+public enum Statistic { LATEST, EWMA, MEAN, VARIANCE, STDDEV, MIN, MAX, TREND }
@@ -0,0 +1,127 @@
+package healthcare;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+// Shared subscription registry: observers subscribe to a patient group (e.g. a ward) once, and patients
+// are assigned to groups. As a VitalsSink it appends readings to per-thread, per-group batches and hands
+// each full batch - and every partial one at the end of a pipeline chunk - to the group's subscribers,
+// so fan-out to any number of observers allocates nothing per reading
+// Behind a pipeline with several lanes, an observer can be called from more than one lane thread at a time
+public class SubscriptionRegistry implements VitalsSink {
+    private static final LatencyHistogram FANOUT = Metrics.global().histogram("subscriptions.fanout", 8); // Per batch
+
+    private final int batchSize;
+    private volatile BatchObserver[][] byGroup = new BatchObserver[1][0]; // Copy-on-write subscriber arrays
+    private volatile int[] groupOf = new int[64];                        // Patient id -> group, default 0
+    private final ThreadLocal<VitalsBatch[]> pending;                     // This thread's open batch per group
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder observerErrors = new LongAdder();
+
+    public SubscriptionRegistry(int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be positive");
+        this.batchSize = batchSize;
+        pending = ThreadLocal.withInitial(() -> new VitalsBatch[0]);
+    }
+
+    public synchronized void subscribe(int group, BatchObserver observer) {
+        BatchObserver[][] table = groups(group);
+        BatchObserver[] current = table[group];
+        BatchObserver[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = observer;
+        table[group] = updated;
+        byGroup = table;
+    }
+
+    public synchronized boolean unsubscribe(int group, BatchObserver observer) {
+        BatchObserver[][] table = byGroup;
+        if (group >= table.length) return false;
+        List<BatchObserver> list = new ArrayList<>(Arrays.asList(table[group]));
+        if (!list.remove(observer)) return false;
+        table = table.clone();
+        table[group] = list.toArray(new BatchObserver[0]);
+        byGroup = table;
+        return true;
+    }
+
+    public synchronized void assign(Patient patient, int group) {
+        groups(group);
+        int[] table = groupOf;
+        int id = patient.getId();
+        if (id >= table.length) table = Arrays.copyOf(table, Math.max(id + 1, table.length * 2));
+        table[id] = group;
+        groupOf = table; // Volatile write publishes the assignment
+    }
+
+    public int groupOf(Patient patient) {
+        int[] table = groupOf;
+        int id = patient.getId();
+        return (id < table.length) ? table[id] : 0;
+    }
+
+    public void onBatch(Patient patient, long[] times, double[] heartRates, double[] temperatures, int from, int count) {
+        int group = groupOf(patient);
+        VitalsBatch batch = batchFor(group);
+        for (int i = from; i < from + count; i++) {
+            if (batch.add(patient.getId(), times[i], heartRates[i], temperatures[i])) deliver(batch);
+        }
+    }
+
+    // One reading outside the pipeline; call flush() on the same thread to deliver a partial batch
+    public void publish(Patient patient, long timeMillis, double heartRate, double temperature) {
+        VitalsBatch batch = batchFor(groupOf(patient));
+        if (batch.add(patient.getId(), timeMillis, heartRate, temperature)) deliver(batch);
+    }
+
+    @Override
+    public void endOfChunk() { flush(); }
+
+    // Deliver this thread's partial batches
+    public void flush() {
+        for (VitalsBatch batch : pending.get()) {
+            if (batch != null && batch.size() > 0) deliver(batch);
+        }
+    }
+
+    public long getDelivered() { return delivered.sum(); }
+    public long getObserverErrors() { return observerErrors.sum(); }
+
+    private VitalsBatch batchFor(int group) {
+        VitalsBatch[] batches = pending.get();
+        if (group >= batches.length) {
+            batches = Arrays.copyOf(batches, group + 1);
+            pending.set(batches);
+        }
+        VitalsBatch batch = batches[group];
+        if (batch == null) batches[group] = batch = new VitalsBatch(group, batchSize);
+        return batch;
+    }
+
+    private void deliver(VitalsBatch batch) {
+        long start = FANOUT.startTimer();
+        BatchObserver[][] table = byGroup;
+        if (batch.group() < table.length) {
+            for (BatchObserver o : table[batch.group()]) {
+                try {
+                    o.onBatch(batch);
+                } catch (RuntimeException e) {
+                    observerErrors.increment(); // One failing observer must not starve the others
+                }
+            }
+        }
+        delivered.add(batch.size());
+        batch.clear();
+        FANOUT.recordSince(start);
+    }
+
+    // Subscriber table with room for the group; caller holds the lock and publishes it
+    private BatchObserver[][] groups(int group) {
+        if (group < 0) throw new IllegalArgumentException("Group must not be negative");
+        BatchObserver[][] table = byGroup;
+        if (group < table.length) return table.clone();
+        BatchObserver[][] grown = Arrays.copyOf(table, group + 1);
+        for (int g = table.length; g <= group; g++) grown[g] = new BatchObserver[0];
+        byGroup = grown;
+        return grown.clone();
+    }
+}
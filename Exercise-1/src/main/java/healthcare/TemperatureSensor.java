@@ -0,0 +1,14 @@
+package healthcare;
+
+import java.util.concurrent.*;
+
+public class TemperatureSensor implements Sensor {
+    public double readData() {
+        return 36 + Math.random() * 2;
+    }
+    public int readBatch(double[] out, int offset, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = offset; i < offset + count; i++) out[i] = 36 + random.nextDouble() * 2;
+        return count;
+    }
+}
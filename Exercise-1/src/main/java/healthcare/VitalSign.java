@@ -0,0 +1,4 @@
+package healthcare;
+
+// Which vital sign a rule looks at
+public enum VitalSign { HEART_RATE, TEMPERATURE }
@@ -0,0 +1,74 @@
+package healthcare;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+// Streaming analytics stage of the ingestion pipeline
+// Each reading updates the patient's rolling statistics and re-evaluates every rule against them,
+// never the history; an alert goes through the Alert chain only when a rule enters or leaves breach
+// Statistics for a patient are updated on that patient's pipeline lane only
+public class VitalsAnalytics implements VitalsSink {
+    private static final int MAX_RULES = 64;
+
+    private final List<VitalsRule> rules;
+    private final Alert alert;
+    private final int window;
+    private final double alpha;
+    private final PatientTable<PatientVitalsStats> stats = new PatientTable<>();
+    private final Function<Patient, PatientVitalsStats> newStats; // Built once so lookups do not allocate a lambda
+    private final LongAdder alertsRaised = new LongAdder();
+    private final LongAdder alertsResolved = new LongAdder();
+
+    public VitalsAnalytics(List<VitalsRule> rules, Alert alert, int window, double alpha) {
+        if (rules.size() > MAX_RULES) throw new IllegalArgumentException("At most " + MAX_RULES + " rules");
+        this.rules = new ArrayList<>(rules);
+        this.alert = alert;
+        this.window = window;
+        this.alpha = alpha;
+        this.newStats = p -> new PatientVitalsStats(window, alpha);
+    }
+
+    // Adult resting limits with small hysteresis margins, plus a sudden heart-rate rise
+    public static List<VitalsRule> defaultRules() {
+        return Arrays.asList(
+                VitalsRule.above("Tachycardia", VitalSign.HEART_RATE, Statistic.EWMA, 100, 5),
+                VitalsRule.below("Bradycardia", VitalSign.HEART_RATE, Statistic.EWMA, 50, 5),
+                VitalsRule.above("Fever", VitalSign.TEMPERATURE, Statistic.EWMA, 38.0, 0.2),
+                VitalsRule.below("Hypothermia", VitalSign.TEMPERATURE, Statistic.EWMA, 35.0, 0.2),
+                VitalsRule.above("Rising heart rate", VitalSign.HEART_RATE, Statistic.TREND, 15, 5));
+    }
+
+    public void onBatch(Patient patient, long[] times, double[] heartRates, double[] temperatures, int from, int count) {
+        PatientVitalsStats s = stats.computeIfAbsent(patient, newStats);
+        for (int i = from; i < from + count; i++) accept(patient, s, heartRates[i], temperatures[i]);
+    }
+
+    public void record(Patient patient, double heartRate, double temperature) {
+        accept(patient, stats.computeIfAbsent(patient, newStats), heartRate, temperature);
+    }
+
+    // Live statistics for the patient, or null before its first reading; read them on the patient's lane for exact values
+    public PatientVitalsStats stats(Patient patient) { return stats.get(patient); }
+
+    public long getAlertsRaised() { return alertsRaised.sum(); }
+    public long getAlertsResolved() { return alertsResolved.sum(); }
+
+    private void accept(Patient patient, PatientVitalsStats s, double heartRate, double temperature) {
+        s.heartRate.add(heartRate);
+        s.temperature.add(temperature);
+        long active = s.activeRules;
+        for (int r = 0; r < rules.size(); r++) {
+            long bit = 1L << r;
+            boolean was = (active & bit) != 0;
+            boolean now = rules.get(r).isBreached(s, was);
+            if (now == was) continue;
+            active ^= bit;
+            if (now) alertsRaised.increment(); else alertsResolved.increment();
+            alert.send(patientKey(patient), rules.get(r).describe(patient, s, now));
+        }
+        s.activeRules = active;
+    }
+
+    private static String patientKey(Patient patient) { return "patient-" + patient.getId(); }
+}
@@ -0,0 +1,37 @@
+package healthcare;
+
+// ==================== Shared Subscriptions ====================
+// Reusable view of a run of readings for one patient group; valid only during the onBatch call that receives it
+public final class VitalsBatch {
+    private int group;
+    private int size;
+    private final int[] patientIds;
+    private final long[] times;
+    private final double[] heartRates;
+    private final double[] temperatures;
+
+    VitalsBatch(int group, int capacity) {
+        this.group = group;
+        patientIds = new int[capacity];
+        times = new long[capacity];
+        heartRates = new double[capacity];
+        temperatures = new double[capacity];
+    }
+
+    public int group() { return group; }
+    public int size() { return size; }
+    public int patientId(int i) { return patientIds[i]; }
+    public long time(int i) { return times[i]; }
+    public double heartRate(int i) { return heartRates[i]; }
+    public double temperature(int i) { return temperatures[i]; }
+
+    boolean add(int patientId, long time, double heartRate, double temperature) {
+        patientIds[size] = patientId;
+        times[size] = time;
+        heartRates[size] = heartRate;
+        temperatures[size] = temperature;
+        return ++size == patientIds.length;
+    }
+
+    void clear() { size = 0; }
+}
@@ -0,0 +1,24 @@
+package healthcare;
+
+import java.nio.ByteBuffer;
+
+// Wire format of device streams: frames of [short magic 'VT'][short sample count], then per sample
+// [long time millis][short heart rate x100][short temperature x100], all big-endian
+public final class VitalsFrame {
+    static final short MAGIC = 0x5654;
+    static final int HEADER_BYTES = 4;
+    static final int SAMPLE_BYTES = 12;
+    static final int MAX_SAMPLES = 1024;
+
+    private VitalsFrame() { }
+
+    // Append one frame to the buffer; it must have room for HEADER_BYTES + count * SAMPLE_BYTES
+    static void encode(ByteBuffer out, long[] times, double[] heartRates, double[] temperatures, int from, int count) {
+        out.putShort(MAGIC).putShort((short) count);
+        for (int i = from; i < from + count; i++) {
+            out.putLong(times[i]);
+            out.putShort((short) Math.round(heartRates[i] * 100));
+            out.putShort((short) Math.round(temperatures[i] * 100));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package healthcare;
+
+// ==================== Vitals History ====================
+// Fixed-capacity ring of one patient's readings, stored as three primitive columns
+// Times are ints relative to a base timestamp and vitals are fixed-point hundredths, so a sample costs
+// 8 bytes and the whole buffer is allocated once; appends never allocate
+// Appends must arrive in time order (the ingestion pipeline keeps per-patient order); an older timestamp
+// is recorded at the newest time so range queries can binary-search
+public class VitalsHistory {
+    public static final int BYTES_PER_SAMPLE = 4 + 2 + 2;
+    private static final double SCALE = 100.0; // Heart rate and temperature are kept to 0.01
+
+    // Receives samples of a range query in time order
+    public interface SampleVisitor {
+        void visit(long timeMillis, double heartRate, double temperature);
+    }
+
+    private final int capacity;
+    private final long retentionMillis; // Samples older than the newest minus this are evicted; 0 keeps all that fit
+    private final int[] times;
+    private final short[] heartRates;
+    private final short[] temperatures;
+    private long base;  // Absolute time of relative time 0
+    private int start;  // Physical index of the oldest sample
+    private int size;
+
+    public VitalsHistory(int capacity, long retentionMillis) {
+        if (capacity <= 0) throw new IllegalArgumentException("History capacity must be positive");
+        this.capacity = capacity;
+        this.retentionMillis = retentionMillis;
+        times = new int[capacity];
+        heartRates = new short[capacity];
+        temperatures = new short[capacity];
+    }
+
+    // Heap taken by one history's columns, for sizing a ward up front
+    public static long estimateBytes(int capacity) { return (long) capacity * BYTES_PER_SAMPLE + 3 * 16 + 48; }
+
+    public synchronized void append(long timeMillis, double heartRate, double temperature) {
+        if (size == 0) {
+            base = timeMillis;
+        } else {
+            long newest = base + times[physical(size - 1)];
+            if (timeMillis < newest) timeMillis = newest;
+            if (timeMillis - base > Integer.MAX_VALUE) rebase(timeMillis);
+        }
+        if (size == capacity) {
+            start = (start + 1 == capacity) ? 0 : start + 1; // Overwrite the oldest
+            size--;
+        }
+        int at = physical(size);
+        times[at] = (int) (timeMillis - base);
+        heartRates[at] = quantize(heartRate);
+        temperatures[at] = quantize(temperature);
+        size++;
+        if (retentionMillis > 0) evictBefore(timeMillis - retentionMillis);
+    }
+
+    // Drop samples older than the cutoff; returns how many were dropped
+    public synchronized int evictOlderThan(long cutoffMillis) { return evictBefore(cutoffMillis); }
+
+    // Copy the samples with from <= time <= to, oldest first, into the arrays; returns how many were copied
+    public synchronized int range(long fromMillis, long toMillis, long[] outTimes, double[] outHeartRates, double[] outTemperatures) {
+        int max = Math.min(outTimes.length, Math.min(outHeartRates.length, outTemperatures.length));
+        int n = 0;
+        for (int i = firstAtOrAfter(fromMillis); i < size && n < max; i++) {
+            int p = physical(i);
+            long t = base + times[p];
+            if (t > toMillis) break;
+            outTimes[n] = t;
+            outHeartRates[n] = heartRates[p] / SCALE;
+            outTemperatures[n] = temperatures[p] / SCALE;
+            n++;
+        }
+        return n;
+    }
+
+    // Visit the samples with from <= time <= to, oldest first, without copying them out
+    public synchronized int forEach(long fromMillis, long toMillis, SampleVisitor visitor) {
+        int n = 0;
+        for (int i = firstAtOrAfter(fromMillis); i < size; i++) {
+            int p = physical(i);
+            long t = base + times[p];
+            if (t > toMillis) break;
+            visitor.visit(t, heartRates[p] / SCALE, temperatures[p] / SCALE);
+            n++;
+        }
+        return n;
+    }
+
+    public synchronized int size() { return size; }
+    public int capacity() { return capacity; }
+    public synchronized long oldestTime() { return (size == 0) ? Long.MIN_VALUE : base + times[start]; }
+    public synchronized long newestTime() { return (size == 0) ? Long.MIN_VALUE : base + times[physical(size - 1)]; }
+
+    private int evictBefore(long cutoffMillis) {
+        int dropped = Math.min(firstAtOrAfter(cutoffMillis), size);
+        start = physical(dropped);
+        size -= dropped;
+        return dropped;
+    }
+
+    // Logical index of the first sample at or after the given time (size if none); binary search over the ring
+    private int firstAtOrAfter(long timeMillis) {
+        // Compared in absolute time first: timeMillis - base would overflow for a far-past bound like Long.MIN_VALUE
+        if (size == 0 || timeMillis <= base + times[start]) return 0;
+        long rel = timeMillis - base;
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (times[physical(mid)] < rel) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Move the base up to the oldest sample so the newest time fits in an int again;
+    // if even that is not enough the retained samples are too old to keep and are dropped
+    private void rebase(long timeMillis) {
+        long oldest = base + times[start];
+        if (timeMillis - oldest > Integer.MAX_VALUE) {
+            size = 0;
+            start = 0;
+            base = timeMillis;
+            return;
+        }
+        int shift = (int) (oldest - base);
+        for (int i = 0; i < size; i++) times[physical(i)] -= shift;
+        base = oldest;
+    }
+
+    private int physical(int logical) {
+        int p = start + logical;
+        return (p >= capacity) ? p - capacity : p;
+    }
+
+    private static short quantize(double value) {
+        long v = Math.round(value * SCALE);
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, v));
+    }
+}
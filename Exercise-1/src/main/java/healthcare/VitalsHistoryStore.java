@@ -0,0 +1,44 @@
+package healthcare;
+
+// Per-patient histories for a whole ward, filled as a VitalsSink on the ingestion pipeline
+// Histories are created on a patient's first reading and found by patient id without hashing or boxing
+public class VitalsHistoryStore implements VitalsSink {
+    private final int capacityPerPatient;
+    private final long retentionMillis;
+    private final PatientTable<VitalsHistory> histories = new PatientTable<>();
+
+    public VitalsHistoryStore(int capacityPerPatient, long retentionMillis) {
+        this.capacityPerPatient = capacityPerPatient;
+        this.retentionMillis = retentionMillis;
+    }
+
+    // Heap needed for a ward of the given size once every patient has a history
+    public static long estimateBytes(int patients, int capacityPerPatient) {
+        return patients * VitalsHistory.estimateBytes(capacityPerPatient);
+    }
+
+    public void onBatch(Patient patient, long[] times, double[] heartRates, double[] temperatures, int from, int count) {
+        VitalsHistory h = historyFor(patient);
+        for (int i = from; i < from + count; i++) h.append(times[i], heartRates[i], temperatures[i]);
+    }
+
+    public void record(Patient patient, long timeMillis, double heartRate, double temperature) {
+        historyFor(patient).append(timeMillis, heartRate, temperature);
+    }
+
+    // The patient's history, or null if nothing has been recorded for it
+    public VitalsHistory history(Patient patient) { return histories.get(patient); }
+
+    // Apply retention to every history, e.g. from a periodic housekeeping task; returns samples dropped
+    public long evictExpired(long nowMillis) {
+        if (retentionMillis <= 0) return 0;
+        long[] dropped = { 0 };
+        histories.forEach(h -> dropped[0] += h.evictOlderThan(nowMillis - retentionMillis));
+        return dropped[0];
+    }
+
+    private VitalsHistory historyFor(Patient patient) {
+        VitalsHistory h = histories.get(patient);
+        return (h != null) ? h : histories.computeIfAbsent(patient, p -> new VitalsHistory(capacityPerPatient, retentionMillis));
+    }
+}
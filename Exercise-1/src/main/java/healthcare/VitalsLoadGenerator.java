@@ -0,0 +1,83 @@
+package healthcare;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+
+// Synthetic ward traffic in place of the Math.random() sensors
+// Each producer thread owns a slice of the patients and its own seeded generator, so runs are repeatable
+// and producers share no random-number state; rate 0 means as fast as the pipeline accepts
+public class VitalsLoadGenerator {
+    private static final int PACE_EVERY = 1024;
+
+    private final List<Patient> patients;
+    private final int producers;
+    private final long seed;
+
+    public VitalsLoadGenerator(List<Patient> patients, int producers, long seed) {
+        if (patients.isEmpty() || producers <= 0) throw new IllegalArgumentException("Need patients and at least one producer");
+        this.patients = new ArrayList<>(patients);
+        this.producers = producers;
+        this.seed = seed;
+    }
+
+    // Submit readingsPerProducer readings from every producer thread and wait for them to finish
+    public Result run(VitalsPipeline pipeline, long readingsPerProducer, double readingsPerSecond) throws InterruptedException {
+        LongAdder submitted = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        Thread[] threads = new Thread[producers];
+        long begin = System.nanoTime();
+        for (int t = 0; t < producers; t++) {
+            final int producer = t;
+            threads[t] = new Thread(() -> produce(pipeline, producer, readingsPerProducer,
+                    readingsPerSecond / producers, submitted, rejected), "vitals-producer-" + t);
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+        long nanos = System.nanoTime() - begin;
+        return new Result(submitted.sum(), rejected.sum(), nanos);
+    }
+
+    // Producers left without patients (more producers than patients) submit nothing and count nothing
+    private void produce(VitalsPipeline pipeline, int producer, long count, double rate, LongAdder submitted, LongAdder rejected) {
+        SplittableRandom random = new SplittableRandom(seed + producer);
+        // Producer p owns patients p, p + producers, p + 2 * producers, ...
+        int owned = (patients.size() - producer + producers - 1) / producers;
+        if (owned <= 0) return;
+        double nanosPerReading = (rate > 0) ? 1e9 / rate : 0;
+        long start = System.nanoTime();
+        long failed = 0;
+        for (long i = 0; i < count; i++) {
+            Patient p = patients.get(producer + (int) (i % owned) * producers);
+            double hr = 60 + random.nextDouble() * 40;  // Same ranges as HeartRateSensor
+            double temp = 36 + random.nextDouble() * 2; // and TemperatureSensor
+            if (!pipeline.submit(p, hr, temp)) failed++;
+            if (nanosPerReading > 0 && i % PACE_EVERY == PACE_EVERY - 1) {
+                long ahead = start + (long) ((i + 1) * nanosPerReading) - System.nanoTime();
+                if (ahead > 0) LockSupport.parkNanos(ahead);
+            }
+        }
+        submitted.add(count);
+        rejected.add(failed);
+    }
+
+    public static final class Result {
+        public final long submitted;
+        public final long rejected;
+        public final long nanos;
+
+        Result(long submitted, long rejected, long nanos) {
+            this.submitted = submitted;
+            this.rejected = rejected;
+            this.nanos = nanos;
+        }
+
+        public double readingsPerSecond() { return submitted * 1e9 / nanos; }
+
+        @Override
+        public String toString() {
+            return String.format("%,d readings in %.1f ms (%,.0f/s), %,d rejected",
+                    submitted, nanos / 1e6, readingsPerSecond(), rejected);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package healthcare;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+
+// Decouples sensor threads from observer delivery
+// Readings are routed to a lane by patient id, so each patient's readings stay in order on one delivery thread;
+// a lane drains its ring in chunks, groups the chunk by patient without allocating, and hands the sink one batch per patient
+public class VitalsPipeline implements AutoCloseable {
+    // What submit() does when the patient's lane is full
+    public enum Backpressure { BLOCK, DROP }
+
+    private static final int SPINS_BEFORE_PARK = 64;
+    private static final long PARK_NANOS = 10_000;
+    private static final LongAdder INGESTED = Metrics.global().counter("vitals.ingested"); // Across all pipelines
+
+    private final Lane[] lanes;
+    private final Backpressure backpressure;
+    private final VitalsSink sink;
+    private volatile boolean closed;
+
+    // Backpressure and error counters
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+    private final LongAdder sinkErrors = new LongAdder();
+
+    public VitalsPipeline(int laneCount, int capacityPerLane, int maxBatch, Backpressure backpressure, VitalsSink sink) {
+        if (laneCount <= 0 || capacityPerLane <= 0 || maxBatch <= 0)
+            throw new IllegalArgumentException("Lanes, capacity and batch size must be positive");
+        this.backpressure = backpressure;
+        this.sink = sink;
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) lanes[i] = new Lane(i, capacityPerLane, maxBatch);
+        for (Lane lane : lanes) lane.thread.start();
+    }
+
+    public boolean submit(Patient patient, double heartRate, double temperature) {
+        return submit(patient, System.currentTimeMillis(), heartRate, temperature);
+    }
+
+    // Queue one reading; false if it was dropped (full lane under DROP, or the pipeline is closed)
+    public boolean submit(Patient patient, long timeMillis, double heartRate, double temperature) {
+        if (closed) {
+            dropped.increment();
+            return false;
+        }
+        Lane lane = lanes[patient.getId() % lanes.length];
+        if (lane.ring.offer(patient, timeMillis, heartRate, temperature)) {
+            lane.wake();
+            INGESTED.increment();
+            return true;
+        }
+        if (backpressure == Backpressure.DROP) {
+            dropped.increment();
+            return false;
+        }
+        // Lane full: spin briefly, then park until the lane frees a slot, and record how often and for how long
+        long start = System.nanoTime();
+        try {
+            for (int attempt = 0; ; attempt++) {
+                lane.wake();
+                if (attempt < SPINS_BEFORE_PARK) Thread.onSpinWait();
+                else LockSupport.parkNanos(PARK_NANOS);
+                if (lane.ring.offer(patient, timeMillis, heartRate, temperature)) {
+                    lane.wake();
+                    INGESTED.increment();
+                    return true;
+                }
+                if (closed || Thread.currentThread().isInterrupted()) {
+                    dropped.increment();
+                    return false;
+                }
+            }
+        } finally {
+            blocked.increment();
+            blockedNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    // Wait until every reading accepted so far has been delivered to the sink
+    public void flush() {
+        for (Lane lane : lanes) {
+            long target = lane.ring.accepted();
+            while (lane.delivered < target && lane.thread.isAlive()) {
+                lane.wake();
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+
+    // Deliver what is queued, then stop the lanes
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        for (Lane lane : lanes) {
+            LockSupport.unpark(lane.thread);
+            try {
+                lane.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public long getAccepted() { long n = 0; for (Lane l : lanes) n += l.ring.accepted(); return n; }
+    public long getDelivered() { long n = 0; for (Lane l : lanes) n += l.delivered; return n; }
+    public long getBatches() { long n = 0; for (Lane l : lanes) n += l.batches; return n; }
+    public int getQueueDepth() { int n = 0; for (Lane l : lanes) n += l.ring.size(); return n; }
+    public long getDropped() { return dropped.sum(); }
+    public long getBlockedCount() { return blocked.sum(); }
+    public long getBlockedNanos() { return blockedNanos.sum(); }
+    public long getSinkErrors() { return sinkErrors.sum(); }
+    public int getLaneCount() { return lanes.length; }
+
+    // One ring and one delivery thread; every buffer below is owned by that thread
+    private final class Lane implements Runnable {
+        final VitalsRing ring;
+        final Thread thread;
+        private volatile boolean sleeping;
+        volatile long delivered; // Readings handed to the sink, including those whose sink call failed
+        volatile long batches;
+
+        // Drained chunk, then the same chunk regrouped by patient
+        private final Patient[] patients;
+        private final long[] times;
+        private final double[] heartRates;
+        private final double[] temperatures;
+        private final Patient[] groupedPatients;
+        private final long[] groupedTimes;
+        private final double[] groupedHeartRates;
+        private final double[] groupedTemperatures;
+        private final int[] keys;      // Distinct patients of the chunk, in first-seen order
+        private final int[] starts;    // Where each of them starts in the grouped arrays
+        private int[] counts = new int[64]; // Per-patient counters, indexed by id / lane count
+
+        Lane(int index, int capacity, int maxBatch) {
+            ring = new VitalsRing(capacity);
+            patients = new Patient[maxBatch];
+            times = new long[maxBatch];
+            heartRates = new double[maxBatch];
+            temperatures = new double[maxBatch];
+            groupedPatients = new Patient[maxBatch];
+            groupedTimes = new long[maxBatch];
+            groupedHeartRates = new double[maxBatch];
+            groupedTemperatures = new double[maxBatch];
+            keys = new int[maxBatch];
+            starts = new int[maxBatch];
+            thread = new Thread(this, "vitals-lane-" + index);
+            thread.setDaemon(true);
+        }
+
+        // Producers call this after publishing; together with the check in run() no wake-up is lost
+        void wake() {
+            if (sleeping) LockSupport.unpark(thread);
+        }
+
+        public void run() {
+            while (true) {
+                int n = ring.drain(patients, times, heartRates, temperatures, patients.length);
+                if (n > 0) {
+                    deliver(n);
+                    continue;
+                }
+                if (closed && ring.isEmpty()) return;
+                sleeping = true;
+                if (ring.isEmpty() && !closed) LockSupport.parkNanos(this, 1_000_000);
+                sleeping = false;
+            }
+        }
+
+        // Counting sort of the chunk by patient, then one sink call per patient
+        private void deliver(int n) {
+            int distinct = 0;
+            for (int i = 0; i < n; i++) {
+                int k = key(patients[i]);
+                if (counts[k]++ == 0) keys[distinct++] = k;
+            }
+            int pos = 0;
+            for (int d = 0; d < distinct; d++) {
+                int k = keys[d];
+                int c = counts[k];
+                counts[k] = pos;
+                starts[d] = pos;
+                pos += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int at = counts[key(patients[i])]++;
+                groupedPatients[at] = patients[i];
+                groupedTimes[at] = times[i];
+                groupedHeartRates[at] = heartRates[i];
+                groupedTemperatures[at] = temperatures[i];
+                patients[i] = null;
+            }
+            for (int d = 0; d < distinct; d++) {
+                int k = keys[d];
+                int start = starts[d];
+                try {
+                    sink.onBatch(groupedPatients[start], groupedTimes, groupedHeartRates, groupedTemperatures,
+                            start, counts[k] - start);
+                } catch (RuntimeException e) {
+                    sinkErrors.increment(); // One failing observer must not stop the lane
+                }
+                counts[k] = 0;
+            }
+            try {
+                sink.endOfChunk();
+            } catch (RuntimeException e) {
+                sinkErrors.increment();
+            }
+            Arrays.fill(groupedPatients, 0, n, null);
+            batches = batches + distinct;
+            delivered = delivered + n;
+        }
+
+        private int key(Patient p) {
+            int k = p.getId() / lanes.length;
+            if (k >= counts.length) counts = Arrays.copyOf(counts, Math.max(k + 1, counts.length * 2));
+            return k;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package healthcare;
+
+// ==================== Vitals Recording ====================
+// Compact archive of vitals readings in a memory-mapped file
+// Layout: a 32-byte header [int magic 'VREC'][short version][short unused][long base time][long count][long end],
+// then one record per reading: [varint patient id][zigzag varint time delta from the previous record]
+// [short heart rate x100][short temperature x100] - about 7 bytes where a device frame sample takes 12
+public final class VitalsRecording {
+    static final int MAGIC = 0x56524543;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int MAX_RECORD_BYTES = 5 + 10 + 2 + 2;
+    static final long WINDOW_BYTES = 64L << 20; // Files are mapped in windows of this size
+    static final double SCALE = 100.0;
+
+    private VitalsRecording() { }
+
+    static short quantize(double value) {
+        long v = Math.round(value * SCALE);
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, v));
+    }
+}
@@ -0,0 +1,108 @@
+package healthcare;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+// Reads a recording one reading at a time, cursor style: next() advances and the getters describe the current reading
+public class VitalsRecordingReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final long baseTime;
+    private final long count;
+    private final long end;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long read;
+
+    // Current reading
+    private int patientId;
+    private long timeMillis;
+    private double heartRate;
+    private double temperature;
+
+    public VitalsRecordingReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), VitalsRecording.HEADER_BYTES));
+        if (isZeroed(header)) {
+            // The writer was never closed, so the header is still blank: nothing can be trusted, read no samples
+            baseTime = 0;
+            count = 0;
+            end = VitalsRecording.HEADER_BYTES;
+            return;
+        }
+        if (header.remaining() < VitalsRecording.HEADER_BYTES) {
+            channel.close();
+            throw new IOException("Not a vitals recording: " + file);
+        }
+        int magic = header.getInt();
+        short version = header.getShort();
+        header.getShort();
+        baseTime = header.getLong();
+        count = header.getLong();
+        end = header.getLong();
+        if (magic != VitalsRecording.MAGIC || version != VitalsRecording.VERSION || end > channel.size()) {
+            channel.close();
+            throw new IOException("Not a vitals recording (or an unsupported version): " + file);
+        }
+        rewind();
+    }
+
+    private static boolean isZeroed(ByteBuffer header) {
+        for (int i = header.position(); i < header.limit(); i++) {
+            if (header.get(i) != 0) return false;
+        }
+        return true;
+    }
+
+    // Back to the first reading
+    public void rewind() throws IOException {
+        read = 0;
+        timeMillis = baseTime;
+        if (count > 0) map(VitalsRecording.HEADER_BYTES);
+    }
+
+    public boolean next() throws IOException {
+        if (read == count) return false;
+        if (window.remaining() < VitalsRecording.MAX_RECORD_BYTES && windowStart + window.limit() < end) {
+            map(windowStart + window.position());
+        }
+        patientId = (int) getVarLong(window);
+        long zigzag = getVarLong(window);
+        timeMillis += (zigzag >>> 1) ^ -(zigzag & 1);
+        heartRate = window.getShort() / VitalsRecording.SCALE;
+        temperature = window.getShort() / VitalsRecording.SCALE;
+        read++;
+        return true;
+    }
+
+    public int getPatientId() { return patientId; }
+    public long getTimeMillis() { return timeMillis; }
+    public double getHeartRate() { return heartRate; }
+    public double getTemperature() { return temperature; }
+
+    public long getCount() { return count; }
+    public long getBaseTime() { return baseTime; }
+    public long getBytes() { return end; }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(VitalsRecording.WINDOW_BYTES, end - position));
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return v;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package healthcare;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+// Appends readings to a recording; also a VitalsSink, so it can archive what the ingestion pipeline delivers
+// The header is completed on close; a recording that was never closed reads as empty
+public class VitalsRecordingWriter implements VitalsSink, AutoCloseable {
+    private final FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long baseTime;
+    private long lastTime;
+    private long count;
+    private boolean closed;
+
+    public VitalsRecordingWriter(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        windowStart = VitalsRecording.HEADER_BYTES;
+        window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, VitalsRecording.WINDOW_BYTES);
+    }
+
+    public synchronized void append(int patientId, long timeMillis, double heartRate, double temperature) throws IOException {
+        if (closed) throw new IllegalStateException("Recording is closed");
+        if (window.remaining() < VitalsRecording.MAX_RECORD_BYTES) {
+            windowStart += window.position();
+            window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, VitalsRecording.WINDOW_BYTES);
+        }
+        if (count == 0) baseTime = lastTime = timeMillis;
+        long delta = timeMillis - lastTime;
+        lastTime = timeMillis;
+        putVarLong(window, patientId & 0xFFFFFFFFL);
+        putVarLong(window, (delta << 1) ^ (delta >> 63));
+        window.putShort(VitalsRecording.quantize(heartRate));
+        window.putShort(VitalsRecording.quantize(temperature));
+        count++;
+    }
+
+    public void onBatch(Patient patient, long[] times, double[] heartRates, double[] temperatures, int from, int count) {
+        try {
+            synchronized (this) {
+                for (int i = from; i < from + count; i++) append(patient.getId(), times[i], heartRates[i], temperatures[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized long getCount() { return count; }
+
+    // Bytes written so far, header included
+    public synchronized long getBytes() { return windowStart + window.position(); }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        long end = getBytes();
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, VitalsRecording.HEADER_BYTES);
+        header.putInt(VitalsRecording.MAGIC).putShort(VitalsRecording.VERSION).putShort((short) 0)
+                .putLong(baseTime).putLong(count).putLong(end);
+        header.force();
+        window.force();
+        window = null;
+        try {
+            channel.truncate(end); // Drop the unused tail of the last window
+        } catch (IOException ignored) {
+            // Platforms that refuse to truncate a mapped file keep the padding; readers stop at the header's end
+        }
+        channel.close();
+    }
+
+    private static void putVarLong(ByteBuffer out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.put((byte) v);
+    }
+}
@@ -0,0 +1,78 @@
+package healthcare;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.*;
+
+// Feeds a recording back in at its recorded pace, a multiple of it, or as fast as possible
+// Recorded patient ids are resolved through a lookup (e.g. the controller's registry); readings of unknown patients are skipped
+public class VitalsReplay {
+    // Where replayed readings go; VitalsPipeline::submit fits, as does setting a patient's vitals directly
+    public interface Target {
+        boolean accept(Patient patient, long timeMillis, double heartRate, double temperature);
+    }
+
+    // Sets the patient's vitals and notifies its observers on the replaying thread
+    public static final Target DIRECT = (patient, time, hr, temp) -> {
+        patient.setVitals(hr, temp);
+        patient.notifyObservers();
+        return true;
+    };
+
+    public static final double MAX_SPEED = 0;
+
+    private final Path file;
+    private final IntFunction<Patient> patients;
+
+    public VitalsReplay(Path file, IntFunction<Patient> patients) {
+        this.file = file;
+        this.patients = patients;
+    }
+
+    // Replays patients through the IoTController's registry by their recorded ids
+    public VitalsReplay(Path file, IoTController controller) { this(file, controller::findPatient); }
+
+    // Replay into the target; speed 1 is real time, 2 twice as fast, MAX_SPEED without pauses
+    // Readings keep their recorded timestamps, so repeated runs deliver identical data
+    public Result run(Target target, double speed) throws IOException {
+        long delivered = 0, rejected = 0, unknown = 0;
+        long begin = System.nanoTime();
+        try (VitalsRecordingReader reader = new VitalsRecordingReader(file)) {
+            long baseTime = reader.getBaseTime();
+            while (reader.next()) {
+                if (speed > 0) {
+                    long ahead = begin + (long) ((reader.getTimeMillis() - baseTime) * 1e6 / speed) - System.nanoTime();
+                    if (ahead > 0) LockSupport.parkNanos(ahead);
+                }
+                Patient p = patients.apply(reader.getPatientId());
+                if (p == null) unknown++;
+                else if (target.accept(p, reader.getTimeMillis(), reader.getHeartRate(), reader.getTemperature())) delivered++;
+                else rejected++;
+            }
+        }
+        return new Result(delivered, rejected, unknown, System.nanoTime() - begin);
+    }
+
+    public static final class Result {
+        public final long delivered;
+        public final long rejected;
+        public final long unknown;
+        public final long nanos;
+
+        Result(long delivered, long rejected, long unknown, long nanos) {
+            this.delivered = delivered;
+            this.rejected = rejected;
+            this.unknown = unknown;
+            this.nanos = nanos;
+        }
+
+        public double readingsPerSecond() { return delivered * 1e9 / nanos; }
+
+        @Override
+        public String toString() {
+            return String.format("%,d readings replayed in %.1f ms (%,.0f/s), %,d rejected, %,d for unknown patients",
+                    delivered, nanos / 1e6, readingsPerSecond(), rejected, unknown);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package healthcare;
+
+import java.util.concurrent.atomic.*;
+
+// Bounded lock-free queue of readings for many producer threads and a single consumer
+// Slots are parallel primitive arrays; each slot's sequence number says whether it is free or filled
+// for the current lap, so producers only contend on one CAS of the tail counter
+public class VitalsRing {
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final Patient[] patients;
+    private final long[] times;
+    private final double[] heartRates;
+    private final double[] temperatures;
+    private final AtomicLong tail = new AtomicLong(); // Next slot to claim
+    private volatile long head;                     // Next slot to drain, written by the consumer only
+
+    VitalsRing(int requestedCapacity) {
+        capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        mask = capacity - 1;
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) sequences.set(i, i);
+        patients = new Patient[capacity];
+        times = new long[capacity];
+        heartRates = new double[capacity];
+        temperatures = new double[capacity];
+    }
+
+    // False if the ring is full
+    boolean offer(Patient patient, long time, double heartRate, double temperature) {
+        while (true) {
+            long t = tail.get();
+            int i = (int) t & mask;
+            long seq = sequences.get(i);
+            if (seq == t) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    patients[i] = patient;
+                    times[i] = time;
+                    heartRates[i] = heartRate;
+                    temperatures[i] = temperature;
+                    sequences.set(i, t + 1); // Publish
+                    return true;
+                }
+            } else if (seq < t) {
+                return false; // The consumer has not freed this slot from the previous lap
+            }
+            // Otherwise another producer claimed the slot first; retry with the new tail
+        }
+    }
+
+    // Copy up to max readings into the given arrays and free their slots; consumer thread only
+    int drain(Patient[] p, long[] t, double[] hr, double[] temp, int max) {
+        long h = head;
+        int n = 0;
+        while (n < max) {
+            int i = (int) h & mask;
+            if (sequences.get(i) != h + 1) break;
+            p[n] = patients[i];
+            t[n] = times[i];
+            hr[n] = heartRates[i];
+            temp[n] = temperatures[i];
+            patients[i] = null;
+            sequences.lazySet(i, h + capacity); // Free for the next lap
+            h++;
+            n++;
+        }
+        head = h;
+        return n;
+    }
+
+    boolean isEmpty() {
+        long h = head;
+        return sequences.get((int) h & mask) != h + 1;
+    }
+
+    long accepted() { return tail.get(); }
+    long drained() { return head; }
+    int size() { return (int) Math.max(0, Math.min(capacity, tail.get() - head)); }
+    int capacity() { return capacity; }
+}
@@ -0,0 +1,45 @@
+package healthcare;
+
+// A condition on a patient's rolling statistics; it enters breach above (or below) its level and only
+// leaves once the value is back past the level by the hysteresis margin, so a value hovering at the
+// threshold does not flap. Trend rules are the same thing applied to Statistic.TREND
+public class VitalsRule {
+    private final String name;
+    private final VitalSign sign;
+    private final Statistic statistic;
+    private final boolean above;
+    private final double level;
+    private final double hysteresis;
+
+    public VitalsRule(String name, VitalSign sign, Statistic statistic, boolean above, double level, double hysteresis) {
+        if (hysteresis < 0) throw new IllegalArgumentException("Hysteresis must not be negative");
+        this.name = name;
+        this.sign = sign;
+        this.statistic = statistic;
+        this.above = above;
+        this.level = level;
+        this.hysteresis = hysteresis;
+    }
+
+    public static VitalsRule above(String name, VitalSign sign, Statistic statistic, double level, double hysteresis) {
+        return new VitalsRule(name, sign, statistic, true, level, hysteresis);
+    }
+
+    public static VitalsRule below(String name, VitalSign sign, Statistic statistic, double level, double hysteresis) {
+        return new VitalsRule(name, sign, statistic, false, level, hysteresis);
+    }
+
+    public String getName() { return name; }
+
+    // Whether the rule is breached now, given whether it was breached before this reading
+    boolean isBreached(PatientVitalsStats stats, boolean wasBreached) {
+        double v = stats.value(sign, statistic);
+        double edge = wasBreached ? (above ? level - hysteresis : level + hysteresis) : level;
+        return above ? v > edge : v < edge;
+    }
+
+    String describe(Patient patient, PatientVitalsStats stats, boolean breached) {
+        return String.format("%s %s for %s: %s %s %.2f (%s %.2f)", breached ? "ALERT" : "RESOLVED", name,
+                patient.getName(), sign, statistic, stats.value(sign, statistic), above ? "limit above" : "limit below", level);
+    }
+}
@@ -0,0 +1,25 @@
+package healthcare;
+
+// ==================== Vitals Ingestion ====================
+// Receives the readings of one patient in arrival order, one batch at a time, on a pipeline delivery thread
+public interface VitalsSink {
+    void onBatch(Patient patient, long[] times, double[] heartRates, double[] temperatures, int from, int count);
+
+    // Called after the batches of one drained pipeline chunk, e.g. to flush buffered output
+    default void endOfChunk() { }
+
+    // This sink, then the next one, for every batch
+    default VitalsSink andThen(VitalsSink next) {
+        VitalsSink first = this;
+        return new VitalsSink() {
+            public void onBatch(Patient patient, long[] times, double[] heartRates, double[] temperatures, int from, int count) {
+                first.onBatch(patient, times, heartRates, temperatures, from, count);
+                next.onBatch(patient, times, heartRates, temperatures, from, count);
+            }
+            public void endOfChunk() {
+                first.endOfChunk();
+                next.endOfChunk();
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package healthcare;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlertDispatcherTest {
+    // Collects every delivered message; optionally holds each batch until released
+    static final class RecordingChannel implements AlertChannel {
+        final String name;
+        final CountDownLatch release;
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingChannel(String name, CountDownLatch release) {
+            this.name = name;
+            this.release = release;
+        }
+
+        public String getName() { return name; }
+
+        public void deliver(List<String> messages) throws InterruptedException {
+            if (release != null) release.await();
+            received.addAll(messages);
+        }
+    }
+
+    @Test
+    void slowChannelDoesNotBlockSendOrOtherChannels() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingChannel slow = new RecordingChannel("slow", release);
+        RecordingChannel fast = new RecordingChannel("fast", null);
+        int alerts = 1_000;
+        List<String> sent = new ArrayList<>();
+        try (AlertDispatcher dispatcher = new AlertDispatcher(List.of(slow, fast), alerts, 64, 60_000, 1)) {
+            for (int i = 0; i < alerts; i++) {
+                String message = "alert " + i;
+                dispatcher.send("patient " + i, message); // One alert per key, so none is rate limited
+                sent.add(message);
+            }
+            // Every send returned while the slow channel is still stuck on its first batch
+            assertTrue(slow.received.isEmpty());
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (fast.received.size() < alerts && System.nanoTime() < deadline) Thread.sleep(5);
+            assertEquals(sent, fast.received, "fast channel waited for the slow one");
+            assertTrue(slow.received.isEmpty());
+
+            release.countDown();
+            dispatcher.flush();
+            assertEquals(0, dispatcher.getDropped());
+            assertEquals(0, dispatcher.getSuppressed());
+        }
+        assertEquals(sent, slow.received);
+        assertEquals(sent, fast.received);
+    }
+}
@@ -0,0 +1,77 @@
+package healthcare;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonitoringEngineTest {
+    // Counts checks and how many run at once; the first check waits until released
+    static final class BlockingStrategy implements MonitoringStrategy {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final AtomicInteger checks = new AtomicInteger();
+
+        public void monitor(String patientName) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (checks.incrementAndGet() == 1) {
+                    entered.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        public long pollIntervalMillis() { return 60_000; }
+    }
+
+    @Test
+    void recheckDuringACheckKeepsOneChain() throws Exception {
+        BlockingStrategy strategy = new BlockingStrategy();
+        Patient patient = new Patient("Test Patient");
+        patient.setStrategy(strategy);
+        try (MonitoringEngine engine = new MonitoringEngine(4)) {
+            engine.watch(patient);
+            engine.recheckNow(patient);
+            assertTrue(strategy.entered.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 3; i++) engine.recheckNow(patient);
+            strategy.release.countDown();
+
+            // The running check is followed by exactly one immediate recheck, then the next is a minute away
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (strategy.checks.get() < 2 && System.nanoTime() < deadline) Thread.sleep(10);
+            Thread.sleep(200);
+            assertEquals(2, strategy.checks.get());
+            assertEquals(1, strategy.maxInFlight.get());
+            assertEquals(2, engine.getChecks());
+        }
+    }
+
+    @Test
+    void recheckReplacesThePendingCheck() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+        Patient patient = new Patient("Test Patient");
+        patient.setStrategy(new MonitoringStrategy() {
+            public void monitor(String patientName) { checks.incrementAndGet(); }
+            public long pollIntervalMillis() { return 60_000; }
+        });
+        try (MonitoringEngine engine = new MonitoringEngine(2)) {
+            engine.watch(patient);
+            engine.recheckNow(patient);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (checks.get() < 1 && System.nanoTime() < deadline) Thread.sleep(10);
+            Thread.sleep(200);
+            assertEquals(1, checks.get());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package healthcare;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NioSensorHubTest {
+    private static void await(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for " + what);
+            Thread.sleep(2);
+        }
+    }
+
+    private static byte[] frame(long time, double heartRate, double temperature, int samples) {
+        long[] times = new long[samples];
+        double[] hr = new double[samples];
+        double[] temp = new double[samples];
+        for (int i = 0; i < samples; i++) {
+            times[i] = time + i;
+            hr[i] = heartRate;
+            temp[i] = temperature;
+        }
+        ByteBuffer out = ByteBuffer.allocate(VitalsFrame.HEADER_BYTES + samples * VitalsFrame.SAMPLE_BYTES);
+        VitalsFrame.encode(out, times, hr, temp, 0, samples);
+        return out.array();
+    }
+
+    @Test
+    void streamsFramesFromSimulatedDevices() throws Exception {
+        ConcurrentHashMap<Patient, LongAdder> received = new ConcurrentHashMap<>();
+        List<Double> partialHeartRates = Collections.synchronizedList(new ArrayList<>());
+        List<Patient> patients = List.of(new Patient("Ann"), new Patient("Bob"), new Patient("Cy"));
+        VitalsSink sink = (patient, times, heartRates, temperatures, from, count) -> {
+            received.computeIfAbsent(patient, p -> new LongAdder()).add(count);
+            if (patient == patients.get(1)) {
+                for (int i = from; i < from + count; i++) partialHeartRates.add(heartRates[i]);
+            }
+        };
+        try (VitalsPipeline pipeline = new VitalsPipeline(2, 4096, 256, VitalsPipeline.Backpressure.BLOCK, sink);
+             NioSensorHub hub = new NioSensorHub(pipeline)) {
+            SimulatedDeviceWard ward = new SimulatedDeviceWard(3); // Closed below to end every stream
+            for (Patient p : patients) ward.connect(hub, p);
+            await(() -> hub.getConnectedDevices() == 3, "devices to connect");
+
+            long sent = ward.stream(20, 8);
+            assertEquals(20 * 8 * 3, sent);
+            await(() -> hub.getReadings() == sent, "streamed readings");
+            assertEquals(sent / 8, hub.getFrames());
+
+            // A frame split across two writes is held until its second half arrives
+            byte[] split = frame(1_000, 72.5, 36.6, 2);
+            ward.sendRaw(1, Arrays.copyOfRange(split, 0, 10));
+            Thread.sleep(50);
+            assertEquals(sent / 8, hub.getFrames());
+            ward.sendRaw(1, Arrays.copyOfRange(split, 10, split.length));
+            await(() -> hub.getFrames() == sent / 8 + 1, "the split frame");
+            assertEquals(sent + 2, hub.getReadings());
+
+            // A bad magic number disconnects only that device
+            ward.sendRaw(2, new byte[] { 0, 0, 0, 1, 0, 0, 0, 0 });
+            await(() -> hub.getProtocolErrors() == 1, "the protocol error");
+            await(() -> hub.getConnectedDevices() == 2, "the bad device to be dropped");
+            ward.sendRaw(0, frame(2_000, 80, 37, 3));
+            await(() -> hub.getReadings() == sent + 5, "readings after the error");
+
+            ward.close();
+            await(() -> hub.getConnectedDevices() == 0, "end of stream");
+            assertEquals(1, hub.getProtocolErrors());
+
+            pipeline.flush();
+            assertEquals(sent / 3 + 3, received.get(patients.get(0)).sum());
+            assertEquals(sent / 3 + 2, received.get(patients.get(1)).sum());
+            assertEquals(sent / 3, received.get(patients.get(2)).sum());
+            assertEquals(List.of(72.5, 72.5), partialHeartRates.subList(partialHeartRates.size() - 2, partialHeartRates.size()));
+        }
+    }
+
+    // Devices that close before the selector registers them must not stop the hub
+    @Test
+    void devicesClosedBeforeRegistrationAreSkipped() throws Exception {
+        LongAdder received = new LongAdder();
+        VitalsSink sink = (patient, times, heartRates, temperatures, from, count) -> received.add(count);
+        try (VitalsPipeline pipeline = new VitalsPipeline(1, 4096, 256, VitalsPipeline.Backpressure.BLOCK, sink);
+             NioSensorHub hub = new NioSensorHub(pipeline)) {
+            Patient patient = new Patient("Dee");
+            for (int i = 0; i < 50; i++) {
+                Pipe pipe = Pipe.open();
+                hub.attach(pipe.source(), patient);
+                pipe.source().close();
+                pipe.sink().close();
+            }
+            Pipe live = Pipe.open();
+            hub.attach(live.source(), patient);
+            byte[] bytes = frame(0, 70, 36.5, 4);
+            ByteBuffer b = ByteBuffer.wrap(bytes);
+            while (b.hasRemaining()) live.sink().write(b);
+            await(() -> hub.getReadings() == 4, "readings from the open device");
+            pipeline.flush();
+            assertEquals(4, received.sum());
+            assertEquals(0, hub.getProtocolErrors());
+            live.sink().close();
+        }
+    }
+}
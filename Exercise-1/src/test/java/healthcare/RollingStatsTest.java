@@ -0,0 +1,122 @@
+package healthcare;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingStatsTest {
+    private static final double ALPHA = 0.2;
+
+    // EWMA from scratch as a weighted sum: the first reading seeds it, reading i weighs a(1-a)^(n-1-i)
+    private static double ewma(List<Double> all, double a) {
+        int n = all.size();
+        double e = Math.pow(1 - a, n - 1) * all.get(0);
+        for (int i = 1; i < n; i++) e += a * Math.pow(1 - a, n - 1 - i) * all.get(i);
+        return e;
+    }
+
+    // Compare every statistic against a two-pass computation over the last `window` readings, after each reading
+    private static void checkAgainstBruteForce(int window, double[] readings) {
+        RollingStats stats = new RollingStats(window, ALPHA);
+        List<Double> all = new ArrayList<>();
+        for (double x : readings) {
+            stats.add(x);
+            all.add(x);
+            List<Double> w = all.subList(Math.max(0, all.size() - window), all.size());
+            double mean = w.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+            double ss = 0;
+            for (double v : w) ss += (v - mean) * (v - mean);
+            double variance = (w.size() < 2) ? 0 : ss / (w.size() - 1);
+            String at = "window " + window + ", reading " + all.size();
+
+            assertEquals(all.size(), stats.count(), at);
+            assertEquals(x, stats.latest(), at);
+            assertEquals(ewma(all, ALPHA), stats.ewma(), 1e-9, at);
+            assertEquals(ewma(all, ALPHA * 4) - ewma(all, ALPHA / 4), stats.trend(), 1e-9, at);
+            assertEquals(mean, stats.mean(), 1e-9, at);
+            assertEquals(variance, stats.variance(), 1e-6, at);
+            assertEquals(Math.sqrt(variance), stats.stddev(), 1e-6, at);
+            assertEquals(Collections.min(w), stats.min(), at);
+            assertEquals(Collections.max(w), stats.max(), at);
+        }
+    }
+
+    @Test
+    void matchesBruteForceOnRandomReadings() {
+        SplittableRandom random = new SplittableRandom(11);
+        double[] readings = new double[500];
+        for (int i = 0; i < readings.length; i++) readings[i] = 60 + random.nextDouble() * 40;
+        for (int window : new int[] { 1, 2, 5, 32 }) checkAgainstBruteForce(window, readings);
+    }
+
+    // Rising and falling runs, plateaus and repeats: the cases where the min and max queues grow,
+    // empty out or have their head expire
+    @Test
+    void matchesBruteForceOnMonotonicRunsAndRepeats() {
+        double[] readings = new double[300];
+        for (int i = 0; i < readings.length; i++) {
+            int phase = i / 25;
+            int step = i % 25;
+            switch (phase % 4) {
+                case 0: readings[i] = 70 + step; break;     // Rising
+                case 1: readings[i] = 95 - step; break;     // Falling
+                case 2: readings[i] = 80; break;            // Flat
+                default: readings[i] = (step % 2 == 0) ? 60 : 100; break; // Alternating
+            }
+        }
+        for (int window : new int[] { 1, 3, 10, 25, 40 }) checkAgainstBruteForce(window, readings);
+    }
+
+    // A reading far outside the rest must leave the min, max and variance once it slides out of the window
+    @Test
+    void outlierIsEvicted() {
+        RollingStats stats = new RollingStats(4, ALPHA);
+        stats.add(200);
+        for (int i = 0; i < 3; i++) stats.add(70);
+        assertEquals(200, stats.max());
+        assertTrue(stats.variance() > 0);
+        stats.add(70);
+        assertEquals(70, stats.max());
+        assertEquals(70, stats.min());
+        assertEquals(70, stats.mean(), 1e-9);
+        assertEquals(0, stats.variance(), 1e-9);
+        assertEquals(0, stats.stddev(), 1e-6);
+    }
+
+    @Test
+    void emptyAndSingleReading() {
+        RollingStats stats = new RollingStats(8, ALPHA);
+        assertTrue(Double.isNaN(stats.min()));
+        assertTrue(Double.isNaN(stats.max()));
+        assertEquals(0, stats.variance());
+        stats.add(37.5);
+        assertEquals(37.5, stats.ewma());
+        assertEquals(0, stats.trend());
+        assertEquals(0, stats.variance());
+        assertEquals(0, stats.stddev());
+        assertThrows(IllegalArgumentException.class, () -> new RollingStats(0, ALPHA));
+        assertThrows(IllegalArgumentException.class, () -> new RollingStats(8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RollingStats(8, 1.5));
+    }
+
+    // Every Statistic a rule can name reads the matching RollingStats value
+    @Test
+    void everyStatisticIsWired() {
+        PatientVitalsStats stats = new PatientVitalsStats(4, ALPHA);
+        for (double hr : new double[] { 60, 90, 75, 100, 65 }) stats.heartRate.add(hr);
+        RollingStats hr = stats.of(VitalSign.HEART_RATE);
+        Map<Statistic, Double> expected = new EnumMap<>(Statistic.class);
+        expected.put(Statistic.LATEST, hr.latest());
+        expected.put(Statistic.EWMA, hr.ewma());
+        expected.put(Statistic.MEAN, hr.mean());
+        expected.put(Statistic.VARIANCE, hr.variance());
+        expected.put(Statistic.STDDEV, hr.stddev());
+        expected.put(Statistic.MIN, hr.min());
+        expected.put(Statistic.MAX, hr.max());
+        expected.put(Statistic.TREND, hr.trend());
+        assertEquals(EnumSet.allOf(Statistic.class), expected.keySet());
+        for (Statistic s : Statistic.values()) assertEquals(expected.get(s), stats.value(VitalSign.HEART_RATE, s), s.name());
+    }
+}
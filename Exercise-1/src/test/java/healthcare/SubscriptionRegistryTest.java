@@ -0,0 +1,205 @@
+package healthcare;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriptionRegistryTest {
+    // Keeps what it was handed, since a batch is only valid during the call
+    private static final class Recorder implements BatchObserver {
+        final List<Integer> sizes = new ArrayList<>();
+        final List<Long> times = new ArrayList<>();
+
+        @Override
+        public void onBatch(VitalsBatch batch) {
+            sizes.add(batch.size());
+            for (int i = 0; i < batch.size(); i++) times.add(batch.time(i));
+        }
+    }
+
+    private static void publish(SubscriptionRegistry registry, Patient patient, long from, int count) {
+        for (long t = from; t < from + count; t++) registry.publish(patient, t, 70, 37);
+    }
+
+    // Full batches go out as they fill; the rest waits for flush
+    @Test
+    void deliversFullBatchesThenTheRestOnFlush() {
+        SubscriptionRegistry registry = new SubscriptionRegistry(4);
+        Patient patient = new Patient("Ann");
+        registry.assign(patient, 1);
+        Recorder ward = new Recorder();
+        registry.subscribe(1, ward);
+
+        publish(registry, patient, 0, 10);
+        assertEquals(List.of(4, 4), ward.sizes);
+        assertEquals(8, registry.getDelivered());
+        registry.flush();
+        assertEquals(List.of(4, 4, 2), ward.sizes);
+        assertEquals(10, registry.getDelivered());
+        registry.flush(); // Nothing pending
+        assertEquals(3, ward.sizes.size());
+        List<Long> expected = new ArrayList<>();
+        for (long t = 0; t < 10; t++) expected.add(t);
+        assertEquals(expected, ward.times);
+    }
+
+    // As a pipeline sink: the slice [from, from + count) of each chunk, with the partial batch sent at the chunk's end
+    @Test
+    void sinkBatchesAcrossChunks() {
+        SubscriptionRegistry registry = new SubscriptionRegistry(3);
+        Patient patient = new Patient("Bob");
+        Recorder all = new Recorder();
+        registry.subscribe(0, all);
+        long[] times = { 0, 1, 2, 3, 4, 5 };
+        double[] vitals = new double[6];
+        registry.onBatch(patient, times, vitals, vitals, 1, 4);
+        assertEquals(List.of(3), all.sizes);
+        registry.endOfChunk();
+        assertEquals(List.of(3, 1), all.sizes);
+        assertEquals(List.of(1L, 2L, 3L, 4L), all.times);
+    }
+
+    @Test
+    void groupsAreSeparate() {
+        SubscriptionRegistry registry = new SubscriptionRegistry(2);
+        Patient inWard = new Patient("Cy");
+        Patient elsewhere = new Patient("Dee");
+        registry.assign(inWard, 3);
+        Recorder ward = new Recorder();
+        Recorder rest = new Recorder();
+        registry.subscribe(3, ward);
+        registry.subscribe(0, rest);
+        publish(registry, inWard, 0, 2);
+        publish(registry, elsewhere, 100, 2);
+        assertEquals(List.of(0L, 1L), ward.times);
+        assertEquals(List.of(100L, 101L), rest.times);
+        assertEquals(3, registry.groupOf(inWard));
+        assertEquals(0, registry.groupOf(elsewhere));
+        // Readings for a group nobody listens to are still counted as delivered
+        registry.assign(elsewhere, 7);
+        publish(registry, elsewhere, 200, 2);
+        assertEquals(6, registry.getDelivered());
+    }
+
+    // Delivery works on the subscriber array as it was when the batch went out: a subscriber added
+    // during delivery starts with the next batch, and one removed still gets the current batch
+    @Test
+    void subscribeAndUnsubscribeDuringDelivery() {
+        SubscriptionRegistry registry = new SubscriptionRegistry(1);
+        Patient patient = new Patient("Eve");
+        Recorder late = new Recorder();
+        Recorder removed = new Recorder();
+        List<Integer> selfCalls = new ArrayList<>();
+        BatchObserver adder = new BatchObserver() {
+            boolean done;
+
+            @Override
+            public void onBatch(VitalsBatch batch) {
+                if (done) return;
+                done = true;
+                registry.subscribe(0, late);
+                assertTrue(registry.unsubscribe(0, removed));
+            }
+        };
+        BatchObserver once = new BatchObserver() {
+            @Override
+            public void onBatch(VitalsBatch batch) {
+                selfCalls.add(batch.size());
+                assertTrue(registry.unsubscribe(0, this));
+            }
+        };
+        registry.subscribe(0, adder);
+        registry.subscribe(0, once);
+        registry.subscribe(0, removed);
+
+        publish(registry, patient, 0, 3);
+        assertEquals(List.of(1L, 2L), late.times);
+        assertEquals(List.of(0L), removed.times);
+        assertEquals(List.of(1), selfCalls);
+        assertEquals(0, registry.getObserverErrors());
+    }
+
+    @Test
+    void unsubscribeUnknown() {
+        SubscriptionRegistry registry = new SubscriptionRegistry(4);
+        Recorder r = new Recorder();
+        assertFalse(registry.unsubscribe(0, r));
+        assertFalse(registry.unsubscribe(5, r));
+        registry.subscribe(0, r);
+        assertTrue(registry.unsubscribe(0, r));
+        assertFalse(registry.unsubscribe(0, r));
+        assertThrows(IllegalArgumentException.class, () -> registry.subscribe(-1, r));
+        assertThrows(IllegalArgumentException.class, () -> new SubscriptionRegistry(0));
+    }
+
+    // A throwing observer is counted and skipped; the others still get every batch
+    @Test
+    void failingObserverDoesNotStarveOthers() {
+        SubscriptionRegistry registry = new SubscriptionRegistry(2);
+        Recorder after = new Recorder();
+        registry.subscribe(0, batch -> { throw new IllegalStateException("observer failed"); });
+        registry.subscribe(0, after);
+        publish(registry, new Patient("Fay"), 0, 4);
+        assertEquals(List.of(2, 2), after.sizes);
+        assertEquals(2, registry.getObserverErrors());
+    }
+
+    // Batches are per thread: flush only sends the calling thread's partial batches
+    @Test
+    void flushOnlyDeliversThisThreadsBatches() throws Exception {
+        SubscriptionRegistry registry = new SubscriptionRegistry(8);
+        Patient patient = new Patient("Gus");
+        Recorder r = new Recorder();
+        registry.subscribe(0, r);
+        Thread other = new Thread(() -> publish(registry, patient, 0, 3));
+        other.start();
+        other.join();
+        registry.flush();
+        assertTrue(r.sizes.isEmpty());
+        Thread flusher = new Thread(() -> {
+            publish(registry, patient, 10, 3);
+            registry.flush();
+        });
+        flusher.start();
+        flusher.join();
+        assertEquals(List.of(3), r.sizes);
+    }
+
+    // Producers on several threads while subscribers come and go: every reading is delivered exactly once
+    // to the subscriber that stays, and nothing fails
+    @Test
+    void concurrentPublishWithChurn() throws Exception {
+        SubscriptionRegistry registry = new SubscriptionRegistry(16);
+        LongAdder received = new LongAdder();
+        registry.subscribe(0, batch -> received.add(batch.size()));
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> done = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Patient patient = new Patient("Producer " + p);
+            done.add(pool.submit(() -> {
+                go.await();
+                publish(registry, patient, 0, perProducer);
+                registry.flush();
+                return null;
+            }));
+        }
+        go.countDown();
+        BatchObserver churn = batch -> { };
+        while (!done.stream().allMatch(Future::isDone)) {
+            registry.subscribe(0, churn);
+            registry.unsubscribe(0, churn);
+        }
+        for (Future<?> f : done) f.get();
+        pool.shutdown();
+        assertEquals((long) producers * perProducer, received.sum());
+        assertEquals((long) producers * perProducer, registry.getDelivered());
+        assertEquals(0, registry.getObserverErrors());
+    }
+}
@@ -0,0 +1,142 @@
+package healthcare;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VitalsHistoryTest {
+    private static final long[] ALL = { Long.MIN_VALUE, Long.MAX_VALUE };
+
+    // Times of the samples with from <= time <= to, through range()
+    private static List<Long> times(VitalsHistory h, long from, long to) {
+        long[] t = new long[h.capacity()];
+        int n = h.range(from, to, t, new double[t.length], new double[t.length]);
+        List<Long> out = new ArrayList<>();
+        for (int i = 0; i < n; i++) out.add(t[i]);
+        return out;
+    }
+
+    // The same through forEach()
+    private static List<Long> visited(VitalsHistory h, long from, long to) {
+        List<Long> out = new ArrayList<>();
+        int n = h.forEach(from, to, (time, hr, temp) -> out.add(time));
+        assertEquals(out.size(), n);
+        return out;
+    }
+
+    // Once full, every append overwrites the oldest sample and queries still come back oldest first
+    @Test
+    void ringKeepsTheNewestSamples() {
+        VitalsHistory h = new VitalsHistory(5, 0);
+        for (int i = 0; i <= 12; i++) h.append(i * 10L, 60 + i, 36 + i / 10.0);
+        assertEquals(5, h.size());
+        assertEquals(80, h.oldestTime());
+        assertEquals(120, h.newestTime());
+        assertEquals(List.of(80L, 90L, 100L, 110L, 120L), times(h, ALL[0], ALL[1]));
+        assertEquals(times(h, ALL[0], ALL[1]), visited(h, ALL[0], ALL[1]));
+
+        long[] t = new long[5];
+        double[] hr = new double[5];
+        double[] temp = new double[5];
+        assertEquals(5, h.range(ALL[0], ALL[1], t, hr, temp));
+        assertArrayEquals(new double[] { 68, 69, 70, 71, 72 }, hr, 1e-9);
+        assertArrayEquals(new double[] { 36.8, 36.9, 37.0, 37.1, 37.2 }, temp, 1e-9);
+    }
+
+    // Every window, including ones that start or end between samples or outside the history,
+    // agrees with a filter over the retained samples once the ring has wrapped part of the way round
+    @Test
+    void rangeQueriesAcrossTheWrapBoundary() {
+        VitalsHistory h = new VitalsHistory(8, 0);
+        Deque<Long> kept = new ArrayDeque<>();
+        for (int i = 0; i < 20; i++) { // 20 mod 8 leaves the oldest sample mid-array
+            long time = 1000 + 100L * i;
+            h.append(time, 70, 37);
+            kept.addLast(time);
+            if (kept.size() > 8) kept.removeFirst();
+        }
+        for (long from = 1750; from <= 3050; from += 50) {
+            for (long to = from - 100; to <= 3050; to += 50) {
+                List<Long> expected = new ArrayList<>();
+                for (long t : kept) if (t >= from && t <= to) expected.add(t);
+                assertEquals(expected, times(h, from, to), from + ".." + to);
+                assertEquals(expected, visited(h, from, to), from + ".." + to);
+            }
+        }
+    }
+
+    // range() stops when the output arrays are full, keeping the oldest samples of the window
+    @Test
+    void rangeStopsAtTheSmallestOutputArray() {
+        VitalsHistory h = new VitalsHistory(8, 0);
+        for (int i = 0; i < 12; i++) h.append(i, 70, 37);
+        long[] t = new long[10];
+        assertEquals(3, h.range(0, 100, t, new double[3], new double[10]));
+        assertArrayEquals(new long[] { 4, 5, 6 }, Arrays.copyOf(t, 3));
+    }
+
+    // Vitals are kept to 0.01 in a short, so anything beyond +-327.67 is clamped rather than wrapped
+    @Test
+    void quantisationRoundsAndClamps() {
+        VitalsHistory h = new VitalsHistory(8, 0);
+        double[] in = { 72.344, 36.666, 327.67, 400, -327.68, -1000, 0 };
+        double[] expected = { 72.34, 36.67, 327.67, 327.67, -327.68, -327.68, 0 };
+        for (int i = 0; i < in.length; i++) h.append(i, in[i], in[i]);
+        double[] hr = new double[8];
+        double[] temp = new double[8];
+        assertEquals(in.length, h.range(ALL[0], ALL[1], new long[8], hr, temp));
+        assertArrayEquals(expected, Arrays.copyOf(hr, in.length), 1e-9);
+        assertArrayEquals(expected, Arrays.copyOf(temp, in.length), 1e-9);
+    }
+
+    // A late reading is stored at the newest time, so times never go backwards
+    @Test
+    void olderTimestampIsRecordedAtTheNewestTime() {
+        VitalsHistory h = new VitalsHistory(8, 0);
+        h.append(500, 70, 37);
+        h.append(400, 71, 37);
+        assertEquals(List.of(500L, 500L), times(h, ALL[0], ALL[1]));
+    }
+
+    @Test
+    void retentionEvictsOldSamples() {
+        VitalsHistory h = new VitalsHistory(100, 1000);
+        for (long t : new long[] { 0, 500, 1000, 1600 }) h.append(t, 70, 37);
+        assertEquals(List.of(1000L, 1600L), times(h, ALL[0], ALL[1]));
+        assertEquals(1, h.evictOlderThan(1500));
+        assertEquals(List.of(1600L), times(h, ALL[0], ALL[1]));
+        assertEquals(1, h.evictOlderThan(2000));
+        assertEquals(0, h.size());
+        assertEquals(Long.MIN_VALUE, h.oldestTime());
+    }
+
+    // Relative times are ints: a newest time too far past the base moves the base up, or drops
+    // everything when even the oldest sample is too far back
+    @Test
+    void rebasesPastTheIntRange() {
+        VitalsHistory h = new VitalsHistory(3, 0);
+        for (long t : new long[] { 0, 1_000_000_000L, 2_000_000_000L, 2_100_000_000L, 3_000_000_000L }) h.append(t, 70, 37);
+        assertEquals(List.of(2_000_000_000L, 2_100_000_000L, 3_000_000_000L), times(h, ALL[0], ALL[1]));
+        h.append(6_000_000_000L, 70, 37);
+        assertEquals(List.of(6_000_000_000L), times(h, ALL[0], ALL[1]));
+    }
+
+    @Test
+    void storeKeepsOneHistoryPerPatient() {
+        Patient ann = new Patient("Ann");
+        Patient bob = new Patient("Bob");
+        VitalsHistoryStore store = new VitalsHistoryStore(4, 1000);
+        assertNull(store.history(ann));
+        store.record(ann, 100, 70, 37);
+        store.onBatch(bob, new long[] { 0, 100, 200, 300 }, new double[] { 1, 60, 61, 1 }, new double[] { 1, 36, 36.5, 1 }, 1, 2);
+        assertEquals(List.of(100L), times(store.history(ann), ALL[0], ALL[1]));
+        assertEquals(List.of(100L, 200L), times(store.history(bob), ALL[0], ALL[1]));
+        assertEquals(4, store.history(bob).capacity());
+        assertEquals(2, store.evictExpired(1150)); // Ann's 100 and Bob's 100
+        assertEquals(0, store.history(ann).size());
+        assertEquals(List.of(200L), times(store.history(bob), ALL[0], ALL[1]));
+        assertEquals(0, new VitalsHistoryStore(4, 0).evictExpired(Long.MAX_VALUE));
+    }
+}
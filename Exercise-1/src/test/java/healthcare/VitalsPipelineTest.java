@@ -0,0 +1,107 @@
+package healthcare;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VitalsPipelineTest {
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 50_000;
+
+    private static List<Patient> patients(int n) {
+        List<Patient> list = new ArrayList<>();
+        for (int i = 0; i < n; i++) list.add(new Patient("Patient " + i));
+        return list;
+    }
+
+    // Runs the producers at once; producer p submits readings p * PER_PRODUCER + i for the patients it owns
+    private static void produce(VitalsPipeline pipeline, List<Patient> patients) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(PRODUCERS);
+        CyclicBarrier start = new CyclicBarrier(PRODUCERS);
+        List<Future<?>> done = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            done.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < PER_PRODUCER; i++) {
+                    Patient patient = patients.get(producer + (i % (patients.size() / PRODUCERS)) * PRODUCERS);
+                    pipeline.submit(patient, (long) producer * PER_PRODUCER + i, 70, 37);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : done) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+
+    // Under BLOCK every reading arrives exactly once, and each patient's readings stay in submission order
+    @Test
+    void blockDeliversEveryReadingOnce() throws Exception {
+        List<Patient> patients = patients(PRODUCERS * 8);
+        BitSet seen = new BitSet(PRODUCERS * PER_PRODUCER);
+        Map<Patient, Long> last = new HashMap<>();
+        List<String> errors = new ArrayList<>();
+        VitalsSink sink = (patient, times, heartRates, temperatures, from, count) -> {
+            synchronized (seen) {
+                for (int i = from; i < from + count; i++) {
+                    if (seen.get((int) times[i])) errors.add("duplicate " + times[i]);
+                    seen.set((int) times[i]);
+                    Long previous = last.put(patient, times[i]);
+                    if (previous != null && previous >= times[i]) errors.add("out of order " + times[i]);
+                }
+            }
+        };
+        try (VitalsPipeline pipeline = new VitalsPipeline(3, 64, 32, VitalsPipeline.Backpressure.BLOCK, sink)) {
+            produce(pipeline, patients);
+            pipeline.flush();
+            assertEquals((long) PRODUCERS * PER_PRODUCER, pipeline.getAccepted());
+            assertEquals(0, pipeline.getDropped());
+            assertTrue(pipeline.getBlockedCount() > 0, "lanes were never full");
+        }
+        synchronized (seen) {
+            assertEquals(List.of(), errors);
+            assertEquals(PRODUCERS * PER_PRODUCER, seen.cardinality());
+        }
+    }
+
+    // Under DROP a full lane rejects readings, and every reading is either delivered or counted as dropped
+    @Test
+    void dropCountsEveryRejectedReading() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        LongAdder delivered = new LongAdder();
+        VitalsSink sink = (patient, times, heartRates, temperatures, from, count) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.add(count);
+        };
+        try (VitalsPipeline pipeline = new VitalsPipeline(2, 64, 32, VitalsPipeline.Backpressure.DROP, sink)) {
+            produce(pipeline, patients(PRODUCERS * 8));
+            release.countDown();
+            pipeline.flush();
+            assertTrue(pipeline.getDropped() > 0);
+            assertEquals((long) PRODUCERS * PER_PRODUCER, pipeline.getAccepted() + pipeline.getDropped());
+            assertEquals(pipeline.getAccepted(), delivered.sum());
+        }
+    }
+
+    // Producers without patients of their own submit nothing, so they must not count towards the total
+    @Test
+    void loadGeneratorCountsOnlyProducersWithPatients() throws Exception {
+        LongAdder delivered = new LongAdder();
+        VitalsSink sink = (patient, times, heartRates, temperatures, from, count) -> delivered.add(count);
+        try (VitalsPipeline pipeline = new VitalsPipeline(1, 1024, 64, VitalsPipeline.Backpressure.BLOCK, sink)) {
+            VitalsLoadGenerator.Result result = new VitalsLoadGenerator(patients(2), 5, 1).run(pipeline, 1_000, 0);
+            pipeline.flush();
+            assertEquals(2_000, result.submitted);
+            assertEquals(0, result.rejected);
+            assertEquals(2_000, delivered.sum());
+        }
+    }
+}
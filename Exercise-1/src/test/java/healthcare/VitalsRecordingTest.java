@@ -0,0 +1,56 @@
+package healthcare;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VitalsRecordingTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void closedRecordingReadsBackEveryReading() throws IOException {
+        Path file = dir.resolve("vitals.rec");
+        try (VitalsRecordingWriter writer = new VitalsRecordingWriter(file)) {
+            for (int i = 0; i < 1000; i++) writer.append(i % 7, 1_000_000L + i * 250L, 60 + i % 40, 36.5 + (i % 10) / 10.0);
+        }
+        try (VitalsRecordingReader reader = new VitalsRecordingReader(file)) {
+            assertEquals(1000, reader.getCount());
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(reader.next());
+                assertEquals(i % 7, reader.getPatientId());
+                assertEquals(1_000_000L + i * 250L, reader.getTimeMillis());
+                assertEquals(60 + i % 40, reader.getHeartRate(), 0.005);
+                assertEquals(36.5 + (i % 10) / 10.0, reader.getTemperature(), 0.005);
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void unclosedRecordingReadsAsEmpty() throws IOException {
+        Path file = dir.resolve("unclosed.rec");
+        VitalsRecordingWriter writer = new VitalsRecordingWriter(file);
+        try {
+            writer.append(1, 1_000_000L, 72, 36.6);
+            try (VitalsRecordingReader reader = new VitalsRecordingReader(file)) {
+                assertEquals(0, reader.getCount());
+                assertFalse(reader.next());
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path file = dir.resolve("other.bin");
+        Files.write(file, "not a recording, just some text".getBytes());
+        assertThrows(IOException.class, () -> new VitalsRecordingReader(file));
+    }
+}
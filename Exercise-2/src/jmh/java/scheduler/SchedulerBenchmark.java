@@ -0,0 +1,475 @@
+package scheduler;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.io.*;
+import java.nio.file.*;
+import java.time.*;
+import java.time.format.*;
+
+// ===================== Scheduler Benchmark =====================
+// JMH benchmarks for the scheduler; every score is per single operation (one add, one conflict check, one record...)
+// Run from the repository root: mvn -B -pl Exercise-2 test-compile exec:exec@jmh -Djmh.args="SchedulerBenchmark -prof gc"
+// -prof gc adds gc.alloc.rate.norm, the bytes allocated per operation
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SchedulerBenchmark {
+    static final int TASKS_PER_CREW = 480; // A sequential day: 2-minute tasks every 3 minutes
+    static final LocalTime[] MINUTES = new LocalTime[24 * 60]; // Shared LocalTime per minute of day
+
+    static {
+        for (int m = 0; m < MINUTES.length; m++) MINUTES[m] = LocalTime.of(m / 60, m % 60);
+        // Audit logging is measured separately; keep it out of the other benchmarks
+        Logger.getLogger(ScheduleManager.class.getName()).setLevel(java.util.logging.Level.OFF);
+    }
+
+    // Task shapes for the hot-path runs
+    public enum Workload {
+        SEQUENTIAL,  // Each crew's day filled in start order, nothing conflicts
+        RANDOM,      // Random crews and start times, a mix of accepted tasks and conflicts
+        ADVERSARIAL  // Long tasks piled around midday, nearly everything overlaps
+    }
+
+    // ===================== Hot Paths =====================
+
+    // Generated tasks spread over crews, plus conflict probes against filled stores
+    @State(Scope.Benchmark)
+    public static class HotPathState {
+        @Param({ "1000", "100000", "1000000" })
+        public int size;
+
+        @Param
+        public Workload workload;
+
+        @Param({ "INDEXED", "COMPACT" })
+        public String storage;
+
+        ScheduleManager.StorageMode mode;
+
+        Task[] tasks;
+        int[] crews;
+        int crewCount;
+        Task[] probes;
+        int[] probeCrews;
+        TaskStore[] stores; // Filled with the generated tasks, for conflict checks and views
+
+        CrewTimeline[] timelines; // Filled by addTask, replaced once every task has been added
+        int nextAdd;
+        int nextProbe;
+        int nextView;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            mode = ScheduleManager.StorageMode.valueOf(storage);
+            tasks = generate(workload, size, 1);
+            crews = crewsFor(workload, size, 2);
+            crewCount = crewCount(size);
+            probes = generate(Workload.RANDOM, Math.min(size, 100_000), 3);
+            probeCrews = crewsFor(Workload.RANDOM, probes.length, 4);
+            for (int i = 0; i < probeCrews.length; i++) probeCrews[i] %= crewCount;
+            stores = filledStores(mode, crewCount, tasks, crews);
+            timelines = timelines(mode, crewCount);
+        }
+    }
+
+    // One task added to its crew's timeline; the timelines start over after the last task
+    @Benchmark
+    public boolean addTask(HotPathState s) {
+        if (s.nextAdd == s.tasks.length) {
+            s.timelines = timelines(s.mode, s.crewCount);
+            s.nextAdd = 0;
+        }
+        int i = s.nextAdd++;
+        return s.timelines[s.crews[i]].add(s.tasks[i]).isApplied();
+    }
+
+    @Benchmark
+    public Task isConflict(HotPathState s) {
+        int i = s.nextProbe;
+        s.nextProbe = (i + 1 == s.probes.length) ? 0 : i + 1;
+        return s.stores[s.probeCrews[i]].findConflict(s.probes[i], null);
+    }
+
+    // One crew's tasks in start-time order
+    @Benchmark
+    public void viewTasks(HotPathState s, Blackhole bh) {
+        int c = s.nextView;
+        s.nextView = (c + 1 == s.stores.length) ? 0 : c + 1;
+        for (Task t : s.stores[c].inOrder()) bh.consume(t);
+    }
+
+    // ===================== Task Parsing =====================
+
+    // Text rows as typed at the console; every tenth row is malformed
+    @State(Scope.Benchmark)
+    public static class ParseState {
+        String[][] rows;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            rows = new String[100_000][];
+            SplittableRandom rnd = new SplittableRandom(5);
+            for (int i = 0; i < rows.length; i++) {
+                int begin = rnd.nextInt(MINUTES.length - 30);
+                String end = (i % 10 == 9) ? "25:99" : MINUTES[begin + 1 + rnd.nextInt(29)].toString();
+                rows[i] = new String[] { "task-" + i, MINUTES[begin].toString(), end, "medium" };
+            }
+        }
+
+        String[] nextRow() {
+            int i = next;
+            next = (i + 1 == rows.length) ? 0 : i + 1;
+            return rows[i];
+        }
+    }
+
+    @Benchmark
+    public Task createTask(ParseState s) {
+        String[] row = s.nextRow();
+        try {
+            return TaskFactory.createTask(row[0], row[1], row[2], row[3]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // The original TaskFactory path, kept here as the baseline for the character parser
+    @Benchmark
+    public Task createTaskLocalTimeParse(ParseState s) {
+        String[] row = s.nextRow();
+        try {
+            return legacyCreateTask(row[0], row[1], row[2], row[3]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static final DateTimeFormatter LEGACY_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    private static Task legacyCreateTask(String description, String start, String end, String priorityStr) {
+        try {
+            LocalTime startTime = LocalTime.parse(start, LEGACY_FORMAT);
+            LocalTime endTime = LocalTime.parse(end, LEGACY_FORMAT);
+            if (!endTime.isAfter(startTime)) throw new IllegalArgumentException("Error: End time must be after start time.");
+            return new Task(description, startTime, endTime, Task.Priority.valueOf(priorityStr.toUpperCase()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Error: Invalid time format. Use HH:mm (00:00 - 23:59)");
+        }
+    }
+
+    // ===================== Concurrent Crew Timelines =====================
+
+    // Each timeline has its own lock, so throughput should grow with the thread count: compare runs with -t 1, 2, 4...
+    @State(Scope.Benchmark)
+    public static class CrewState {
+        final ScheduleManager manager = ScheduleManager.getInstance();
+        final String[] crewIds = new String[256];
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            for (int i = 0; i < crewIds.length; i++) crewIds[i] = "crew-" + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WorkerState {
+        private static final AtomicInteger SEEDS = new AtomicInteger();
+        final SplittableRandom rnd = new SplittableRandom(31L * SEEDS.getAndIncrement() + 7);
+    }
+
+    // Mostly inserts with some churn, on random crews, so timelines stay partly free
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(Threads.MAX)
+    public boolean crewWorkload(CrewState crews, WorkerState w) {
+        SplittableRandom rnd = w.rnd;
+        CrewTimeline timeline = crews.manager.timeline(crews.crewIds[rnd.nextInt(crews.crewIds.length)]);
+        int begin = rnd.nextInt(MINUTES.length - 30);
+        String description = "task-" + begin;
+        if (rnd.nextInt(4) == 0) return timeline.remove(description).isApplied();
+        Task task = new Task(description, MINUTES[begin], MINUTES[begin + 1 + rnd.nextInt(29)],
+                Task.Priority.values()[rnd.nextInt(3)]);
+        return timeline.add(task).isApplied();
+    }
+
+    // ===================== Batch Import =====================
+
+    // A generated mission plan; a single day only fits a few hundred tasks, so most rows are rejected as conflicts
+    @State(Scope.Benchmark)
+    public static class ImportState {
+        @Param({ "100000" })
+        public int rows;
+
+        Path file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            file = Files.createTempFile("mission-plan", ".csv");
+            SplittableRandom rnd = new SplittableRandom(42);
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                out.write("description,start,end,priority\n");
+                for (int i = 0; i < rows; i++) {
+                    int begin = rnd.nextInt(MINUTES.length - 30);
+                    out.write("task-" + i + "," + MINUTES[begin] + "," + MINUTES[begin + 1 + rnd.nextInt(29)] + ","
+                            + Task.Priority.values()[rnd.nextInt(3)] + "\n");
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // The whole file into a fresh timeline
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ImportReport importTasks(ImportState s) throws IOException {
+        return TaskImporter.importFile(s.file, new CrewTimeline("import"));
+    }
+
+    // ===================== Audit Logging =====================
+
+    // Caller-side cost of one log record: synchronous FileHandler vs the async handler under each policy
+    // Sample mode also reports the percentiles and the worst record (p1.00)
+    @State(Scope.Benchmark)
+    public static class LoggingState {
+        @Param({ "SYNC", "NEVER", "EVERY_BATCH", "INTERVAL", "EVERY_BATCH_DROP" })
+        public String handler;
+
+        Path dir;
+        Handler target;
+        Logger log;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dir = Files.createTempDirectory("audit-bench");
+            Path file = dir.resolve(handler + ".log");
+            if (handler.equals("SYNC")) {
+                target = new FileHandler(file.toString(), true);
+                target.setFormatter(new SimpleFormatter());
+            } else if (handler.equals("EVERY_BATCH_DROP")) {
+                target = new AsyncAuditHandler(file, 1024, AsyncAuditHandler.FsyncPolicy.EVERY_BATCH, 0,
+                        AsyncAuditHandler.Backpressure.DROP);
+            } else {
+                target = new AsyncAuditHandler(file, 8192, AsyncAuditHandler.FsyncPolicy.valueOf(handler), 1000,
+                        AsyncAuditHandler.Backpressure.BLOCK);
+            }
+            log = Logger.getAnonymousLogger();
+            log.setUseParentHandlers(false);
+            log.addHandler(target);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            target.close();
+            if (target instanceof AsyncAuditHandler) {
+                AsyncAuditHandler async = (AsyncAuditHandler) target;
+                System.out.printf("%n    batches=%,d blocked=%,d (%,.1f ms) dropped=%,d%n", async.getBatches(),
+                        async.getBlockedCount(), async.getBlockedNanos() / 1e6, async.getDropped());
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path f : files) Files.deleteIfExists(f);
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+    public void logRecord(LoggingState s) {
+        s.log.info("Task added: task-" + s.next++);
+    }
+
+    // ===================== Metrics Overhead =====================
+
+    @State(Scope.Benchmark)
+    public static class HistogramState {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        int next;
+    }
+
+    // Cost of recording one latency
+    @Benchmark
+    public void recordLatency(HistogramState s) {
+        s.histogram.record(s.next++ & 0xFFFF);
+    }
+
+    // addTask and removeTask with the timeline latency timers on and off
+    @State(Scope.Benchmark)
+    public static class TimerState {
+        @Param({ "RANDOM", "ADVERSARIAL" })
+        public Workload workload;
+
+        @Param({ "true", "false" })
+        public boolean timers;
+
+        Task[] tasks;
+        int[] crews;
+        CrewTimeline[] timelines;
+        int next; // Adds every task, then removes every task, then starts over
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            int size = 100_000;
+            tasks = generate(workload, size, 1);
+            crews = crewsFor(workload, size, 2);
+            timelines = timelines(ScheduleManager.StorageMode.INDEXED, crewCount(size));
+            Metrics.setEnabled(timers);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            Metrics.setEnabled(true);
+        }
+    }
+
+    @Benchmark
+    public boolean addOrRemoveTask(TimerState s) {
+        int i = s.next;
+        int n = s.tasks.length;
+        s.next = (i + 1 == 2 * n) ? 0 : i + 1;
+        if (i < n) return s.timelines[s.crews[i]].add(s.tasks[i]).isApplied();
+        i -= n;
+        return s.timelines[s.crews[i]].remove(s.tasks[i].getDescription()).isApplied();
+    }
+
+    // ===================== Console Output =====================
+
+    // ScheduleManager add/remove calls from several threads, each reporting one line to a file through an autoflushing
+    // println (how ScheduleManager used to print), the buffered renderer, and the headless renderer
+    @State(Scope.Benchmark)
+    public static class OutputState {
+        @Param({ "AUTOFLUSH", "BUFFERED", "HEADLESS" })
+        public String renderer;
+
+        final ScheduleManager manager = ScheduleManager.getInstance();
+        final Task[] day = generate(Workload.SEQUENTIAL, TASKS_PER_CREW, 1);
+        ScheduleRenderer original;
+        ScheduleRenderer installed;
+        OutputStream stream;
+        Path file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            original = manager.getRenderer();
+            file = Files.createTempFile("console", ".txt");
+            stream = new FileOutputStream(file.toFile());
+            switch (renderer) {
+                case "AUTOFLUSH":
+                    installed = new ConsoleScheduleRenderer(new PrintWriter(new PrintStream(new BufferedOutputStream(stream, 128), true), true));
+                    break;
+                case "BUFFERED":
+                    installed = new ConsoleScheduleRenderer(stream);
+                    break;
+                default:
+                    installed = new HeadlessScheduleRenderer();
+            }
+            manager.setRenderer(installed);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            installed.flush();
+            manager.setRenderer(original); // Nothing may write to the stream after it is closed
+            stream.close();
+            System.out.printf("%n    %,d bytes written%n", Files.size(file));
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OutputWorker {
+        private static final AtomicInteger IDS = new AtomicInteger();
+        final String crew = "output-" + IDS.getAndIncrement();
+        int next; // Adds the whole day, then removes it
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(4)
+    public boolean reportedChange(OutputState s, OutputWorker w) {
+        int i = w.next;
+        int n = s.day.length;
+        w.next = (i + 1 == 2 * n) ? 0 : i + 1;
+        if (i < n) return s.manager.addTask(w.crew, s.day[i]);
+        return s.manager.removeTask(w.crew, s.day[i - n].getDescription());
+    }
+
+    // ===================== Workload Generation =====================
+
+    static int crewCount(int size) { return (size + TASKS_PER_CREW - 1) / TASKS_PER_CREW; }
+
+    // Tasks for a workload; sequential tasks are laid out crew by crew
+    static Task[] generate(Workload workload, int size, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        Task[] tasks = new Task[size];
+        for (int i = 0; i < size; i++) {
+            int begin, length;
+            switch (workload) {
+                case SEQUENTIAL:
+                    begin = (i % TASKS_PER_CREW) * 3;
+                    length = 2;
+                    break;
+                case RANDOM:
+                    begin = rnd.nextInt(MINUTES.length - 31);
+                    length = 1 + rnd.nextInt(30);
+                    break;
+                default:
+                    begin = 11 * 60 + rnd.nextInt(120);
+                    length = 60 + rnd.nextInt(60);
+            }
+            tasks[i] = new Task("task-" + i, MINUTES[begin], MINUTES[begin + length], Task.Priority.values()[i % 3]);
+        }
+        return tasks;
+    }
+
+    // Crew of each generated task
+    static int[] crewsFor(Workload workload, int size, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        int crewCount = crewCount(size);
+        int[] crews = new int[size];
+        for (int i = 0; i < size; i++) {
+            crews[i] = (workload == Workload.SEQUENTIAL) ? i / TASKS_PER_CREW : rnd.nextInt(crewCount);
+        }
+        return crews;
+    }
+
+    static TaskStore newStore(ScheduleManager.StorageMode mode, DescriptionPool pool) {
+        return (mode == ScheduleManager.StorageMode.COMPACT) ? new CompactTaskStore(pool) : new IndexedTaskStore();
+    }
+
+    static CrewTimeline[] timelines(ScheduleManager.StorageMode mode, int count) {
+        DescriptionPool pool = new DescriptionPool();
+        CrewTimeline[] timelines = new CrewTimeline[count];
+        for (int c = 0; c < count; c++) timelines[c] = new CrewTimeline("crew-" + c, null, newStore(mode, pool));
+        return timelines;
+    }
+
+    static TaskStore[] filledStores(ScheduleManager.StorageMode mode, int count, Task[] tasks, int[] crews) {
+        DescriptionPool pool = new DescriptionPool();
+        TaskStore[] stores = new TaskStore[count];
+        for (int c = 0; c < count; c++) stores[c] = newStore(mode, pool);
+        for (int i = 0; i < tasks.length; i++) {
+            TaskStore store = stores[crews[i]];
+            if (store.findConflict(tasks[i], null) == null) store.insert(tasks[i]);
+        }
+        return stores;
+    }
+}
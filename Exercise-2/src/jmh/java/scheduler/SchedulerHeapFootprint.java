@@ -0,0 +1,54 @@
+package scheduler;
+
+import java.util.*;
+import java.time.*;
+
+// ===================== Scheduler Heap Footprint =====================
+// Retained heap for crews x tasksPerCrew tasks: a plain ArrayList<Task> (the original storage),
+// indexed timelines and compact timelines. JMH times operations, so this one stays a plain program
+// Run from the repository root: mvn -B -pl Exercise-2 test-compile exec:exec@heap
+public class SchedulerHeapFootprint {
+    public static void main(String[] args) {
+        int crews = (args.length > 0) ? Integer.parseInt(args[0]) : 2_000;
+        int tasksPerCrew = (args.length > 1) ? Integer.parseInt(args[1]) : 300;
+
+        List<Task> list = new ArrayList<>();
+        long before = usedHeap();
+        for (int c = 0; c < crews; c++) {
+            for (int i = 0; i < tasksPerCrew; i++) list.add(footprintTask(i));
+        }
+        report("ArrayList<Task>", usedHeap() - before, list.size());
+        list = null;
+
+        for (ScheduleManager.StorageMode mode : ScheduleManager.StorageMode.values()) {
+            DescriptionPool pool = new DescriptionPool();
+            List<CrewTimeline> timelines = new ArrayList<>();
+            before = usedHeap();
+            for (int c = 0; c < crews; c++) {
+                CrewTimeline timeline = new CrewTimeline("crew-" + c, null, SchedulerBenchmark.newStore(mode, pool));
+                for (int i = 0; i < tasksPerCrew; i++) timeline.add(footprintTask(i));
+                timelines.add(timeline);
+            }
+            report(mode + " timelines", usedHeap() - before, crews * tasksPerCrew);
+            timelines.clear();
+        }
+    }
+
+    // Non-overlapping task i of a day, with descriptions repeating across crews like a shared mission plan
+    // Tasks get fresh LocalTime objects, as TaskFactory would create
+    private static Task footprintTask(int i) {
+        int begin = (i * 4) % (24 * 60 - 3);
+        return new Task("Activity " + i, LocalTime.of(begin / 60, begin % 60),
+                LocalTime.of((begin + 2) / 60, (begin + 2) % 60), Task.Priority.values()[i % 3]);
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static void report(String name, long bytes, int tasks) {
+        System.out.printf("%-20s %,8.1f MB  %,6.1f bytes/task%n", name, bytes / 1048576.0, (double) bytes / tasks);
+    }
+}
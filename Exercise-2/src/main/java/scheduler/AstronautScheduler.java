@@ -0,0 +1,240 @@
+package scheduler;
+
+import java.util.*;
+import java.io.*;
+import java.nio.file.*;
+import java.time.*;
+
+// ===================== Main Application =====================
+// Provides console interface for astronauts to manage their schedule
+public class AstronautScheduler {
+    // Pass --headless to drive the scheduler from scripted input without formatting or printing anything
+    public static void main(String[] args) {
+        Scanner sc = new Scanner(System.in);
+        ScheduleManager manager = ScheduleManager.getInstance();
+        if (Arrays.asList(args).contains("--headless")) manager.setRenderer(new HeadlessScheduleRenderer());
+        ScheduleRenderer out = manager.getRenderer();
+        manager.addObserver(new ConsoleConflictObserver(out)); // Observer for conflicts
+        try {
+            manager.enablePersistence(Paths.get("schedule-data"), false, 10_000); // Keep the schedule across restarts
+        } catch (IOException e) {
+            out.println("Warning: Schedule persistence unavailable. " + e.getMessage());
+        }
+        manager.startMetricsDump(60_000);
+
+        while (true) {
+            // Display menu
+            out.println("\n=== Astronaut Daily Schedule Organizer ===");
+            out.println("1) Add Task");
+            out.println("2) Remove Task (by description)");
+            out.println("3) View All Tasks");
+            out.println("4) Edit Task (by description)");
+            out.println("5) Mark Task Completed (by description)");
+            out.println("6) View Tasks by Priority");
+            out.println("7) Import Tasks from File");
+            out.println("8) Find Free Slots");
+            out.println("9) Add Recurring Task");
+            out.println("10) Add Task on Date");
+            out.println("11) View Week Agenda");
+            out.println("12) View Metrics");
+            out.println("0) Exit");
+            out.prompt("Choose an option: ");
+
+            String choice = sc.nextLine();
+            switch (choice) {
+                case "1": // Add task
+                    try {
+                        out.prompt("Description: ");
+                        String desc = sc.nextLine();
+                        out.prompt("Start time (HH:mm): ");
+                        String start = sc.nextLine();
+                        out.prompt("End time (HH:mm): ");
+                        String end = sc.nextLine();
+                        out.prompt("Priority (High/Medium/Low): ");
+                        String priority = sc.nextLine();
+
+                        Task newTask = TaskFactory.createTask(desc, start, end, priority);
+                        manager.addTask(newTask);
+                    } catch (IllegalArgumentException e) {
+                        out.println(e.getMessage());
+                    }
+                    break;
+
+                case "2": // Remove task
+                    out.prompt("Description of task to remove: ");
+                    manager.removeTask(sc.nextLine());
+                    break;
+
+                case "3": // View all tasks
+                    manager.viewTasks();
+                    break;
+
+                case "4": // Edit task
+                    try {
+                        out.prompt("Description of task to edit: ");
+                        String oldDesc = sc.nextLine();
+                        out.prompt("New description: ");
+                        String newDesc = sc.nextLine();
+                        out.prompt("New start time (HH:mm): ");
+                        String newStart = sc.nextLine();
+                        out.prompt("New end time (HH:mm): ");
+                        String newEnd = sc.nextLine();
+                        out.prompt("New priority (High/Medium/Low): ");
+                        String newPriority = sc.nextLine();
+
+                        Task updatedTask = TaskFactory.createTask(newDesc, newStart, newEnd, newPriority);
+                        manager.editTask(oldDesc, updatedTask);
+                    } catch (IllegalArgumentException e) {
+                        out.println(e.getMessage());
+                    }
+                    break;
+
+                case "5": // Mark completed
+                    out.prompt("Description of task to mark completed: ");
+                    manager.markTaskCompleted(sc.nextLine());
+                    break;
+
+                case "6": // View tasks by priority
+                    out.prompt("Enter priority (High/Medium/Low): ");
+                    Task.Priority pri = TaskFactory.parsePriority(sc.nextLine());
+                    if (pri == null) {
+                        out.println(TaskFactory.InputError.INVALID_PRIORITY.getMessage());
+                    } else {
+                        manager.viewTasksByPriority(pri);
+                    }
+                    break;
+
+                case "7": // Batch import
+                    out.prompt("File path (description,start,end,priority per line): ");
+                    try {
+                        ImportReport report = manager.importTasks(ScheduleManager.DEFAULT_CREW, Paths.get(sc.nextLine()));
+                        out.println(report.toString());
+                        for (ImportReport.Rejection r : report.getRejected()) out.println(r.toString());
+                    } catch (IOException | InvalidPathException e) {
+                        out.println("Error: Could not read file. " + e.getMessage());
+                    }
+                    break;
+
+                case "8": // Free slots
+                    try {
+                        out.prompt("Duration (minutes): ");
+                        int minutes = Integer.parseInt(sc.nextLine().trim());
+                        out.prompt("Window start (HH:mm): ");
+                        LocalTime from = TaskFactory.parseTime(sc.nextLine().trim());
+                        out.prompt("Window end (HH:mm): ");
+                        LocalTime to = TaskFactory.parseTime(sc.nextLine().trim());
+                        if (from == null || to == null) {
+                            out.println(TaskFactory.InputError.INVALID_TIME.getMessage());
+                            break;
+                        }
+                        List<FreeSlot> slots = manager.findFreeSlots(ScheduleManager.DEFAULT_CREW, minutes, from, to, 3);
+                        if (slots.isEmpty()) out.println("No free slot of " + minutes + " minutes in that window.");
+                        for (FreeSlot slot : slots) out.println(slot.toString());
+                    } catch (IllegalArgumentException e) {
+                        out.println("Error: Invalid duration. Enter a whole number of minutes.");
+                    }
+                    break;
+
+                case "9": // Recurring task
+                    try {
+                        out.prompt("Description: ");
+                        String desc = sc.nextLine();
+                        out.prompt("Start time (HH:mm): ");
+                        String start = sc.nextLine();
+                        out.prompt("End time (HH:mm): ");
+                        String end = sc.nextLine();
+                        out.prompt("Priority (High/Medium/Low): ");
+                        String priority = sc.nextLine();
+                        Task template = TaskFactory.createTask(desc, start, end, priority);
+
+                        out.prompt("First date (yyyy-MM-dd): ");
+                        LocalDate first = LocalDate.parse(sc.nextLine().trim());
+                        out.prompt("Repeat on (Daily, or weekdays like MON,WED,FRI): ");
+                        String days = sc.nextLine().trim();
+                        out.prompt("Every how many days/weeks (default 1): ");
+                        String every = sc.nextLine().trim();
+                        int interval = every.isEmpty() ? 1 : Integer.parseInt(every);
+                        out.prompt("Last date (yyyy-MM-dd, blank for none): ");
+                        String last = sc.nextLine().trim();
+                        LocalDate until = last.isEmpty() ? null : LocalDate.parse(last);
+
+                        RecurrenceRule rule;
+                        if (days.equalsIgnoreCase("daily")) {
+                            rule = RecurrenceRule.daily(first, interval, until);
+                        } else {
+                            Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+                            for (String d : days.split(",")) weekdays.add(dayOfWeek(d.trim()));
+                            rule = RecurrenceRule.weekly(first, interval, weekdays, until);
+                        }
+                        manager.addRecurringTask(ScheduleManager.DEFAULT_CREW, new RecurringTask(template.getDescription(),
+                                template.getStartTime(), template.getEndTime(), template.getPriority(), rule));
+                    } catch (DateTimeException e) {
+                        out.println("Error: Invalid date. Use yyyy-MM-dd.");
+                    } catch (IllegalArgumentException e) {
+                        out.println(e.getMessage() != null && e.getMessage().startsWith("Error:")
+                                ? e.getMessage() : "Error: Invalid recurrence.");
+                    }
+                    break;
+
+                case "10": // Task on a date
+                    try {
+                        out.prompt("Date (yyyy-MM-dd): ");
+                        LocalDate date = LocalDate.parse(sc.nextLine().trim());
+                        out.prompt("Description: ");
+                        String desc = sc.nextLine();
+                        out.prompt("Start time (HH:mm): ");
+                        String start = sc.nextLine();
+                        out.prompt("End time (HH:mm): ");
+                        String end = sc.nextLine();
+                        out.prompt("Priority (High/Medium/Low): ");
+                        String priority = sc.nextLine();
+                        manager.addTask(ScheduleManager.DEFAULT_CREW, date, TaskFactory.createTask(desc, start, end, priority));
+                    } catch (DateTimeException e) {
+                        out.println("Error: Invalid date. Use yyyy-MM-dd.");
+                    } catch (IllegalArgumentException e) {
+                        out.println(e.getMessage());
+                    }
+                    break;
+
+                case "11": // Agenda
+                    try {
+                        out.prompt("Week starting (yyyy-MM-dd): ");
+                        LocalDate from = LocalDate.parse(sc.nextLine().trim());
+                        manager.viewAgenda(ScheduleManager.DEFAULT_CREW, from, from.plusDays(6));
+                    } catch (DateTimeException e) {
+                        out.println("Error: Invalid date. Use yyyy-MM-dd.");
+                    }
+                    break;
+
+                case "12": // Metrics
+                    out.println(manager.getMetricsReport().stripTrailing());
+                    break;
+
+                case "0": // Exit
+                    out.println("Exiting. Goodbye!");
+                    try {
+                        manager.closePersistence();
+                    } catch (IOException e) {
+                        out.println("Warning: Could not save schedule snapshot. " + e.getMessage());
+                    }
+                    manager.closeAuditLog();
+                    out.flush();
+                    sc.close();
+                    return;
+
+                default:
+                    out.println("Invalid choice.");
+            }
+        }
+    }
+
+    // Accepts full names or any unambiguous prefix of three or more letters, e.g. "Mon" or "monday"
+    private static DayOfWeek dayOfWeek(String text) {
+        if (text.length() >= 3) {
+            for (DayOfWeek d : DayOfWeek.values()) {
+                if (d.name().regionMatches(true, 0, text, 0, text.length())) return d;
+            }
+        }
+        throw new IllegalArgumentException("Error: Invalid weekday \"" + text + "\".");
+    }
+}
@@ -0,0 +1,200 @@
+package scheduler;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.logging.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+// ===================== Async Audit Log =====================
+// java.util.logging Handler that takes file I/O off the caller's thread
+// publish() only enqueues into a bounded ring buffer; a background writer drains it,
+// formats the records and appends each batch to the file with one write (group commit)
+public class AsyncAuditHandler extends Handler {
+    // When the file is forced to disk
+    public enum FsyncPolicy { NEVER, EVERY_BATCH, INTERVAL }
+
+    // What publish() does when the ring buffer is full
+    public enum Backpressure { BLOCK, DROP }
+
+    private static final int MAX_BATCH = 1024;
+
+    private final ArrayBlockingQueue<LogRecord> ring; // Array-backed circular buffer
+    private final FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final Backpressure backpressure;
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile boolean stopped; // The writer has exited, e.g. after a write failure; records are dropped
+
+    // Backpressure and throughput counters
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private final Object progress = new Object(); // Guards written/batches and wakes flush()
+    private long written;
+    private long batches;
+
+    public AsyncAuditHandler(Path file, int capacity, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis,
+                             Backpressure backpressure) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+                capacity, fsyncPolicy, fsyncIntervalMillis, backpressure);
+    }
+
+    // Write to an already open channel, which the handler closes; tests use it to inject write failures
+    AsyncAuditHandler(FileChannel channel, int capacity, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis,
+                      Backpressure backpressure) {
+        this.ring = new ArrayBlockingQueue<>(capacity);
+        this.channel = channel;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        this.backpressure = backpressure;
+        setFormatter(new SimpleFormatter());
+        writer = new Thread(this::drainLoop, "audit-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) return;
+        if (stopped) {
+            dropped.incrementAndGet();
+            return;
+        }
+        // Caller inference walks the current stack, so it has to happen here and not on the writer thread
+        record.getSourceMethodName();
+        if (ring.offer(record)) {
+            enqueued.incrementAndGet();
+            return;
+        }
+        if (backpressure == Backpressure.DROP) {
+            dropped.incrementAndGet();
+            return;
+        }
+        // Buffer full: block the caller, and record how often and for how long
+        // A writer that died meanwhile never makes room, so the wait gives up and drops once it is gone
+        long start = System.nanoTime();
+        try {
+            while (!ring.offer(record, 100, TimeUnit.MILLISECONDS)) {
+                if (stopped) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+            }
+            enqueued.incrementAndGet();
+        } catch (InterruptedException e) {
+            dropped.incrementAndGet();
+            Thread.currentThread().interrupt();
+        } finally {
+            blocked.incrementAndGet();
+            blockedNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    // Wait until everything published so far has been written
+    @Override
+    public void flush() {
+        long target = enqueued.get();
+        synchronized (progress) {
+            while (written < target && writer.isAlive()) {
+                try {
+                    progress.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Drain the remaining records, force them to disk and stop the writer
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getDropped() { return dropped.get(); }
+    public long getBlockedCount() { return blocked.get(); }
+    public long getBlockedNanos() { return blockedNanos.get(); }
+    public int getQueueDepth() { return ring.size(); }
+    public long getWritten() { synchronized (progress) { return written; } }
+    public long getBatches() { synchronized (progress) { return batches; } }
+
+    private void drainLoop() {
+        List<LogRecord> batch = new ArrayList<>(MAX_BATCH);
+        StringBuilder text = new StringBuilder(64 * 1024);
+        long lastSync = System.nanoTime();
+        boolean unsynced = false; // Written since the last force
+        try {
+            while (!closed || !ring.isEmpty()) {
+                LogRecord first = ring.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // Idle: an INTERVAL policy still forces the last batch once the interval is up
+                    long now = System.nanoTime();
+                    if (unsynced && fsyncPolicy == FsyncPolicy.INTERVAL && now - lastSync >= fsyncIntervalNanos) {
+                        channel.force(false);
+                        lastSync = now;
+                        unsynced = false;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                ring.drainTo(batch, MAX_BATCH - 1);
+
+                text.setLength(0);
+                for (LogRecord r : batch) text.append(getFormatter().format(r));
+                writeFully(text);
+
+                long now = System.nanoTime();
+                if (fsyncPolicy == FsyncPolicy.EVERY_BATCH
+                        || (fsyncPolicy == FsyncPolicy.INTERVAL && now - lastSync >= fsyncIntervalNanos)) {
+                    channel.force(false);
+                    lastSync = now;
+                    unsynced = false;
+                } else {
+                    unsynced = true;
+                }
+
+                synchronized (progress) {
+                    written += batch.size();
+                    batches++;
+                    progress.notifyAll();
+                }
+                batch.clear();
+            }
+            if (fsyncPolicy != FsyncPolicy.NEVER) channel.force(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            reportError("Audit log write failed", e, ErrorManager.WRITE_FAILURE);
+        } finally {
+            stopped = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                reportError("Audit log close failed", e, ErrorManager.CLOSE_FAILURE);
+            }
+            synchronized (progress) {
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private void writeFully(CharSequence text) throws IOException {
+        ByteBuffer buf = StandardCharsets.UTF_8.encode(CharBuffer.wrap(text));
+        while (buf.hasRemaining()) channel.write(buf);
+    }
+}
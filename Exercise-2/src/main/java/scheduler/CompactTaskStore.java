@@ -0,0 +1,187 @@
+package scheduler;
+
+import java.util.*;
+import java.time.*;
+
+// Compact store: parallel primitive arrays sorted by start time, about 13 bytes per task
+// start/end are minute-of-day shorts, priority and completion share one flag byte,
+// descriptions are ids into a DescriptionPool and an insertion number orders duplicates.
+// Task objects are only created as views on the way out
+// Scheduled tasks never overlap and a day holds at most 720 of them, so lookups are binary searches
+// and inserts shift a few small arrays. Duplicate descriptions resolve to the first-added task, as in IndexedTaskStore
+public class CompactTaskStore implements TaskStore {
+    private static final int PRIORITY_MASK = 0x3;
+    private static final int COMPLETED = 0x4;
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+    private final DescriptionPool pool;
+    private short[] starts = new short[4];
+    private short[] ends = new short[4];
+    private byte[] flags = new byte[4];
+    private int[] descIds = new int[4];
+    private int[] inserted = new int[4]; // Insertion number of each slot; an edited task counts as newly inserted
+    private int insertions;
+    private int size;
+
+    private final List<Task> taskView = new AbstractList<Task>() {
+        @Override public Task get(int i) { return view(i); }
+        @Override public int size() { return size; }
+    };
+    private final EnumMap<Task.Priority, Collection<Task>> priorityViews = new EnumMap<>(Task.Priority.class);
+
+    public CompactTaskStore(DescriptionPool pool) {
+        this.pool = pool;
+        for (Task.Priority p : PRIORITIES) priorityViews.put(p, new PriorityView(p));
+    }
+
+    @Override
+    public Task findConflict(Task task, Task ignored) {
+        int s = minuteOfDay(task.getStartTime());
+        int e = minuteOfDay(task.getEndTime());
+        int skip = (ignored == null) ? -1 : minuteOfDay(ignored.getStartTime());
+        // Same walk as TaskIntervalIndex: start at the last task starting at or before s
+        int i = indexOf(s);
+        if (i < 0) i = Math.max(0, -i - 2);
+        for (; i < size && starts[i] <= e; i++) {
+            if (starts[i] != skip && ends[i] >= s) return view(i);
+        }
+        return null;
+    }
+
+    @Override
+    public Task find(String description) {
+        int[] ids = pool.idsFor(description);
+        if (ids.length == 0) return null;
+        int first = -1;
+        for (int i = 0; i < size; i++) {
+            for (int id : ids) {
+                if (descIds[i] == id && (first < 0 || inserted[i] - inserted[first] < 0)) first = i;
+            }
+        }
+        return (first < 0) ? null : view(first);
+    }
+
+    @Override
+    public Task findAt(LocalTime start) {
+        int i = indexOf(minuteOfDay(start));
+        return (i < 0) ? null : view(i);
+    }
+
+    @Override
+    public void insert(Task task) {
+        int s = minuteOfDay(task.getStartTime());
+        int at = -indexOf(s) - 1;
+        if (size == starts.length) grow();
+        int tail = size - at;
+        System.arraycopy(starts, at, starts, at + 1, tail);
+        System.arraycopy(ends, at, ends, at + 1, tail);
+        System.arraycopy(flags, at, flags, at + 1, tail);
+        System.arraycopy(descIds, at, descIds, at + 1, tail);
+        System.arraycopy(inserted, at, inserted, at + 1, tail);
+        starts[at] = (short) s;
+        ends[at] = (short) minuteOfDay(task.getEndTime());
+        flags[at] = (byte) (task.getPriority().ordinal() | (task.isCompleted() ? COMPLETED : 0));
+        descIds[at] = pool.intern(task.getDescription());
+        inserted[at] = insertions++;
+        size++;
+    }
+
+    @Override
+    public void delete(Task task) {
+        int i = indexOf(minuteOfDay(task.getStartTime()));
+        if (i < 0) return;
+        int tail = size - i - 1;
+        System.arraycopy(starts, i + 1, starts, i, tail);
+        System.arraycopy(ends, i + 1, ends, i, tail);
+        System.arraycopy(flags, i + 1, flags, i, tail);
+        System.arraycopy(descIds, i + 1, descIds, i, tail);
+        System.arraycopy(inserted, i + 1, inserted, i, tail);
+        size--;
+    }
+
+    @Override
+    public void markCompleted(Task task) {
+        int i = indexOf(minuteOfDay(task.getStartTime()));
+        if (i >= 0) flags[i] |= COMPLETED;
+        task.setCompleted(true);
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public Collection<Task> inOrder() { return taskView; }
+
+    @Override
+    public Collection<Task> inOrder(Task.Priority priority) { return priorityViews.get(priority); }
+
+    // Slots sorted by insertion number, which sits in the high half of each key
+    @Override
+    public List<Task> inAddedOrder() {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) keys[i] = ((long) inserted[i] << 32) | i;
+        Arrays.sort(keys);
+        List<Task> out = new ArrayList<>(size);
+        for (long key : keys) out.add(view((int) key));
+        return out;
+    }
+
+    // Task view of slot i; the times are shared instances, so only the Task itself is allocated
+    private Task view(int i) {
+        Task t = new Task(pool.get(descIds[i]), TaskFactory.timeOf(starts[i]), TaskFactory.timeOf(ends[i]),
+                PRIORITIES[flags[i] & PRIORITY_MASK]);
+        if ((flags[i] & COMPLETED) != 0) t.setCompleted(true);
+        return t;
+    }
+
+    // Binary search on start minute, same contract as Arrays.binarySearch
+    private int indexOf(int startMinute) {
+        return Arrays.binarySearch(starts, 0, size, (short) startMinute);
+    }
+
+    private void grow() {
+        int capacity = Math.min(starts.length * 2, 24 * 60);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        descIds = Arrays.copyOf(descIds, capacity);
+        inserted = Arrays.copyOf(inserted, capacity);
+    }
+
+    private static int minuteOfDay(LocalTime t) { return TaskFactory.minuteOfDay(t); }
+
+    // Tasks of one priority in start-time order, filtered while iterating
+    private final class PriorityView extends AbstractCollection<Task> {
+        private final int ordinal;
+
+        PriorityView(Task.Priority priority) { this.ordinal = priority.ordinal(); }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new Iterator<Task>() {
+                private int next = advance(0);
+
+                @Override public boolean hasNext() { return next < size; }
+
+                @Override
+                public Task next() {
+                    if (next >= size) throw new NoSuchElementException();
+                    Task t = view(next);
+                    next = advance(next + 1);
+                    return t;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int n = 0;
+            for (int i = 0; i < size; i++) if ((flags[i] & PRIORITY_MASK) == ordinal) n++;
+            return n;
+        }
+
+        private int advance(int i) {
+            while (i < size && (flags[i] & PRIORITY_MASK) != ordinal) i++;
+            return i;
+        }
+    }
+}
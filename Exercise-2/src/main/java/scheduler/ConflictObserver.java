@@ -0,0 +1,7 @@
+package scheduler;
+
+// ===================== Observer Pattern =====================
+// Interface for notifying conflicts
+public interface ConflictObserver {
+    void notifyConflict(String conflictMessage);
+}
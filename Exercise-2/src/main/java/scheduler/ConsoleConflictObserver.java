@@ -0,0 +1,13 @@
+package scheduler;
+
+// Console implementation of ConflictObserver; shows conflicts through the renderer it is given
+public class ConsoleConflictObserver implements ConflictObserver {
+    private final ScheduleRenderer renderer;
+
+    public ConsoleConflictObserver(ScheduleRenderer renderer) { this.renderer = renderer; }
+
+    @Override
+    public void notifyConflict(String conflictMessage) {
+        renderer.conflict(conflictMessage);
+    }
+}
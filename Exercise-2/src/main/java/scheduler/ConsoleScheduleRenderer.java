@@ -0,0 +1,62 @@
+package scheduler;
+
+import java.util.*;
+import java.io.*;
+import java.time.*;
+
+// Formats into a large buffer instead of an autoflushing stream: a line costs a buffer append, not a write call.
+// Output appears when the buffer fills, at a prompt, and on flush()
+public class ConsoleScheduleRenderer implements ScheduleRenderer {
+    public static final int DEFAULT_BUFFER_CHARS = 1 << 16;
+
+    private final PrintWriter out;
+
+    public ConsoleScheduleRenderer(OutputStream stream) { this(stream, DEFAULT_BUFFER_CHARS); }
+
+    public ConsoleScheduleRenderer(OutputStream stream, int bufferChars) {
+        this(new PrintWriter(new BufferedWriter(new OutputStreamWriter(stream), bufferChars), false));
+    }
+
+    // Render through any writer, e.g. an autoflushing one to compare against the old println output
+    public ConsoleScheduleRenderer(PrintWriter out) { this.out = out; }
+
+    @Override public void taskAdded(Task task) { out.println("Task added successfully. No conflicts."); }
+    @Override public void recurringTaskAdded(RecurringTask task) { out.println("Recurring task added successfully. No conflicts."); }
+    @Override public void taskRemoved(String description) { out.println("Task removed successfully."); }
+    @Override public void recurringTaskRemoved(String description) { out.println("Recurring task removed successfully."); }
+    @Override public void taskUpdated(String description) { out.println("Task updated successfully."); }
+    @Override public void taskCompleted(String description) { out.println("Task marked as completed."); }
+    @Override public void tasksCompleted(int marked, int requested) { out.println(marked + " of " + requested + " tasks marked as completed."); }
+    @Override public void taskNotFound(String description) { out.println("Error: Task not found."); }
+    @Override public void conflict(String message) { out.println(message); }
+
+    @Override
+    public void tasks(Collection<Task> tasks) {
+        if (tasks.isEmpty()) out.println("No tasks scheduled for the day.");
+        for (Task t : tasks) out.println(t);
+    }
+
+    @Override
+    public void tasks(Task.Priority priority, Collection<Task> tasks) {
+        if (tasks.isEmpty()) out.println("No tasks with priority " + priority + ".");
+        for (Task t : tasks) out.println(t);
+    }
+
+    @Override
+    public void agendaDay(LocalDate date, List<Task> tasks, List<Task> recurring) {
+        out.println("--- " + date + " (" + date.getDayOfWeek() + ") ---");
+        for (Task t : tasks) out.println(recurring.contains(t) ? t + " (Recurring)" : t.toString());
+    }
+
+    @Override public void emptyAgenda(LocalDate from, LocalDate to) { out.println("No tasks scheduled from " + from + " to " + to + "."); }
+
+    @Override public void println(String text) { out.println(text); }
+
+    @Override
+    public void prompt(String text) {
+        out.print(text);
+        out.flush();
+    }
+
+    @Override public void flush() { out.flush(); }
+}
@@ -0,0 +1,415 @@
+package scheduler;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+import java.time.*;
+
+// ===================== Crew Timeline =====================
+// One crew member's schedule: a TaskStore (indexed or compact) behind a single lock
+// Every operation (including conflict check plus insert) is atomic per timeline, and
+// timelines of different crew members never contend with each other
+public class CrewTimeline {
+    // Shared by every timeline; hot enough that latencies are sampled
+    private static final LatencyHistogram ADD = Metrics.global().histogram("schedule.add", 32);
+    private static final LatencyHistogram REMOVE = Metrics.global().histogram("schedule.remove", 32);
+    private static final LatencyHistogram CONFLICT_CHECK = Metrics.global().histogram("schedule.conflictCheck", 32);
+    private static final LongAdder PLACEMENTS = Metrics.global().counter("schedule.placements"); // Adds and edits
+    private static final LongAdder CONFLICTS = Metrics.global().counter("schedule.conflicts");
+
+    static {
+        Metrics.global().gauge("schedule.conflicts.perMille", () -> {
+            long placements = PLACEMENTS.sum();
+            return (placements == 0) ? 0 : CONFLICTS.sum() * 1000 / placements;
+        });
+    }
+
+    private final String crewId;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TaskStore store; // Tasks of this timeline, ordered by start time
+    private ScheduleJournal journal; // Write-ahead log for changes, null when persistence is off
+    private long journalSeq; // Sequence number of the last change written to the journal
+    private GapIndex gaps; // Built by the first free-slot query, then kept in sync with the store
+    private final LocalDate date; // Day this timeline covers, null for the undated daily schedule
+    private final RecurringSchedule recurring; // The crew's recurring tasks, checked on dated timelines only
+
+    public CrewTimeline(String crewId) { this(crewId, null, new IndexedTaskStore()); }
+
+    public CrewTimeline(String crewId, ScheduleJournal journal, TaskStore store) {
+        this(crewId, journal, store, null, null);
+    }
+
+    public CrewTimeline(String crewId, ScheduleJournal journal, TaskStore store, LocalDate date, RecurringSchedule recurring) {
+        this.crewId = crewId;
+        this.journal = journal;
+        this.store = store;
+        this.date = date;
+        this.recurring = recurring;
+    }
+
+    public LocalDate getDate() { return date; }
+
+    public String getCrewId() { return crewId; }
+
+    // Start writing changes to the journal; lastSeq is the last change already recovered for this crew
+    void attachJournal(ScheduleJournal journal, long lastSeq) {
+        lock.lock();
+        try {
+            this.journal = journal;
+            this.journalSeq = lastSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Add a task unless it conflicts with an existing one
+    public ScheduleResult add(Task task) {
+        long start = ADD.startTimer();
+        PLACEMENTS.increment();
+        lockForUpdate();
+        try {
+            Task conflict = findConflict(task, null);
+            if (conflict != null) {
+                CONFLICTS.increment();
+                return ScheduleResult.conflict(conflict);
+            }
+            if (journal != null) journalSeq = journal.logAdd(crewId, task);
+            insert(task);
+            return ScheduleResult.applied(task);
+        } finally {
+            unlockForUpdate();
+            ADD.recordSince(start);
+        }
+    }
+
+    // One-off task of this timeline that conflicts with the given one; recurring occurrences are not included,
+    // since RecurringSchedule calls this to check a new series against the days and checks series itself
+    public Task findConflict(Task task) {
+        lock.lock();
+        try {
+            return store.findConflict(task, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Remove the first-added task with the given description
+    public ScheduleResult remove(String description) { return remove(description, null); }
+
+    // Replace a task; the updated task must not conflict with any other task
+    public ScheduleResult edit(String description, Task updatedTask) { return edit(description, null, updatedTask); }
+
+    public ScheduleResult markCompleted(String description) { return markCompleted(description, null); }
+
+    // Journal replay: changes to the task starting at the given time, which is how the journal identifies a task
+    ScheduleResult removeAt(LocalTime start) { return remove(null, start); }
+    ScheduleResult editAt(LocalTime start, Task updatedTask) { return edit(null, start, updatedTask); }
+    ScheduleResult markCompletedAt(LocalTime start) { return markCompleted(null, start); }
+
+    // Caller holds the lock; looks up by start time when one is given, otherwise by description
+    private Task lookup(String description, LocalTime start) {
+        return (start != null) ? store.findAt(start) : store.find(description);
+    }
+
+    private ScheduleResult remove(String description, LocalTime at) {
+        long start = REMOVE.startTimer();
+        lock.lock();
+        try {
+            Task t = lookup(description, at);
+            if (t == null) return ScheduleResult.notFound();
+            if (journal != null) journalSeq = journal.logRemove(crewId, t);
+            delete(t);
+            return ScheduleResult.applied(t);
+        } finally {
+            lock.unlock();
+            REMOVE.recordSince(start);
+        }
+    }
+
+    private ScheduleResult edit(String description, LocalTime at, Task updatedTask) {
+        lockForUpdate();
+        try {
+            Task t = lookup(description, at);
+            if (t == null) return ScheduleResult.notFound();
+            PLACEMENTS.increment();
+            Task conflict = findConflict(updatedTask, t);
+            if (conflict != null) {
+                CONFLICTS.increment();
+                return ScheduleResult.conflict(conflict);
+            }
+            if (journal != null) journalSeq = journal.logEdit(crewId, t, updatedTask);
+            delete(t);
+            insert(updatedTask);
+            return ScheduleResult.applied(updatedTask);
+        } finally {
+            unlockForUpdate();
+        }
+    }
+
+    private ScheduleResult markCompleted(String description, LocalTime at) {
+        lock.lock();
+        try {
+            Task t = lookup(description, at);
+            if (t == null) return ScheduleResult.notFound();
+            if (journal != null) journalSeq = journal.logComplete(crewId, t);
+            store.markCompleted(t);
+            return ScheduleResult.applied(t);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Mark a batch of tasks under one lock acquisition; with the indexed store each lookup is O(1), so the batch runs in linear time
+    // Descriptions that were not found are added to the missing list (may be null)
+    public int markCompleted(Collection<String> descriptions, List<String> missing) {
+        int marked = 0;
+        lock.lock();
+        try {
+            for (String description : descriptions) {
+                Task t = store.find(description);
+                if (t == null) {
+                    if (missing != null) missing.add(description);
+                    continue;
+                }
+                if (journal != null) journalSeq = journal.logComplete(crewId, t);
+                store.markCompleted(t);
+                marked++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return marked;
+    }
+
+    // Insert a batch already sorted by start time, in one sweep over the batch and the existing tasks
+    // A row is rejected if it overlaps an existing task or an earlier-starting row of the same batch
+    public void addSorted(List<ImportReport.Row> rows, ImportReport report) {
+        lockForUpdate();
+        try {
+            Iterator<Task> existing = store.inOrder().iterator();
+            Task next = existing.hasNext() ? existing.next() : null;
+            ImportReport.Row last = null; // Last accepted row; it has the latest end of all accepted rows
+            List<Task> accepted = new ArrayList<>();
+
+            for (ImportReport.Row row : rows) {
+                Task task = row.task;
+                // Existing tasks ending before this start cannot conflict with this or any later row
+                while (next != null && next.getEndTime().isBefore(task.getStartTime())) {
+                    next = existing.hasNext() ? existing.next() : null;
+                }
+                Task occurrence;
+                if (next != null && TaskIntervalIndex.isConflict(task, next)) {
+                    report.reject(row.line, row.text,
+                            "Conflicts with existing task \"" + next.getDescription() + "\".");
+                } else if ((occurrence = recurringConflict(task)) != null) {
+                    report.reject(row.line, row.text,
+                            "Conflicts with recurring task \"" + occurrence.getDescription() + "\".");
+                } else if (last != null && TaskIntervalIndex.isConflict(task, last.task)) {
+                    report.reject(row.line, row.text,
+                            "Conflicts with imported task \"" + last.task.getDescription() + "\" (line " + last.line + ").");
+                } else {
+                    accepted.add(task);
+                    last = row;
+                }
+            }
+
+            // Insert after the sweep so the existing-task iterator stays valid
+            for (Task task : accepted) {
+                if (journal != null) journalSeq = journal.logAdd(crewId, task);
+                insert(task);
+                report.accept(task);
+            }
+        } finally {
+            unlockForUpdate();
+        }
+    }
+
+    // Up to k earliest slots of the given length inside [from, to], at most one per free gap
+    public List<FreeSlot> findFreeSlots(int minutes, LocalTime from, LocalTime to, int k) {
+        if (minutes <= 0) throw new IllegalArgumentException("Error: Duration must be at least one minute.");
+        if (k < 0) throw new IllegalArgumentException("Error: Slot count must not be negative.");
+        if (k == 0) return new ArrayList<>();
+        lockForUpdate();
+        try {
+            int[] starts = findSlots(minutes, TaskFactory.minuteOfDay(from), TaskFactory.minuteOfDay(to), k);
+            List<FreeSlot> slots = new ArrayList<>(starts.length);
+            for (int s : starts) slots.add(new FreeSlot(TaskFactory.timeOf(s), TaskFactory.timeOf(s + minutes)));
+            return slots;
+        } finally {
+            unlockForUpdate();
+        }
+    }
+
+    // Earliest slot of the given length inside [from, to], or null if none is free
+    public FreeSlot findFreeSlot(int minutes, LocalTime from, LocalTime to) {
+        List<FreeSlot> slots = findFreeSlots(minutes, from, to, 1);
+        return slots.isEmpty() ? null : slots.get(0);
+    }
+
+    // Place one task at the earliest free slot of its window, atomically; NOT_FOUND if nothing fits
+    public ScheduleResult place(PlacementRequest request) {
+        lockForUpdate();
+        try {
+            int[] start = findSlots(request.getMinutes(), TaskFactory.minuteOfDay(request.getWindowStart()),
+                    TaskFactory.minuteOfDay(request.getWindowEnd()), 1);
+            if (start.length == 0) return ScheduleResult.notFound();
+            Task task = new Task(request.getDescription(), TaskFactory.timeOf(start[0]),
+                    TaskFactory.timeOf(start[0] + request.getMinutes()), request.getPriority());
+            if (journal != null) journalSeq = journal.logAdd(crewId, task);
+            insert(task);
+            return ScheduleResult.applied(task);
+        } finally {
+            unlockForUpdate();
+        }
+    }
+
+    // Greedy placement of a batch: higher priorities first, then earliest window end, then longest first,
+    // each at the earliest slot left in its window. Results are returned in request order
+    public List<ScheduleResult> autoPlace(List<PlacementRequest> requests) {
+        Integer[] order = new Integer[requests.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.<Integer, Task.Priority>comparing(i -> requests.get(i).getPriority())
+                .thenComparing(i -> requests.get(i).getWindowEnd())
+                .thenComparing(i -> -requests.get(i).getMinutes()));
+
+        ScheduleResult[] results = new ScheduleResult[order.length];
+        lockForUpdate();
+        try {
+            for (int i : order) results[i] = place(requests.get(i));
+        } finally {
+            unlockForUpdate();
+        }
+        return Arrays.asList(results);
+    }
+
+    // Copy the tasks into the given list (duplicates first-added first) and return the journal sequence they reflect, as one atomic step
+    long snapshotInto(List<Task> out) {
+        lock.lock();
+        try {
+            out.addAll(store.inAddedOrder());
+            return journalSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Copy of the tasks in start-time order, safe to use while other threads edit the timeline
+    public List<Task> snapshot() {
+        lock.lock();
+        try {
+            return new ArrayList<>(store.inOrder());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Task> snapshot(Task.Priority priority) {
+        lock.lock();
+        try {
+            return new ArrayList<>(store.inOrder(priority));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Hand the live tasks in start-time order to the reader under the lock, without copying them
+    // Changes to this timeline wait until the reader returns, so it should not block for long
+    public void read(Consumer<Collection<Task>> reader) {
+        lock.lock();
+        try {
+            reader.accept(store.inOrder());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void read(Task.Priority priority, Consumer<Collection<Task>> reader) {
+        lock.lock();
+        try {
+            reader.accept(store.inOrder(priority));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Live read-only views with no copying; only safe when no other thread is editing this timeline
+    public Collection<Task> view() { return store.inOrder(); }
+    public Collection<Task> view(Task.Priority priority) { return store.inOrder(priority); }
+
+    // Changes that check for conflicts also hold the recurring schedule's read lock, taken first,
+    // so a recurring task added meanwhile cannot miss them
+    private void lockForUpdate() {
+        if (recurring != null) recurring.readLock().lock();
+        lock.lock();
+    }
+
+    private void unlockForUpdate() {
+        lock.unlock();
+        if (recurring != null) recurring.readLock().unlock();
+    }
+
+    // Conflicting task of this timeline or occurrence of a recurring task on this date; caller holds the locks
+    private Task findConflict(Task task, Task ignored) {
+        long start = CONFLICT_CHECK.startTimer();
+        Task conflict = store.findConflict(task, ignored);
+        if (conflict == null) conflict = recurringConflict(task);
+        CONFLICT_CHECK.recordSince(start);
+        return conflict;
+    }
+
+    private Task recurringConflict(Task task) {
+        return (recurring == null) ? null : recurring.findConflict(date, task);
+    }
+
+    // Earliest slots from the gap index, skipping any that collide with a recurring task on this date
+    private int[] findSlots(int minutes, int from, int to, int k) {
+        if (recurring == null || recurring.isEmpty()) return gaps().find(minutes, from, to, k);
+        int[] found = new int[k];
+        int count = 0;
+        while (count < k && from <= to) {
+            int[] next = gaps().find(minutes, from, to, 1);
+            if (next.length == 0) break;
+            int s = next[0];
+            Task occurrence = recurringConflict(new Task("", TaskFactory.timeOf(s), TaskFactory.timeOf(s + minutes), Task.Priority.LOW));
+            if (occurrence == null) {
+                found[count++] = s;
+                from = gaps().gapEnd(s) + 1; // At most one slot per free gap, as in GapIndex.find
+            } else {
+                from = TaskFactory.minuteOfDay(occurrence.getEndTime()) + 1;
+            }
+            if (from >= GapIndex.MINUTES) break;
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    // Keep the store and the gap index in step
+    private void insert(Task task) {
+        store.insert(task);
+        if (gaps != null) gaps.occupy(TaskFactory.minuteOfDay(task.getStartTime()), TaskFactory.minuteOfDay(task.getEndTime()));
+    }
+
+    private void delete(Task task) {
+        store.delete(task);
+        if (gaps != null) gaps.release(TaskFactory.minuteOfDay(task.getStartTime()), TaskFactory.minuteOfDay(task.getEndTime()));
+    }
+
+    private GapIndex gaps() {
+        if (gaps == null) {
+            gaps = new GapIndex();
+            for (Task t : store.inOrder()) {
+                gaps.occupy(TaskFactory.minuteOfDay(t.getStartTime()), TaskFactory.minuteOfDay(t.getEndTime()));
+            }
+        }
+        return gaps;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return store.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package scheduler;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+// Dictionary encoding for task descriptions, shared by all compact stores of a ScheduleManager
+// Each distinct description is stored once and referenced by an int id; ids are never reused
+public class DescriptionPool {
+    private static final int[] NO_IDS = new int[0];
+
+    private final Map<String, Integer> ids = new HashMap<>(); // Guarded by this
+    private final ConcurrentHashMap<String, int[]> idsByKey = new ConcurrentHashMap<>(); // Case-folded -> ids
+    private volatile String[] strings = new String[1024]; // Grown under the monitor, read without locking
+    private int count; // Guarded by this
+
+    public synchronized int intern(String description) {
+        Integer id = ids.get(description);
+        if (id != null) return id;
+        if (count == strings.length) strings = Arrays.copyOf(strings, count * 2);
+        strings[count] = description;
+        ids.put(description, count);
+        idsByKey.merge(IndexedTaskStore.descriptionKey(description), new int[] { count }, DescriptionPool::concat);
+        return count++;
+    }
+
+    public String get(int id) { return strings[id]; }
+
+    // Ids of every spelling that matches the description ignoring case
+    public int[] idsFor(String description) {
+        return idsByKey.getOrDefault(IndexedTaskStore.descriptionKey(description), NO_IDS);
+    }
+
+    public synchronized int size() { return count; }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] both = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, both, a.length, b.length);
+        return both;
+    }
+}
@@ -0,0 +1,21 @@
+package scheduler;
+
+import java.time.*;
+
+// ===================== Free Slot Finder =====================
+// A free time window returned by slot queries
+public class FreeSlot {
+    private final LocalTime start;
+    private final LocalTime end;
+
+    public FreeSlot(LocalTime start, LocalTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalTime getStartTime() { return start; }
+    public LocalTime getEndTime() { return end; }
+
+    @Override
+    public String toString() { return start + " - " + end; }
+}
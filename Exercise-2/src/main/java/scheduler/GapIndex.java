@@ -0,0 +1,102 @@
+package scheduler;
+
+import java.util.*;
+
+// Free gaps of one day's timeline, as a max segment tree over the 1440 minutes of the day
+// Leaf p holds (last free minute of the gap - p) when a free gap starts at minute p, otherwise -1,
+// so a task of d minutes fits in a gap whose value is at least d (boundary minutes conflict, as in isConflict)
+// Occupying or releasing an interval touches at most three leaves, and queries descend the tree: O(log n)
+public class GapIndex {
+    static final int MINUTES = 24 * 60;
+    private static final int LEAVES = 2048; // Next power of two above MINUTES
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final short[] tree = new short[2 * LEAVES];
+
+    public GapIndex() {
+        Arrays.fill(tree, (short) -1);
+        set(0, MINUTES - 1); // The whole day is free
+    }
+
+    // Mark [s, e] as taken; the interval must lie inside a single free gap
+    public void occupy(int s, int e) {
+        int p = lastGapAtOrBefore(s);
+        int q = p + tree[LEAVES + p];
+        set(p, -1);
+        if (s > p) set(p, s - 1 - p);
+        if (q > e) set(e + 1, q - e - 1);
+    }
+
+    // Mark [s, e] as free again, merging with the neighbouring gaps
+    public void release(int s, int e) {
+        int from = s, to = e;
+        int left = (s > 0) ? lastGapAtOrBefore(s - 1) : -1;
+        if (left >= 0 && left + tree[LEAVES + left] == s - 1) {
+            from = left;
+            set(left, -1);
+        }
+        if (e + 1 < MINUTES && tree[LEAVES + e + 1] >= 0) {
+            to = e + 1 + tree[LEAVES + e + 1];
+            set(e + 1, -1);
+        }
+        set(from, to - from);
+    }
+
+    // Start minutes of up to k earliest slots of the given length inside [from, to], one per free gap
+    public int[] find(int minutes, int from, int to, int k) {
+        if (k < 0) throw new IllegalArgumentException("Error: Slot count must not be negative.");
+        if (k == 0) return NO_SLOTS;
+        int[] found = new int[k];
+        int count = 0;
+        // The gap containing 'from' may have started earlier; it is usable from 'from' onwards
+        int g = lastGapAtOrBefore(from);
+        if (g >= 0 && from + minutes <= g + tree[LEAVES + g] && from + minutes <= to) found[count++] = from;
+        int p = from + 1;
+        while (count < k) {
+            p = firstGapAtOrAfter(1, 0, LEAVES - 1, p, minutes);
+            if (p < 0 || p + minutes > to) break;
+            found[count++] = p;
+            p++;
+        }
+        return (count == k) ? found : Arrays.copyOf(found, count);
+    }
+
+    // Last free minute of the gap containing the given minute, or -1 if that minute is taken
+    public int gapEnd(int minute) {
+        int p = lastGapAtOrBefore(minute);
+        if (p < 0) return -1;
+        int end = p + tree[LEAVES + p];
+        return (end >= minute) ? end : -1;
+    }
+
+    private void set(int p, int value) {
+        int node = LEAVES + p;
+        tree[node] = (short) value;
+        for (node >>= 1; node > 0; node >>= 1) {
+            tree[node] = (short) Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    // Leftmost gap starting at or after 'from' that fits 'minutes'
+    private int firstGapAtOrAfter(int node, int lo, int hi, int from, int minutes) {
+        if (hi < from || tree[node] < minutes) return -1;
+        if (lo == hi) return lo;
+        int mid = (lo + hi) >>> 1;
+        int left = firstGapAtOrAfter(2 * node, lo, mid, from, minutes);
+        return (left >= 0) ? left : firstGapAtOrAfter(2 * node + 1, mid + 1, hi, from, minutes);
+    }
+
+    // Start of the last gap starting at or before minute x, or -1
+    private int lastGapAtOrBefore(int x) {
+        return lastGap(1, 0, LEAVES - 1, x);
+    }
+
+    private int lastGap(int node, int lo, int hi, int x) {
+        if (lo > x || tree[node] < 0) return -1;
+        if (lo == hi) return lo;
+        int mid = (lo + hi) >>> 1;
+        int right = lastGap(2 * node + 1, mid + 1, hi, x);
+        return (right >= 0) ? right : lastGap(2 * node, lo, mid, x);
+    }
+
+}
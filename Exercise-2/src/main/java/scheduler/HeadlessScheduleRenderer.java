@@ -0,0 +1,24 @@
+package scheduler;
+
+import java.util.*;
+import java.time.*;
+
+// Drops every report without formatting it, for embedding and load tests
+public class HeadlessScheduleRenderer implements ScheduleRenderer {
+    @Override public void taskAdded(Task task) { }
+    @Override public void recurringTaskAdded(RecurringTask task) { }
+    @Override public void taskRemoved(String description) { }
+    @Override public void recurringTaskRemoved(String description) { }
+    @Override public void taskUpdated(String description) { }
+    @Override public void taskCompleted(String description) { }
+    @Override public void tasksCompleted(int marked, int requested) { }
+    @Override public void taskNotFound(String description) { }
+    @Override public void conflict(String message) { }
+    @Override public void tasks(Collection<Task> tasks) { }
+    @Override public void tasks(Task.Priority priority, Collection<Task> tasks) { }
+    @Override public void agendaDay(LocalDate date, List<Task> tasks, List<Task> recurring) { }
+    @Override public void emptyAgenda(LocalDate from, LocalDate to) { }
+    @Override public void println(String text) { }
+    @Override public void prompt(String text) { }
+    @Override public void flush() { }
+}
@@ -0,0 +1,44 @@
+package scheduler;
+
+import java.util.*;
+
+// ===================== Batch Import =====================
+// Structured result of a batch import: accepted tasks (in start-time order) and rejected rows with reasons
+public class ImportReport {
+    // A parsed row waiting to be placed, remembering its source line for error reporting
+    static final class Row {
+        final int line;
+        final String text;
+        final Task task;
+        Row(int line, String text, Task task) { this.line = line; this.text = text; this.task = task; }
+    }
+
+    // A row that was not imported: its line number, its text as read and why
+    public static final class Rejection {
+        private final int line;
+        private final String text;
+        private final String reason;
+        Rejection(int line, String text, String reason) { this.line = line; this.text = text; this.reason = reason; }
+        public int getLine() { return line; }
+        public String getText() { return text; }
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() { return "Line " + line + ": " + reason + " (" + text + ")"; }
+    }
+
+    private final List<Task> accepted = new ArrayList<>();
+    private final List<Rejection> rejected = new ArrayList<>();
+
+    void accept(Task task) { accepted.add(task); }
+    void reject(int line, String text, String reason) { rejected.add(new Rejection(line, text, reason)); }
+
+    // Keep rejections in file order once parsing and conflict sweeping are both done
+    void finish() { rejected.sort(Comparator.comparingInt(Rejection::getLine)); }
+
+    public List<Task> getAccepted() { return accepted; }
+    public List<Rejection> getRejected() { return rejected; }
+
+    @Override
+    public String toString() { return accepted.size() + " tasks imported, " + rejected.size() + " rejected."; }
+}
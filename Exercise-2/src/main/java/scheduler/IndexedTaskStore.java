@@ -0,0 +1,80 @@
+package scheduler;
+
+import java.util.*;
+import java.time.*;
+
+// Default store: Task objects held in the interval index, a description index and per-priority ordered views
+// Every operation is O(log n) or O(1); duplicate descriptions resolve to the first-added task (an edit re-adds it)
+public class IndexedTaskStore implements TaskStore {
+    private final TaskIntervalIndex tasks = new TaskIntervalIndex(); // Ordered by start time
+    private final Map<String, Deque<Task>> byDescription = new HashMap<>(); // Case-folded description -> tasks, in insertion order
+    private final EnumMap<Task.Priority, TreeMap<LocalTime, Task>> byPriority = new EnumMap<>(Task.Priority.class);
+    private final Collection<Task> taskView; // Read-only views handed out to callers, created once
+    private final EnumMap<Task.Priority, Collection<Task>> priorityViews = new EnumMap<>(Task.Priority.class);
+
+    public IndexedTaskStore() {
+        for (Task.Priority p : Task.Priority.values()) {
+            TreeMap<LocalTime, Task> ordered = new TreeMap<>();
+            byPriority.put(p, ordered);
+            priorityViews.put(p, Collections.unmodifiableCollection(ordered.values()));
+        }
+        taskView = Collections.unmodifiableCollection(tasks.inOrder());
+    }
+
+    @Override
+    public Task findConflict(Task task, Task ignored) { return tasks.findConflict(task, ignored); }
+
+    @Override
+    public Task find(String description) {
+        Deque<Task> matches = byDescription.get(descriptionKey(description));
+        return (matches == null) ? null : matches.peekFirst();
+    }
+
+    @Override
+    public Task findAt(LocalTime start) { return tasks.get(start); }
+
+    // Add a task to the interval, description and priority indexes together
+    @Override
+    public void insert(Task task) {
+        tasks.add(task);
+        byDescription.computeIfAbsent(descriptionKey(task.getDescription()), k -> new ArrayDeque<>()).addLast(task);
+        byPriority.get(task.getPriority()).put(task.getStartTime(), task);
+    }
+
+    // Remove a task from all indexes
+    @Override
+    public void delete(Task task) {
+        tasks.remove(task);
+        byPriority.get(task.getPriority()).remove(task.getStartTime(), task);
+        String key = descriptionKey(task.getDescription());
+        Deque<Task> matches = byDescription.get(key);
+        if (matches == null) return;
+        // The task being removed is almost always the first match, so this is O(1) in practice
+        matches.removeFirstOccurrence(task);
+        if (matches.isEmpty()) byDescription.remove(key);
+    }
+
+    @Override
+    public void markCompleted(Task task) { task.setCompleted(true); }
+
+    @Override
+    public int size() { return tasks.size(); }
+
+    @Override
+    public Collection<Task> inOrder() { return taskView; }
+
+    @Override
+    public Collection<Task> inOrder(Task.Priority priority) { return priorityViews.get(priority); }
+
+    @Override
+    public List<Task> inAddedOrder() {
+        List<Task> out = new ArrayList<>(tasks.size());
+        for (Deque<Task> matches : byDescription.values()) out.addAll(matches);
+        return out;
+    }
+
+    // Case-folded key so lookups match equalsIgnoreCase semantics
+    static String descriptionKey(String description) {
+        return description.toLowerCase(Locale.ROOT);
+    }
+}
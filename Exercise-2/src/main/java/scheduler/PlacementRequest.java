@@ -0,0 +1,27 @@
+package scheduler;
+
+import java.time.*;
+
+// A task to be placed automatically: how long it takes and the window it must fit in
+public class PlacementRequest {
+    private final String description;
+    private final int minutes;
+    private final Task.Priority priority;
+    private final LocalTime windowStart;
+    private final LocalTime windowEnd;
+
+    public PlacementRequest(String description, int minutes, Task.Priority priority, LocalTime windowStart, LocalTime windowEnd) {
+        if (minutes <= 0) throw new IllegalArgumentException("Error: Duration must be at least one minute.");
+        this.description = description;
+        this.minutes = minutes;
+        this.priority = priority;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+    }
+
+    public String getDescription() { return description; }
+    public int getMinutes() { return minutes; }
+    public Task.Priority getPriority() { return priority; }
+    public LocalTime getWindowStart() { return windowStart; }
+    public LocalTime getWindowEnd() { return windowEnd; }
+}
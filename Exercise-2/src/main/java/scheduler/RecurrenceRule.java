@@ -0,0 +1,149 @@
+package scheduler;
+
+import java.util.*;
+import java.math.BigInteger;
+import java.time.*;
+import java.time.temporal.TemporalAdjusters;
+
+// ===================== Recurring Tasks =====================
+// When a recurring task happens: every N days, or on chosen weekdays every N weeks, from a start date
+// until an optional end date. Each rule is held as a few arithmetic progressions of epoch days
+// (one per weekday for weekly rules), so membership and overlap are computed, never expanded
+public class RecurrenceRule {
+    public enum Frequency { DAILY, WEEKLY }
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> days;
+    private final LocalDate start;
+    private final LocalDate until; // Inclusive, null for no end
+    private final long[] firsts;  // First occurrence (epoch day) of each progression
+    private final long period;    // Days between occurrences of one progression
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> days, LocalDate start, LocalDate until) {
+        if (interval <= 0) throw new IllegalArgumentException("Error: Recurrence interval must be at least 1.");
+        if (until != null && until.isBefore(start)) throw new IllegalArgumentException("Error: Recurrence ends before it starts.");
+        this.frequency = frequency;
+        this.interval = interval;
+        this.days = days;
+        this.start = start;
+        this.until = until;
+        if (frequency == Frequency.DAILY) {
+            period = interval;
+            firsts = new long[] { start.toEpochDay() };
+        } else {
+            // Weeks are counted from the week containing the start date, so a weekday that already
+            // passed in that week first occurs one interval later
+            period = 7L * interval;
+            LocalDate weekStart = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            firsts = new long[days.size()];
+            int i = 0;
+            for (DayOfWeek d : days) {
+                long first = weekStart.toEpochDay() + (d.getValue() - 1);
+                if (first < start.toEpochDay()) first += period;
+                firsts[i++] = first;
+            }
+        }
+    }
+
+    public static RecurrenceRule daily(LocalDate start, int everyDays, LocalDate until) {
+        return new RecurrenceRule(Frequency.DAILY, everyDays, EnumSet.noneOf(DayOfWeek.class), start, until);
+    }
+
+    public static RecurrenceRule weekly(LocalDate start, int everyWeeks, Set<DayOfWeek> days, LocalDate until) {
+        if (days.isEmpty()) throw new IllegalArgumentException("Error: Weekly recurrence needs at least one weekday.");
+        return new RecurrenceRule(Frequency.WEEKLY, everyWeeks, EnumSet.copyOf(days), start, until);
+    }
+
+    public Frequency getFrequency() { return frequency; }
+    public int getInterval() { return interval; }
+    public Set<DayOfWeek> getDays() { return Collections.unmodifiableSet(days); }
+    public LocalDate getStart() { return start; }
+    public LocalDate getUntil() { return until; }
+
+    public boolean occursOn(LocalDate date) {
+        long d = date.toEpochDay();
+        if (until != null && d > until.toEpochDay()) return false;
+        for (long first : firsts) {
+            if (d >= first && (d - first) % period == 0) return true;
+        }
+        return false;
+    }
+
+    // Earliest date both rules occur on, or null; solved per pair of progressions with the Chinese remainder theorem
+    public LocalDate firstCommonDate(RecurrenceRule other) {
+        long limit = Math.min(Math.min(lastDay(), other.lastDay()), LocalDate.MAX.toEpochDay());
+        long best = Long.MAX_VALUE;
+        for (long a : firsts) {
+            for (long b : other.firsts) {
+                long common = firstCommon(a, period, b, other.period);
+                if (common >= 0 && common <= limit) best = Math.min(best, common);
+            }
+        }
+        return (best == Long.MAX_VALUE) ? null : LocalDate.ofEpochDay(best);
+    }
+
+    // Occurrences in [from, to] in date order, expanded only across that window
+    public List<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+        long lo = from.toEpochDay();
+        long hi = Math.min(to.toEpochDay(), lastDay());
+        List<LocalDate> dates = new ArrayList<>();
+        for (long first : firsts) {
+            long d = (lo <= first) ? first : first + ceilDiv(lo - first, period) * period;
+            for (; d <= hi; d += period) dates.add(LocalDate.ofEpochDay(d));
+        }
+        if (firsts.length > 1) Collections.sort(dates);
+        return dates;
+    }
+
+    private long lastDay() { return (until == null) ? Long.MAX_VALUE : until.toEpochDay(); }
+
+    // Smallest x >= max(a, b) with x = a (mod p) and x = b (mod q), or -1 if the progressions never meet
+    // or only meet beyond the range of a long (far past any date)
+    private static long firstCommon(long a, long p, long b, long q) {
+        long g = gcd(p, q);
+        if (Math.floorMod(b - a, g) != 0) return -1;
+        // x = a + p * k, with p * k = (b - a) (mod q)  =>  k = ((b - a) / g) * inverse(p / g) (mod q / g)
+        long m = q / g;
+        long k = (m == 1) ? 0 : mulMod(Math.floorMod((b - a) / g, m), inverse(Math.floorMod(p / g, m), m), m);
+        try {
+            long x = Math.addExact(a, Math.multiplyExact(p, k));
+            long floor = Math.max(a, b);
+            if (x < floor) {
+                long lcm = Math.multiplyExact(p / g, q);
+                x = Math.addExact(x, Math.multiplyExact(ceilDiv(floor - x, lcm), lcm));
+            }
+            return x;
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+
+    // x * y mod m for 0 <= x, y < m; the product of a weekly and a daily period can exceed a long
+    private static long mulMod(long x, long y, long m) {
+        if (Math.multiplyHigh(x, y) == 0 && x * y >= 0) return (x * y) % m;
+        return BigInteger.valueOf(x).multiply(BigInteger.valueOf(y)).mod(BigInteger.valueOf(m)).longValue();
+    }
+
+    private static long gcd(long a, long b) { return (b == 0) ? a : gcd(b, a % b); }
+
+    // Modular inverse of a mod m (a and m coprime), by the extended Euclidean algorithm
+    private static long inverse(long a, long m) {
+        long oldR = a, r = m, oldS = 1, s = 0;
+        while (r != 0) {
+            long quotient = oldR / r;
+            long t = oldR - quotient * r; oldR = r; r = t;
+            t = oldS - quotient * s; oldS = s; s = t;
+        }
+        return Math.floorMod(oldS, m);
+    }
+
+    private static long ceilDiv(long x, long y) { return -Math.floorDiv(-x, y); }
+
+    @Override
+    public String toString() {
+        String every = (interval == 1) ? "" : " (every " + interval + ")";
+        String when = (frequency == Frequency.DAILY) ? "Daily" + every : "Weekly on " + days + every;
+        return when + " from " + start + ((until == null) ? "" : " until " + until);
+    }
+}
@@ -0,0 +1,141 @@
+package scheduler;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+import java.time.*;
+
+// The recurring tasks of one crew member, plus the dated timelines they have to be checked against
+// Dated timelines hold the read lock while they check and insert, and adding a series takes the write lock,
+// so a new one-off task and a new series can never both slip past each other
+// Series changes are journaled under the write lock, like timeline changes under the timeline's lock
+public class RecurringSchedule {
+    private final String crewId;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<RecurringTask> series = new CopyOnWriteArrayList<>();
+    private final ConcurrentSkipListMap<LocalDate, CrewTimeline> days = new ConcurrentSkipListMap<>();
+    private ScheduleJournal journal; // Guarded by the write lock; null when persistence is off
+    private long journalSeq; // Sequence number of the last series change written to the journal
+
+    public RecurringSchedule(String crewId, ScheduleJournal journal) {
+        this.crewId = crewId;
+        this.journal = journal;
+    }
+
+    public String getCrewId() { return crewId; }
+
+    Lock readLock() { return lock.readLock(); }
+
+    // Held by the journal while it copies the series and the dated timelines, so the copy is consistent
+    Lock writeLock() { return lock.writeLock(); }
+
+    void register(LocalDate date, CrewTimeline timeline) { days.put(date, timeline); }
+
+    // Dated timelines of this crew member in date order
+    Collection<CrewTimeline> days() { return days.values(); }
+
+    // Start writing series changes to the journal; lastSeq is the last change already recovered for this crew
+    void attachJournal(ScheduleJournal journal, long lastSeq) {
+        lock.writeLock().lock();
+        try {
+            this.journal = journal;
+            this.journalSeq = lastSeq;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isEmpty() { return series.isEmpty(); }
+
+    public List<RecurringTask> getSeries() { return Collections.unmodifiableList(series); }
+
+    // Add a series unless one of its occurrences overlaps another series or a one-off task on a dated timeline
+    public ScheduleResult add(RecurringTask task) {
+        lock.writeLock().lock();
+        try {
+            Task instance = task.instance();
+            for (RecurringTask other : series) {
+                if (TaskIntervalIndex.isConflict(instance, other.instance())
+                        && task.getRule().firstCommonDate(other.getRule()) != null) {
+                    return ScheduleResult.conflict(other.instance());
+                }
+            }
+            // Only days that actually hold one-off tasks are visited
+            RecurrenceRule rule = task.getRule();
+            NavigableMap<LocalDate, CrewTimeline> range = (rule.getUntil() == null)
+                    ? days.tailMap(rule.getStart(), true)
+                    : days.subMap(rule.getStart(), true, rule.getUntil(), true);
+            for (Map.Entry<LocalDate, CrewTimeline> day : range.entrySet()) {
+                if (!rule.occursOn(day.getKey())) continue;
+                Task conflict = day.getValue().findConflict(instance);
+                if (conflict != null) return ScheduleResult.conflict(conflict);
+            }
+            if (journal != null) journalSeq = journal.logSeriesAdd(crewId, task);
+            series.add(task);
+            return ScheduleResult.applied(instance);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Remove the first-added series with the description
+    public ScheduleResult remove(String description) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < series.size(); i++) {
+                if (series.get(i).getDescription().equalsIgnoreCase(description)) return removeAt(i);
+            }
+            return ScheduleResult.notFound();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Remove the series at the given position in added order; the journal records and replays removals this way
+    ScheduleResult removeAt(int index) {
+        lock.writeLock().lock();
+        try {
+            if (index < 0 || index >= series.size()) return ScheduleResult.notFound();
+            if (journal != null) journalSeq = journal.logSeriesRemove(crewId, index);
+            return ScheduleResult.applied(series.remove(index).instance());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Put back a series from a snapshot, which held no conflicts when it was taken
+    void restore(RecurringTask task) {
+        lock.writeLock().lock();
+        try {
+            series.add(task);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Copy the series in added order and return the journal sequence they reflect; caller holds the write lock
+    long snapshotInto(List<RecurringTask> out) {
+        out.addAll(series);
+        return journalSeq;
+    }
+
+    // Occurrence on the given date that conflicts with the task, or null
+    public Task findConflict(LocalDate date, Task task) {
+        for (RecurringTask s : series) {
+            Task instance = s.instance();
+            if (TaskIntervalIndex.isConflict(task, instance) && s.getRule().occursOn(date)) return instance;
+        }
+        return null;
+    }
+
+    // Occurrences inside [from, to] grouped by date, expanded only across that window
+    public SortedMap<LocalDate, List<Task>> occurrencesBetween(LocalDate from, LocalDate to) {
+        SortedMap<LocalDate, List<Task>> byDate = new TreeMap<>();
+        for (RecurringTask s : series) {
+            for (LocalDate date : s.getRule().occurrencesBetween(from, to)) {
+                byDate.computeIfAbsent(date, d -> new ArrayList<>()).add(s.instance());
+            }
+        }
+        return byDate;
+    }
+}
@@ -0,0 +1,35 @@
+package scheduler;
+
+import java.time.*;
+
+// A task that repeats according to a RecurrenceRule; its instances are created only on demand
+public class RecurringTask {
+    private final String description;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final Task.Priority priority;
+    private final RecurrenceRule rule;
+
+    public RecurringTask(String description, LocalTime startTime, LocalTime endTime, Task.Priority priority, RecurrenceRule rule) {
+        if (!endTime.isAfter(startTime)) throw new IllegalArgumentException(TaskFactory.InputError.END_NOT_AFTER_START.getMessage());
+        this.description = description;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.priority = priority;
+        this.rule = rule;
+    }
+
+    public String getDescription() { return description; }
+    public LocalTime getStartTime() { return startTime; }
+    public LocalTime getEndTime() { return endTime; }
+    public Task.Priority getPriority() { return priority; }
+    public RecurrenceRule getRule() { return rule; }
+
+    // One occurrence as a plain Task, for conflict reports and agenda views
+    public Task instance() { return new Task(description, startTime, endTime, priority); }
+
+    @Override
+    public String toString() {
+        return String.format("%s - %s: %s [%s] %s", startTime, endTime, description, priority, rule);
+    }
+}
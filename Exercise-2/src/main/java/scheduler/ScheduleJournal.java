@@ -0,0 +1,532 @@
+package scheduler;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.*;
+import java.util.zip.CRC32;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.*;
+
+// ===================== Persistence =====================
+// Durable schedule storage: an append-only binary write-ahead log (WAL) of every change plus periodic snapshots
+// Timelines log each change before applying it, while holding their own lock, so per-crew order in the log is exact
+// The log is split into segments (wal-<n>.log). A snapshot first rotates to a new segment, so every older segment
+// is covered by it and deleted once it is on disk. Recovery maps the snapshot and replays only the newer segments,
+// skipping records a crew's snapshot already reflects, so restart time is bounded by the snapshot plus the log tail
+// Recurring series are journaled and snapshotted per crew member, next to that crew member's dated timelines
+public class ScheduleJournal implements Closeable {
+    static final byte OP_ADD = 1, OP_REMOVE_AT = 5, OP_EDIT_AT = 6, OP_COMPLETE_AT = 7;
+    // Older records named the task by description, which is ambiguous when descriptions repeat; still replayed
+    static final byte OP_REMOVE = 2, OP_EDIT = 3, OP_COMPLETE = 4;
+    static final byte OP_SERIES_ADD = 8, OP_SERIES_REMOVE = 9;
+
+    private static final int SNAPSHOT_MAGIC = 0x53434844; // "SCHD"
+    private static final int FORMAT_VERSION = 2; // 1 had no recurring series section
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final long NO_END = Long.MIN_VALUE; // Until day of a series without an end date
+    private static final Logger logger = Logger.getLogger(ScheduleManager.class.getName()); // Shares the audit log
+
+    private final Path dir;
+    private final ScheduleManager manager;
+    private final boolean fsync; // Force every record to disk, not just to the OS page cache
+    private final long snapshotEvery; // Records between automatic snapshots; 0 turns them off
+    private final ExecutorService snapshotter;
+    private final Object snapshotLock = new Object(); // One snapshot at a time
+
+    // Guarded by this
+    private FileChannel wal;
+    private long segment;
+    private long seq;
+    private long sinceSnapshot;
+    private boolean snapshotPending;
+    private ByteBuffer record = ByteBuffer.allocate(4096);
+    private final CRC32 crc = new CRC32();
+
+    private ScheduleJournal(Path dir, ScheduleManager manager, boolean fsync, long snapshotEvery) {
+        this.dir = dir;
+        this.manager = manager;
+        this.fsync = fsync;
+        this.snapshotEvery = snapshotEvery;
+        this.snapshotter = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "schedule-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Recover the stored schedule into the manager's timelines, then start a fresh log segment
+    // Returns the per-timeline and per-crew series sequence numbers that were recovered, so both can continue from them
+    static ScheduleJournal open(Path dir, ScheduleManager manager, boolean fsync, long snapshotEvery,
+                                Map<String, Long> recoveredSeqs, Map<String, Long> recoveredSeriesSeqs) throws IOException {
+        Files.createDirectories(dir);
+        ScheduleJournal journal = new ScheduleJournal(dir, manager, fsync, snapshotEvery);
+        journal.recover(recoveredSeqs, recoveredSeriesSeqs);
+        synchronized (journal) {
+            journal.openSegment(journal.segment + 1);
+        }
+        return journal;
+    }
+
+    // Changes to an existing task name it by start minute, which is unique within a timeline
+    public long logAdd(String crewId, Task task) { return append(OP_ADD, crewId, null, task); }
+    public long logRemove(String crewId, Task removed) { return append(OP_REMOVE_AT, crewId, removed, null); }
+    public long logEdit(String crewId, Task existing, Task task) { return append(OP_EDIT_AT, crewId, existing, task); }
+    public long logComplete(String crewId, Task completed) { return append(OP_COMPLETE_AT, crewId, completed, null); }
+
+    // A series is removed by its position in added order, which snapshots and replay preserve
+    public synchronized long logSeriesAdd(String crewId, RecurringTask task) {
+        startRecord(OP_SERIES_ADD, crewId);
+        putSeries(task);
+        return endRecord();
+    }
+
+    public synchronized long logSeriesRemove(String crewId, int index) {
+        startRecord(OP_SERIES_REMOVE, crewId);
+        ensureCapacity(4);
+        record.putInt(index);
+        return endRecord();
+    }
+
+    // Frame: [int payload length][int CRC32 of payload][payload]
+    // Payload: [op][seq][crew][start minute of the existing task or -][task fields or -]
+    // Series payload: [op][seq][crew][series fields or position]
+    private synchronized long append(byte op, String crewId, Task existing, Task task) {
+        startRecord(op, crewId);
+        if (existing != null) {
+            ensureCapacity(2);
+            record.putShort((short) minuteOfDay(existing.getStartTime()));
+        }
+        if (task != null) putTask(task);
+        return endRecord();
+    }
+
+    // Caller holds the monitor
+    private void startRecord(byte op, String crewId) {
+        if (wal == null) throw new IllegalStateException("Schedule journal is closed.");
+        record.clear();
+        record.position(8);
+        record.put(op).putLong(seq + 1);
+        putString(crewId);
+    }
+
+    // Write the framed record and return its sequence number; caller holds the monitor
+    // Throws UncheckedIOException so the caller leaves its state untouched; the sequence number is then not used
+    private long endRecord() {
+        long s = seq + 1;
+        long start = -1;
+        try {
+            int length = record.position() - 8;
+            crc.reset();
+            crc.update(record.array(), 8, length);
+            record.putInt(0, length).putInt(4, (int) crc.getValue());
+            record.flip();
+            start = wal.size();
+            while (record.hasRemaining()) wal.write(record);
+            if (fsync) wal.force(false);
+        } catch (IOException e) {
+            if (start >= 0) discardTornRecord(start);
+            throw new UncheckedIOException("Schedule journal write failed", e);
+        }
+        seq = s;
+        if (snapshotEvery > 0 && ++sinceSnapshot >= snapshotEvery && !snapshotPending) {
+            snapshotPending = true;
+            snapshotter.execute(this::snapshotQuietly);
+        }
+        return s;
+    }
+
+    // A half-written record would end recovery of its segment, so cut it off, or failing that start a new segment
+    // Caller holds the monitor
+    private void discardTornRecord(long start) {
+        try {
+            wal.truncate(start);
+        } catch (IOException e) {
+            try {
+                openSegment(segment + 1);
+            } catch (IOException again) {
+                logger.warning("Schedule journal may end in a torn record: " + again.getMessage());
+            }
+        }
+    }
+
+    // Write a compact snapshot of every timeline and delete the log segments it covers
+    // Does nothing once the journal is closed, e.g. for an automatic snapshot still queued at close
+    public void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            long covered;
+            synchronized (this) {
+                if (wal == null) return;
+                covered = segment;
+                openSegment(segment + 1);
+                sinceSnapshot = 0;
+                snapshotPending = false;
+            }
+
+            Path tmp = dir.resolve(SNAPSHOT_FILE + ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(ch), 1 << 16))) {
+                // Dated timelines are written with their crew member's series instead
+                List<CrewTimeline> undated = new ArrayList<>();
+                for (CrewTimeline timeline : manager.timelines()) {
+                    if (timeline.getDate() == null) undated.add(timeline);
+                }
+                List<RecurringSchedule> schedules = new ArrayList<>(manager.recurringSchedules());
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(undated.size());
+                List<Task> tasks = new ArrayList<>();
+                for (CrewTimeline timeline : undated) {
+                    tasks.clear();
+                    long crewSeq = timeline.snapshotInto(tasks);
+                    writeTimeline(out, timeline.getCrewId(), crewSeq, tasks);
+                }
+
+                // A crew member's series and dated timelines are copied under the series write lock, so replay
+                // never checks a logged change against a series or a day from a later point in the log
+                out.writeInt(schedules.size());
+                List<RecurringTask> series = new ArrayList<>();
+                Map<String, List<Task>> days = new LinkedHashMap<>();
+                Map<String, Long> daySeqs = new HashMap<>();
+                for (RecurringSchedule schedule : schedules) {
+                    series.clear();
+                    days.clear();
+                    long seriesSeq;
+                    schedule.writeLock().lock();
+                    try {
+                        seriesSeq = schedule.snapshotInto(series);
+                        for (CrewTimeline day : schedule.days()) {
+                            List<Task> dayTasks = new ArrayList<>();
+                            daySeqs.put(day.getCrewId(), day.snapshotInto(dayTasks));
+                            days.put(day.getCrewId(), dayTasks);
+                        }
+                    } finally {
+                        schedule.writeLock().unlock();
+                    }
+                    writeString(out, schedule.getCrewId());
+                    out.writeLong(seriesSeq);
+                    out.writeInt(series.size());
+                    for (RecurringTask t : series) writeSeries(out, t);
+                    out.writeInt(days.size());
+                    for (Map.Entry<String, List<Task>> day : days.entrySet()) {
+                        writeTimeline(out, day.getKey(), daySeqs.get(day.getKey()), day.getValue());
+                    }
+                }
+                out.flush();
+                ch.force(true);
+            }
+            Files.move(tmp, dir.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            for (Path old : segments()) {
+                if (segmentNumber(old) <= covered) Files.deleteIfExists(old);
+            }
+            logger.info("Schedule snapshot written; log segments up to " + covered + " compacted");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (wal != null) {
+                wal.force(false);
+                wal.close();
+                wal = null;
+            }
+        }
+        // Queued snapshots now return at once; let one already running finish
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            logger.warning("Schedule snapshot failed: " + e.getMessage());
+        }
+    }
+
+    // Caller holds the monitor
+    private void openSegment(long n) throws IOException {
+        if (wal != null) {
+            wal.force(false);
+            wal.close();
+        }
+        segment = n;
+        wal = FileChannel.open(dir.resolve("wal-" + n + ".log"), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    // ---- Recovery ----
+
+    private void recover(Map<String, Long> crewSeqs, Map<String, Long> seriesSeqs) throws IOException {
+        Path snapshot = dir.resolve(SNAPSHOT_FILE);
+        Map<String, Long> snapshotSeqs = new HashMap<>();
+        Map<String, Long> seriesSnapshotSeqs = new HashMap<>();
+        if (Files.exists(snapshot)) loadSnapshot(snapshot, snapshotSeqs, seriesSnapshotSeqs);
+        crewSeqs.putAll(snapshotSeqs);
+        seriesSeqs.putAll(seriesSnapshotSeqs);
+        long maxSeq = 0;
+        for (long s : snapshotSeqs.values()) maxSeq = Math.max(maxSeq, s);
+        for (long s : seriesSnapshotSeqs.values()) maxSeq = Math.max(maxSeq, s);
+
+        int replayed = 0;
+        for (Path file : segments()) {
+            segment = Math.max(segment, segmentNumber(file));
+            if (Files.size(file) == 0) continue;
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                while (buf.remaining() >= 8) {
+                    int length = buf.getInt();
+                    int checksum = buf.getInt();
+                    if (length <= 0 || length > buf.remaining()) break;
+                    ByteBuffer payload = buf.slice();
+                    payload.limit(length);
+                    crc.reset();
+                    crc.update(payload.duplicate());
+                    if ((int) crc.getValue() != checksum) break;
+                    buf.position(buf.position() + length);
+
+                    long s = replay(payload, snapshotSeqs, crewSeqs, seriesSnapshotSeqs, seriesSeqs);
+                    maxSeq = Math.max(maxSeq, s);
+                    replayed++;
+                }
+                if (buf.hasRemaining()) logger.warning("Ignoring torn or corrupt tail of " + file.getFileName());
+            }
+        }
+        seq = maxSeq;
+        logger.info("Schedule recovered: " + snapshotSeqs.size() + " crews from snapshot, " + replayed + " log records replayed");
+    }
+
+    // Snapshot layout: [magic][version][timeline count][timelines...]
+    // then [series crew count] and per crew [crew][seq][series count][series...][timeline count][dated timelines...]
+    // Timeline: [id][seq][task count][tasks...]. Version 1 snapshots end after the first section
+    private void loadSnapshot(Path snapshot, Map<String, Long> snapshotSeqs, Map<String, Long> seriesSnapshotSeqs)
+            throws IOException {
+        try (FileChannel ch = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            int version = (buf.getInt() == SNAPSHOT_MAGIC) ? buf.getInt() : -1;
+            if (version < 1 || version > FORMAT_VERSION) {
+                throw new IOException("Unrecognized schedule snapshot: " + snapshot);
+            }
+            int timelines = buf.getInt();
+            for (int c = 0; c < timelines; c++) loadTimeline(buf, snapshotSeqs);
+            if (version == 1) return;
+
+            int crews = buf.getInt();
+            for (int c = 0; c < crews; c++) {
+                String crewId = getString(buf);
+                seriesSnapshotSeqs.put(crewId, buf.getLong());
+                RecurringSchedule schedule = manager.recurring(crewId);
+                // Series are put back after the days, unchecked, since the copy held no conflicts
+                int count = buf.getInt();
+                List<RecurringTask> series = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) series.add(getSeries(buf));
+                int days = buf.getInt();
+                for (int d = 0; d < days; d++) loadTimeline(buf, snapshotSeqs);
+                for (RecurringTask t : series) schedule.restore(t);
+            }
+        }
+    }
+
+    private void loadTimeline(ByteBuffer buf, Map<String, Long> snapshotSeqs) {
+        String crewId = getString(buf);
+        long crewSeq = buf.getLong();
+        int count = buf.getInt();
+        CrewTimeline timeline = manager.timeline(crewId);
+        for (int i = 0; i < count; i++) timeline.add(getTask(buf));
+        snapshotSeqs.put(crewId, crewSeq);
+    }
+
+    // Apply one logged change unless the crew's snapshot already includes it
+    private long replay(ByteBuffer payload, Map<String, Long> snapshotSeqs, Map<String, Long> crewSeqs,
+                        Map<String, Long> seriesSnapshotSeqs, Map<String, Long> seriesSeqs) {
+        byte op = payload.get();
+        long s = payload.getLong();
+        String crewId = getString(payload);
+        if (op == OP_SERIES_ADD || op == OP_SERIES_REMOVE) {
+            if (s <= seriesSnapshotSeqs.getOrDefault(crewId, 0L)) return s;
+            RecurringSchedule schedule = manager.recurring(crewId);
+            if (op == OP_SERIES_ADD) schedule.add(getSeries(payload));
+            else schedule.removeAt(payload.getInt());
+            seriesSeqs.merge(crewId, s, Math::max);
+            return s;
+        }
+        if (s <= snapshotSeqs.getOrDefault(crewId, 0L)) return s;
+
+        CrewTimeline timeline = manager.timeline(crewId);
+        switch (op) {
+            case OP_ADD:
+                timeline.add(getTask(payload));
+                break;
+            case OP_REMOVE_AT:
+                timeline.removeAt(toTime(payload.getShort()));
+                break;
+            case OP_EDIT_AT:
+                LocalTime at = toTime(payload.getShort());
+                timeline.editAt(at, getTask(payload));
+                break;
+            case OP_COMPLETE_AT:
+                timeline.markCompletedAt(toTime(payload.getShort()));
+                break;
+            case OP_REMOVE:
+                timeline.remove(getString(payload));
+                break;
+            case OP_EDIT:
+                String description = getString(payload);
+                timeline.edit(description, getTask(payload));
+                break;
+            case OP_COMPLETE:
+                timeline.markCompleted(getString(payload));
+                break;
+            default:
+                logger.warning("Skipping unknown journal record type " + op);
+        }
+        crewSeqs.merge(crewId, s, Math::max);
+        return s;
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "wal-*.log")) {
+            for (Path p : stream) files.add(p);
+        }
+        files.sort(Comparator.comparingLong(ScheduleJournal::segmentNumber));
+        return files;
+    }
+
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(4, name.length() - 4));
+    }
+
+    // ---- Encoding helpers ----
+
+    private void putString(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(4 + bytes.length);
+        record.putInt(bytes.length).put(bytes);
+    }
+
+    private void putTask(Task t) {
+        putString(t.getDescription());
+        ensureCapacity(6);
+        record.putShort((short) minuteOfDay(t.getStartTime()))
+              .putShort((short) minuteOfDay(t.getEndTime()))
+              .put((byte) t.getPriority().ordinal())
+              .put((byte) (t.isCompleted() ? 1 : 0));
+    }
+
+    private void putSeries(RecurringTask t) {
+        putString(t.getDescription());
+        RecurrenceRule rule = t.getRule();
+        ensureCapacity(27);
+        record.putShort((short) minuteOfDay(t.getStartTime()))
+              .putShort((short) minuteOfDay(t.getEndTime()))
+              .put((byte) t.getPriority().ordinal())
+              .put((byte) rule.getFrequency().ordinal())
+              .putInt(rule.getInterval())
+              .put(dayBits(rule.getDays()))
+              .putLong(rule.getStart().toEpochDay())
+              .putLong(untilDay(rule));
+    }
+
+    private void ensureCapacity(int extra) {
+        if (record.remaining() >= extra) return;
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(record.capacity() * 2, record.position() + extra));
+        record.flip();
+        bigger.put(record);
+        record = bigger;
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Task getTask(ByteBuffer buf) {
+        Task t = new Task(getString(buf), toTime(buf.getShort()), toTime(buf.getShort()), Task.Priority.values()[buf.get()]);
+        t.setCompleted(buf.get() != 0);
+        return t;
+    }
+
+    // Series: [description][start][end][priority][frequency][int interval][weekday bits][start day][until day or none]
+    private static RecurringTask getSeries(ByteBuffer buf) {
+        String description = getString(buf);
+        LocalTime start = toTime(buf.getShort());
+        LocalTime end = toTime(buf.getShort());
+        Task.Priority priority = Task.Priority.values()[buf.get()];
+        RecurrenceRule.Frequency frequency = RecurrenceRule.Frequency.values()[buf.get()];
+        int interval = buf.getInt();
+        byte bits = buf.get();
+        LocalDate from = LocalDate.ofEpochDay(buf.getLong());
+        long untilDay = buf.getLong();
+        LocalDate until = (untilDay == NO_END) ? null : LocalDate.ofEpochDay(untilDay);
+        RecurrenceRule rule;
+        if (frequency == RecurrenceRule.Frequency.DAILY) {
+            rule = RecurrenceRule.daily(from, interval, until);
+        } else {
+            Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            for (DayOfWeek d : DayOfWeek.values()) {
+                if ((bits & (1 << d.ordinal())) != 0) days.add(d);
+            }
+            rule = RecurrenceRule.weekly(from, interval, days, until);
+        }
+        return new RecurringTask(description, start, end, priority, rule);
+    }
+
+    private static byte dayBits(Set<DayOfWeek> days) {
+        int bits = 0;
+        for (DayOfWeek d : days) bits |= 1 << d.ordinal();
+        return (byte) bits;
+    }
+
+    private static long untilDay(RecurrenceRule rule) {
+        return (rule.getUntil() == null) ? NO_END : rule.getUntil().toEpochDay();
+    }
+
+    private static void writeTimeline(DataOutputStream out, String id, long seq, List<Task> tasks) throws IOException {
+        writeString(out, id);
+        out.writeLong(seq);
+        out.writeInt(tasks.size());
+        for (Task t : tasks) {
+            writeString(out, t.getDescription());
+            out.writeShort(minuteOfDay(t.getStartTime()));
+            out.writeShort(minuteOfDay(t.getEndTime()));
+            out.writeByte(t.getPriority().ordinal());
+            out.writeBoolean(t.isCompleted());
+        }
+    }
+
+    private static void writeSeries(DataOutputStream out, RecurringTask t) throws IOException {
+        RecurrenceRule rule = t.getRule();
+        writeString(out, t.getDescription());
+        out.writeShort(minuteOfDay(t.getStartTime()));
+        out.writeShort(minuteOfDay(t.getEndTime()));
+        out.writeByte(t.getPriority().ordinal());
+        out.writeByte(rule.getFrequency().ordinal());
+        out.writeInt(rule.getInterval());
+        out.writeByte(dayBits(rule.getDays()));
+        out.writeLong(rule.getStart().toEpochDay());
+        out.writeLong(untilDay(rule));
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static int minuteOfDay(LocalTime t) { return TaskFactory.minuteOfDay(t); }
+
+    private static LocalTime toTime(int minuteOfDay) { return TaskFactory.timeOf(minuteOfDay); }
+}
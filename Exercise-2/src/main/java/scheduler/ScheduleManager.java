@@ -0,0 +1,346 @@
+package scheduler;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.*;
+import java.io.*;
+import java.nio.file.*;
+import java.time.*;
+import javax.management.*;
+
+// ===================== Singleton Pattern =====================
+// ScheduleManager manages all tasks and ensures only one instance exists (Singleton)
+// Implements Observer Pattern for task conflict notifications
+// Each crew member has their own CrewTimeline; the methods without a crew id use the default timeline
+public class ScheduleManager {
+    public static final String DEFAULT_CREW = "default";
+
+    // How new crew timelines store their tasks
+    public enum StorageMode { INDEXED, COMPACT }
+
+    private static ScheduleManager instance; // Singleton instance
+    private final ConcurrentHashMap<String, CrewTimeline> timelines; // Crew id -> that crew member's schedule
+    private final List<ConflictObserver> observers; // Stores observers
+    private volatile ScheduleJournal journal; // Durable storage, null until persistence is enabled
+    private volatile StorageMode storageMode = StorageMode.INDEXED;
+    private final DescriptionPool descriptions = new DescriptionPool(); // Shared by compact timelines
+    private final ConcurrentHashMap<String, RecurringSchedule> recurring; // Crew id -> recurring tasks
+    private volatile ScheduleRenderer renderer = new ConsoleScheduleRenderer(System.out); // Where results are shown
+    private final Handler auditLog; // Writes the audit log, null when this manager keeps none
+    private static final Logger logger = Logger.getLogger(ScheduleManager.class.getName()); // Logging
+    private static final Path AUDIT_LOG = Paths.get("astronaut_schedule.log"); // Audit log of the singleton
+
+    // A manager writing its audit log through the given handler, or keeping none if it is null
+    // Only the singleton owns the audit log file and the JMX metrics; tests build fresh managers without either
+    ScheduleManager(Handler auditLog) {
+        timelines = new ConcurrentHashMap<>();
+        recurring = new ConcurrentHashMap<>();
+        observers = new CopyOnWriteArrayList<>();
+        this.auditLog = auditLog;
+        if (auditLog != null) {
+            logger.addHandler(auditLog);
+            logger.setUseParentHandlers(false);
+            // An async writer is a daemon thread, so records still queued at exit would be lost without this
+            Runtime.getRuntime().addShutdownHook(new Thread(this::closeAuditLog, "audit-log-close"));
+        }
+    }
+
+    // Singleton accessor
+    public static synchronized ScheduleManager getInstance() {
+        if (instance != null) return instance;
+        // Audit records are written by a background thread so disk I/O stays off the request path
+        AsyncAuditHandler handler = null;
+        try {
+            handler = new AsyncAuditHandler(AUDIT_LOG, 8192, AsyncAuditHandler.FsyncPolicy.INTERVAL, 1000,
+                    AsyncAuditHandler.Backpressure.BLOCK);
+        } catch (IOException e) {
+            // Reported below, once there is a renderer
+        }
+        instance = new ScheduleManager(handler);
+        if (handler == null) instance.renderer.println("Warning: Logging initialization failed.");
+
+        Metrics.global().gauge("crew.timelines", instance.timelines::size);
+        try {
+            Metrics.global().registerJmx("AstronautScheduler");
+        } catch (JMException e) {
+            instance.renderer.println("Warning: Metrics are not available over JMX.");
+        }
+        return instance;
+    }
+
+    // Show results through this renderer from now on, e.g. a HeadlessScheduleRenderer when embedded
+    public void setRenderer(ScheduleRenderer next) {
+        ScheduleRenderer previous = renderer;
+        renderer = next;
+        previous.flush();
+    }
+
+    public ScheduleRenderer getRenderer() { return renderer; }
+
+    // Add observer for conflict notifications
+    public void addObserver(ConflictObserver observer) { observers.add(observer); }
+
+    // Notify all observers of conflicts
+    private void notifyObservers(String message) {
+        for (ConflictObserver obs : observers) obs.notifyConflict(message);
+    }
+
+    // Timeline of the given crew member, created on first use
+    // Timelines are thread-safe and can be driven directly by concurrent callers
+    public CrewTimeline timeline(String crewId) {
+        return timelines.computeIfAbsent(crewId, this::newTimeline);
+    }
+
+    // Timeline of one calendar day for a crew member; checked against the crew's recurring tasks
+    // Dated timelines are kept under the id "<crew>@<yyyy-MM-dd>", so the journal recovers them like any other
+    public CrewTimeline timeline(String crewId, LocalDate date) {
+        return timeline(datedId(crewId, date));
+    }
+
+    private static String datedId(String crewId, LocalDate date) { return crewId + "@" + date; }
+
+    public RecurringSchedule recurring(String crewId) {
+        return recurring.computeIfAbsent(crewId, id -> new RecurringSchedule(id, journal));
+    }
+
+    private CrewTimeline newTimeline(String id) {
+        int at = id.length() - 11;
+        if (at > 0 && id.charAt(at) == '@') {
+            try {
+                LocalDate date = LocalDate.parse(id.substring(at + 1));
+                String crewId = id.substring(0, at);
+                RecurringSchedule schedule = recurring(crewId);
+                CrewTimeline timeline = new CrewTimeline(id, journal, newStore(), date, schedule);
+                schedule.register(date, timeline);
+                return timeline;
+            } catch (DateTimeException e) {
+                // Not a dated id after all; fall through to a plain timeline
+            }
+        }
+        return new CrewTimeline(id, journal, newStore());
+    }
+
+    // Choose the storage for timelines created from now on; existing timelines keep theirs
+    // COMPACT trades O(1) description lookups for a much smaller heap footprint
+    public void setStorageMode(StorageMode mode) { storageMode = mode; }
+
+    public StorageMode getStorageMode() { return storageMode; }
+
+    private TaskStore newStore() {
+        return (storageMode == StorageMode.COMPACT) ? new CompactTaskStore(descriptions) : new IndexedTaskStore();
+    }
+
+    Collection<CrewTimeline> timelines() { return timelines.values(); }
+
+    Collection<RecurringSchedule> recurringSchedules() { return recurring.values(); }
+
+    // Recover the schedule stored in the given directory and journal every later change there
+    // Call once at startup, before other threads start editing timelines
+    public synchronized void enablePersistence(Path dir, boolean fsync, long snapshotEvery) throws IOException {
+        if (journal != null) throw new IllegalStateException("Persistence is already enabled.");
+        Map<String, Long> recoveredSeqs = new HashMap<>();
+        Map<String, Long> recoveredSeriesSeqs = new HashMap<>();
+        ScheduleJournal opened = ScheduleJournal.open(dir, this, fsync, snapshotEvery, recoveredSeqs, recoveredSeriesSeqs);
+        for (CrewTimeline timeline : timelines.values()) {
+            timeline.attachJournal(opened, recoveredSeqs.getOrDefault(timeline.getCrewId(), 0L));
+        }
+        for (RecurringSchedule schedule : recurring.values()) {
+            schedule.attachJournal(opened, recoveredSeriesSeqs.getOrDefault(schedule.getCrewId(), 0L));
+        }
+        journal = opened;
+    }
+
+    // Write the metrics to the audit log every period, e.g. for later trend analysis
+    public void startMetricsDump(long periodMillis) {
+        Metrics.global().startDump(periodMillis, text -> logger.info("Metrics:" + System.lineSeparator() + text));
+    }
+
+    // Current metrics as text, one line per metric
+    public String getMetricsReport() { return Metrics.global().dump(); }
+
+    // Write a snapshot now and close the journal
+    public synchronized void closePersistence() throws IOException {
+        if (journal == null) return;
+        try {
+            journal.snapshot();
+        } finally {
+            journal.close();
+        }
+    }
+
+    // Write every queued audit record to the file and close it; records logged later are dropped
+    public void closeAuditLog() {
+        if (auditLog == null) return;
+        logger.removeHandler(auditLog);
+        auditLog.close();
+    }
+
+    public Set<String> getCrewIds() { return Collections.unmodifiableSet(timelines.keySet()); }
+
+    // Add a new task with conflict checking
+    public boolean addTask(Task task) { return addTask(DEFAULT_CREW, task); }
+
+    public boolean addTask(String crewId, Task task) {
+        ScheduleResult result = timeline(crewId).add(task);
+        if (!result.isApplied()) {
+            reportConflict(result.getTask());
+            return false;
+        }
+        logger.info("Task added: " + task.getDescription());
+        renderer.taskAdded(task);
+        return true;
+    }
+
+    // Add a one-off task on a given day; it must not overlap the crew's recurring tasks on that day either
+    public boolean addTask(String crewId, LocalDate date, Task task) { return addTask(datedId(crewId, date), task); }
+
+    // Remove task by description
+    public boolean removeTask(String description) { return removeTask(DEFAULT_CREW, description); }
+
+    public boolean removeTask(String crewId, String description) {
+        if (timeline(crewId).remove(description).isApplied()) {
+            renderer.taskRemoved(description);
+            logger.info("Task removed: " + description);
+            return true;
+        }
+        renderer.taskNotFound(description);
+        logger.warning("Remove failed: " + description);
+        return false;
+    }
+
+    // View all tasks sorted by start time, rendered straight from the ordered index under the crew's lock
+    public void viewTasks() { viewTasks(DEFAULT_CREW); }
+
+    public void viewTasks(String crewId) {
+        timeline(crewId).read(renderer::tasks);
+    }
+
+    // Edit a task by description; the updated task must not conflict with any other task
+    public void editTask(String description, Task updatedTask) { editTask(DEFAULT_CREW, description, updatedTask); }
+
+    public void editTask(String crewId, String description, Task updatedTask) {
+        ScheduleResult result = timeline(crewId).edit(description, updatedTask);
+        switch (result.getStatus()) {
+            case APPLIED:
+                renderer.taskUpdated(description);
+                logger.info("Task updated: " + description);
+                break;
+            case CONFLICT:
+                reportConflict(result.getTask());
+                break;
+            default:
+                renderer.taskNotFound(description);
+        }
+    }
+
+    // Mark task as completed
+    public void markTaskCompleted(String description) { markTaskCompleted(DEFAULT_CREW, description); }
+
+    public void markTaskCompleted(String crewId, String description) {
+        if (timeline(crewId).markCompleted(description).isApplied()) {
+            renderer.taskCompleted(description);
+            logger.info("Task completed: " + description);
+            return;
+        }
+        renderer.taskNotFound(description);
+    }
+
+    // Mark a batch of tasks as completed in linear time
+    // Returns the number of tasks that were found and marked
+    public int markTasksCompleted(Collection<String> descriptions) { return markTasksCompleted(DEFAULT_CREW, descriptions); }
+
+    public int markTasksCompleted(String crewId, Collection<String> descriptions) {
+        List<String> missing = new ArrayList<>();
+        int marked = timeline(crewId).markCompleted(descriptions, missing);
+        for (String description : missing) logger.warning("Complete failed: " + description);
+        renderer.tasksCompleted(marked, descriptions.size());
+        logger.info("Batch completed: " + marked + " tasks");
+        return marked;
+    }
+
+    // View tasks filtered by priority (each priority keeps its own ordered view)
+    public void viewTasksByPriority(Task.Priority priority) { viewTasksByPriority(DEFAULT_CREW, priority); }
+
+    public void viewTasksByPriority(String crewId, Task.Priority priority) {
+        ScheduleRenderer r = renderer;
+        timeline(crewId).read(priority, tasks -> r.tasks(priority, tasks));
+    }
+
+    // Import tasks from a file in one batch; writes a single summary log line instead of one per task
+    public ImportReport importTasks(String crewId, Path file) throws IOException {
+        ImportReport report = TaskImporter.importFile(file, timeline(crewId));
+        logger.info("Batch import from " + file + ": " + report);
+        return report;
+    }
+
+    // Earliest free slots of the given length in a window, without changing the schedule
+    public List<FreeSlot> findFreeSlots(String crewId, int minutes, LocalTime from, LocalTime to, int k) {
+        return timeline(crewId).findFreeSlots(minutes, from, to, k);
+    }
+
+    // Place a batch of tasks by priority at the earliest free slots of their windows
+    public List<ScheduleResult> autoPlace(String crewId, List<PlacementRequest> requests) {
+        List<ScheduleResult> results = timeline(crewId).autoPlace(requests);
+        int placed = 0;
+        for (ScheduleResult r : results) if (r.isApplied()) placed++;
+        logger.info("Auto-placed " + placed + " of " + requests.size() + " tasks for " + crewId);
+        return results;
+    }
+
+    // Add a recurring task; rejected if any occurrence overlaps another recurring or dated task
+    public boolean addRecurringTask(String crewId, RecurringTask task) {
+        ScheduleResult result = recurring(crewId).add(task);
+        if (!result.isApplied()) {
+            reportConflict(result.getTask());
+            return false;
+        }
+        logger.info("Recurring task added: " + task.getDescription());
+        renderer.recurringTaskAdded(task);
+        return true;
+    }
+
+    public boolean removeRecurringTask(String crewId, String description) {
+        if (recurring(crewId).remove(description).isApplied()) {
+            renderer.recurringTaskRemoved(description);
+            logger.info("Recurring task removed: " + description);
+            return true;
+        }
+        renderer.taskNotFound(description);
+        return false;
+    }
+
+    // Show each day of [from, to] with its one-off tasks and recurring occurrences in start-time order
+    public void viewAgenda(String crewId, LocalDate from, LocalDate to) {
+        SortedMap<LocalDate, List<Task>> occurrences = recurring(crewId).occurrencesBetween(from, to);
+        boolean any = false;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            CrewTimeline day = timelines.get(datedId(crewId, date));
+            List<Task> oneOff = (day == null) ? Collections.emptyList() : day.snapshot();
+            List<Task> repeats = occurrences.getOrDefault(date, Collections.emptyList());
+            if (oneOff.isEmpty() && repeats.isEmpty()) continue;
+
+            List<Task> all = new ArrayList<>(oneOff);
+            all.addAll(repeats);
+            all.sort(Comparator.comparing(Task::getStartTime));
+            renderer.agendaDay(date, all, repeats);
+            any = true;
+        }
+        if (!any) renderer.emptyAgenda(from, to);
+    }
+
+    // Read-only view of all tasks in start-time order; no copying or sorting per call
+    // Live view of the default timeline; use timeline(crewId).snapshot() when other threads are editing
+    public Collection<Task> getTasks() { return timeline(DEFAULT_CREW).view(); }
+
+    // Read-only view of the tasks with the given priority, in start-time order
+    public Collection<Task> getTasksByPriority(Task.Priority priority) { return timeline(DEFAULT_CREW).view(priority); }
+
+    // Notify observers and log the first conflicting task; the message is only built if someone takes it
+    private void reportConflict(Task conflict) {
+        boolean log = logger.isLoggable(Level.WARNING);
+        if (observers.isEmpty() && !log) return;
+        String conflictMsg = "Error: Task conflicts with existing task \"" + conflict.getDescription() + "\".";
+        notifyObservers(conflictMsg);
+        if (log) logger.warning(conflictMsg);
+    }
+}
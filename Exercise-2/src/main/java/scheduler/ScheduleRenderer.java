@@ -0,0 +1,30 @@
+package scheduler;
+
+import java.util.*;
+import java.time.*;
+
+// ===================== Console Output =====================
+// ScheduleManager reports what each operation did to a ScheduleRenderer instead of printing it,
+// so the scheduler can run embedded without any console output
+public interface ScheduleRenderer {
+    void taskAdded(Task task);
+    void recurringTaskAdded(RecurringTask task);
+    void taskRemoved(String description);
+    void recurringTaskRemoved(String description);
+    void taskUpdated(String description);
+    void taskCompleted(String description);
+    void tasksCompleted(int marked, int requested);
+    void taskNotFound(String description);
+    void conflict(String message);
+    // The tasks may be a timeline's live view, handed over under its lock: read them, don't keep them
+    void tasks(Collection<Task> tasks);                          // The day's tasks in start-time order
+    void tasks(Task.Priority priority, Collection<Task> tasks);  // Tasks of one priority
+    void agendaDay(LocalDate date, List<Task> tasks, List<Task> recurring); // tasks includes the recurring ones
+    void emptyAgenda(LocalDate from, LocalDate to);
+
+    // Free text from the console front end
+    void println(String text);
+    void prompt(String text); // Shown at once, since input is read next
+
+    void flush();
+}
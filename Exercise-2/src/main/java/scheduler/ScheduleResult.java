@@ -0,0 +1,25 @@
+package scheduler;
+
+// ===================== Schedule Result =====================
+// Outcome of a schedule change, returned by CrewTimeline so the caller decides how to report it
+public class ScheduleResult {
+    public enum Status { APPLIED, CONFLICT, NOT_FOUND }
+
+    private static final ScheduleResult NOT_FOUND = new ScheduleResult(Status.NOT_FOUND, null);
+
+    private final Status status;
+    private final Task task; // Affected task when applied, conflicting task on conflict
+
+    private ScheduleResult(Status status, Task task) {
+        this.status = status;
+        this.task = task;
+    }
+
+    public static ScheduleResult applied(Task task) { return new ScheduleResult(Status.APPLIED, task); }
+    public static ScheduleResult conflict(Task conflict) { return new ScheduleResult(Status.CONFLICT, conflict); }
+    public static ScheduleResult notFound() { return NOT_FOUND; }
+
+    public Status getStatus() { return status; }
+    public Task getTask() { return task; }
+    public boolean isApplied() { return status == Status.APPLIED; }
+}
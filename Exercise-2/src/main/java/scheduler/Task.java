@@ -0,0 +1,47 @@
+package scheduler;
+
+import java.time.*;
+
+// ===================== Task Class =====================
+// Represents a single task with description, start/end times, priority, and completion status
+// No design pattern here; standard POJO (Plain Old Java Object)
+public class Task {
+    private String description;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Priority priority;
+    private boolean completed;
+
+    // Enum for task priority
+    public enum Priority { HIGH, MEDIUM, LOW }
+
+    // Constructor
+    public Task(String description, LocalTime startTime, LocalTime endTime, Priority priority) {
+        this.description = description;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.priority = priority;
+        this.completed = false;
+    }
+
+    // Getter and setter methods
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+    public Priority getPriority() { return priority; }
+    public void setPriority(Priority priority) { this.priority = priority; }
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+
+    // toString method for displaying tasks in the console
+    @Override
+    public String toString() {
+        String base = String.format("%s - %s: %s [%s]",
+                startTime, endTime, description, priority);
+        if (completed) base += " (Completed)";
+        return base;
+    }
+}
@@ -0,0 +1,98 @@
+package scheduler;
+
+import java.time.*;
+
+// ===================== Task Factory =====================
+// Implements Factory Pattern to create Task objects
+// Ensures proper parsing of time and priority validation
+// Times are parsed character by character into a minute of the day and priorities through a lookup table,
+// so rejecting bad input costs no exceptions or allocations; only createTask throws, once, with the right message
+public class TaskFactory {
+    public static final int INVALID_TIME = -1;
+
+    // Why input could not be turned into a Task
+    public enum InputError {
+        INVALID_TIME("Invalid time format. Use HH:mm (00:00 - 23:59)"),
+        END_NOT_AFTER_START("End time must be after start time."),
+        INVALID_PRIORITY("Invalid priority. Use High, Medium, or Low.");
+
+        private final String reason;
+
+        InputError(String reason) { this.reason = reason; }
+
+        public String getReason() { return reason; }
+        public String getMessage() { return "Error: " + reason; }
+    }
+
+    private static final LocalTime[] TIMES = new LocalTime[24 * 60]; // Shared LocalTime per minute of day
+    private static final Task.Priority[] BY_INITIAL = new Task.Priority[128]; // Lower-case first letter -> priority
+
+    static {
+        for (int m = 0; m < TIMES.length; m++) TIMES[m] = LocalTime.of(m / 60, m % 60);
+        for (Task.Priority p : Task.Priority.values()) BY_INITIAL[Character.toLowerCase(p.name().charAt(0))] = p;
+    }
+
+    public static Task createTask(String description, String start, String end, String priorityStr) {
+        int startMinute = parseMinutes(start);
+        int endMinute = parseMinutes(end);
+        Task.Priority priority = parsePriority(priorityStr);
+        InputError error = validate(startMinute, endMinute, priority);
+        if (error != null) throw new IllegalArgumentException(error.getMessage());
+        return new Task(description, TIMES[startMinute], TIMES[endMinute], priority);
+    }
+
+    // First problem with already-parsed fields, in the order the console reports them, or null if they are valid
+    public static InputError validate(int startMinute, int endMinute, Task.Priority priority) {
+        if (startMinute == INVALID_TIME || endMinute == INVALID_TIME) return InputError.INVALID_TIME;
+        if (endMinute <= startMinute) return InputError.END_NOT_AFTER_START;
+        if (priority == null) return InputError.INVALID_PRIORITY;
+        return null;
+    }
+
+    // Minute of the day for an HH:mm string (00:00 - 23:59), or INVALID_TIME
+    public static int parseMinutes(CharSequence text) {
+        return (text == null) ? INVALID_TIME : parseMinutes(text, 0, text.length());
+    }
+
+    // Same as above for text[from, to), ignoring surrounding spaces
+    public static int parseMinutes(CharSequence text, int from, int to) {
+        while (from < to && text.charAt(from) == ' ') from++;
+        while (to > from && text.charAt(to - 1) == ' ') to--;
+        if (to - from != 5 || text.charAt(from + 2) != ':') return INVALID_TIME;
+        int h1 = digit(text.charAt(from)), h2 = digit(text.charAt(from + 1));
+        int m1 = digit(text.charAt(from + 3)), m2 = digit(text.charAt(from + 4));
+        if ((h1 | h2 | m1 | m2) < 0) return INVALID_TIME;
+        int hour = h1 * 10 + h2, minute = m1 * 10 + m2;
+        if (hour > 23 || minute > 59) return INVALID_TIME;
+        return hour * 60 + minute;
+    }
+
+    // Parse an HH:mm time; returns null instead of throwing on bad input
+    public static LocalTime parseTime(String text) {
+        int minute = parseMinutes(text);
+        return (minute == INVALID_TIME) ? null : TIMES[minute];
+    }
+
+    // Case-insensitive priority lookup; returns null instead of throwing on bad input
+    public static Task.Priority parsePriority(String text) {
+        return (text == null) ? null : parsePriority(text, 0, text.length());
+    }
+
+    // Same as above for text[from, to), ignoring surrounding spaces
+    public static Task.Priority parsePriority(String text, int from, int to) {
+        while (from < to && text.charAt(from) == ' ') from++;
+        while (to > from && text.charAt(to - 1) == ' ') to--;
+        if (from == to) return null;
+        char initial = Character.toLowerCase(text.charAt(from));
+        Task.Priority p = (initial < BY_INITIAL.length) ? BY_INITIAL[initial] : null;
+        if (p == null || p.name().length() != to - from) return null;
+        return text.regionMatches(true, from, p.name(), 0, to - from) ? p : null;
+    }
+
+    // Shared LocalTime for a minute of the day
+    public static LocalTime timeOf(int minuteOfDay) { return TIMES[minuteOfDay]; }
+
+    public static int minuteOfDay(LocalTime t) { return t.getHour() * 60 + t.getMinute(); }
+
+    private static int digit(char c) { return (c >= '0' && c <= '9') ? c - '0' : -1; }
+}
@@ -0,0 +1,61 @@
+package scheduler;
+
+import java.util.*;
+import java.io.*;
+import java.nio.file.*;
+
+// Streams a task file into a crew timeline
+// Each line is "description,start,end,priority" (times as HH:mm); blank lines and lines starting with '#' are skipped
+// The description is everything before the last three commas, so it may itself contain commas
+public class TaskImporter {
+    private static final String HEADER = "description,start,end,priority";
+
+    public static ImportReport importFile(Path file, CrewTimeline timeline) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            return importLines(in, timeline);
+        }
+    }
+
+    // Parses every row without throwing, sorts the valid ones once by start time and then
+    // places them with a single sweep over the batch and the existing timeline (O(n log n) overall)
+    public static ImportReport importLines(BufferedReader in, CrewTimeline timeline) throws IOException {
+        ImportReport report = new ImportReport();
+        List<ImportReport.Row> rows = new ArrayList<>();
+        String line;
+        int lineNo = 0;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.equalsIgnoreCase(HEADER)) continue;
+            Task task = parseRow(trimmed, lineNo, report);
+            if (task != null) rows.add(new ImportReport.Row(lineNo, trimmed, task));
+        }
+
+        // List.sort is stable, so rows with the same start keep file order
+        rows.sort(Comparator.comparing(r -> r.task.getStartTime()));
+        timeline.addSorted(rows, report);
+        report.finish();
+        return report;
+    }
+
+    // Returns the parsed task, or null after recording why the row was rejected
+    private static Task parseRow(String line, int lineNo, ImportReport report) {
+        int c3 = line.lastIndexOf(',');
+        int c2 = (c3 > 0) ? line.lastIndexOf(',', c3 - 1) : -1;
+        int c1 = (c2 > 0) ? line.lastIndexOf(',', c2 - 1) : -1;
+        if (c1 <= 0) {
+            report.reject(lineNo, line, "Malformed row. Expected description,start,end,priority");
+            return null;
+        }
+        // Fields are parsed in place, so only accepted rows allocate (their description and Task)
+        int start = TaskFactory.parseMinutes(line, c1 + 1, c2);
+        int end = TaskFactory.parseMinutes(line, c2 + 1, c3);
+        Task.Priority priority = TaskFactory.parsePriority(line, c3 + 1, line.length());
+        TaskFactory.InputError error = TaskFactory.validate(start, end, priority);
+        if (error != null) {
+            report.reject(lineNo, line, error.getReason());
+            return null;
+        }
+        return new Task(line.substring(0, c1).trim(), TaskFactory.timeOf(start), TaskFactory.timeOf(end), priority);
+    }
+}
@@ -0,0 +1,46 @@
+package scheduler;
+
+import java.util.*;
+import java.time.*;
+
+// ===================== Interval Index =====================
+// Ordered index of the scheduled task intervals, keyed by start time
+// Scheduled tasks never overlap, so only the neighbours of a new interval can conflict with it
+// and every lookup, insert and removal runs in O(log n)
+public class TaskIntervalIndex {
+    private final TreeMap<LocalTime, Task> byStart = new TreeMap<>();
+
+    // Returns the earliest-starting task that conflicts with the given one, or null if none
+    // The ignored task (may be null) is skipped, which lets a task be checked against its own replacement
+    public Task findConflict(Task task, Task ignored) {
+        LocalTime from = byStart.floorKey(task.getStartTime());
+        SortedMap<LocalTime, Task> candidates = (from == null) ? byStart : byStart.tailMap(from);
+
+        // Intervals before the floor entry end before it starts, so the walk begins there
+        // and stops at the first interval starting after the new one ends
+        for (Task t : candidates.values()) {
+            if (t.getStartTime().isAfter(task.getEndTime())) break;
+            if (t != ignored && isConflict(task, t)) return t;
+        }
+        return null;
+    }
+
+    // The task starting at the given time, or null
+    public Task get(LocalTime start) { return byStart.get(start); }
+
+    public void add(Task task) { byStart.put(task.getStartTime(), task); }
+
+    public boolean remove(Task task) { return byStart.remove(task.getStartTime(), task); }
+
+    public boolean isEmpty() { return byStart.isEmpty(); }
+
+    public int size() { return byStart.size(); }
+
+    // Tasks in start-time order
+    public Collection<Task> inOrder() { return byStart.values(); }
+
+    // Check if two tasks conflict (shared boundary minutes count as a conflict)
+    public static boolean isConflict(Task a, Task b) {
+        return !(a.getEndTime().isBefore(b.getStartTime()) || a.getStartTime().isAfter(b.getEndTime()));
+    }
+}
@@ -0,0 +1,35 @@
+package scheduler;
+
+import java.util.*;
+import java.time.*;
+
+// ===================== Task Storage =====================
+// Storage behind a CrewTimeline; the timeline supplies locking and journaling, so stores are not thread-safe
+public interface TaskStore {
+    // Earliest-starting task that conflicts with the given one, skipping the ignored task (may be null)
+    Task findConflict(Task task, Task ignored);
+
+    // The first-added task with the given description (case-insensitive), or null; an edited task counts as added again
+    Task find(String description);
+
+    // The task starting at the given time, or null; start times are unique because tasks never overlap
+    Task findAt(LocalTime start);
+
+    void insert(Task task);
+
+    // Remove a task previously returned by this store
+    void delete(Task task);
+
+    // Mark a task previously returned by this store as completed
+    void markCompleted(Task task);
+
+    int size();
+
+    // Read-only views in start-time order
+    Collection<Task> inOrder();
+    Collection<Task> inOrder(Task.Priority priority);
+
+    // Every task, with tasks of the same description in the order find() resolves them,
+    // so a store refilled in this order resolves duplicates exactly as before
+    List<Task> inAddedOrder();
+}
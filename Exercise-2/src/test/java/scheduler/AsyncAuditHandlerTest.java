@@ -0,0 +1,64 @@
+package scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.regex.*;
+import java.util.logging.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncAuditHandlerTest {
+    @TempDir
+    Path dir;
+
+    // close() must drain the ring buffer, so nothing logged before it is lost
+    @Test
+    void closeWritesEveryRecord() throws Exception {
+        Path file = dir.resolve("audit.log");
+        AsyncAuditHandler handler = new AsyncAuditHandler(file, 64, AsyncAuditHandler.FsyncPolicy.NEVER, 0,
+                AsyncAuditHandler.Backpressure.BLOCK);
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+        int records = 5_000;
+        for (int i = 0; i < records; i++) logger.info("record-" + i + ";");
+        logger.removeHandler(handler);
+        handler.close();
+
+        assertEquals(records, handler.getWritten());
+        assertEquals(0, handler.getDropped());
+        BitSet seen = new BitSet(records);
+        Matcher m = Pattern.compile("record-(\\d+);").matcher(Files.readString(file));
+        while (m.find()) seen.set(Integer.parseInt(m.group(1)));
+        assertEquals(records, seen.cardinality());
+    }
+
+    // After a write failure ends the writer, a full ring must drop records instead of blocking the caller
+    @Test
+    void publishReturnsAfterWriteFailure() throws Exception {
+        FileChannel channel = FileChannel.open(dir.resolve("audit.log"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.close(); // The first batch write fails with ClosedChannelException
+        AsyncAuditHandler handler = new AsyncAuditHandler(channel, 4, AsyncAuditHandler.FsyncPolicy.NEVER, 0,
+                AsyncAuditHandler.Backpressure.BLOCK);
+        handler.setErrorManager(new ErrorManager() {
+            @Override
+            public void error(String msg, Exception ex, int code) { }
+        });
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 1_000; i++) logger.info("record-" + i);
+        });
+        assertTrue(handler.getDropped() > 0);
+        assertEquals(0, handler.getWritten());
+        logger.removeHandler(handler);
+        assertTimeoutPreemptively(Duration.ofSeconds(10), handler::close);
+    }
+}
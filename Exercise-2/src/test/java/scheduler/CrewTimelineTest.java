@@ -0,0 +1,57 @@
+package scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrewTimelineTest {
+    private static final String[] DESCRIPTIONS = { "Exercise", "Meal", "Sleep", "Repair", "Experiment", "Call" };
+
+    // Threads racing on one crew's timeline must never leave two overlapping tasks behind
+    @Test
+    void concurrentAddsAndRemovesLeaveNoConflicts() throws Exception {
+        for (TaskStore store : new TaskStore[] { new IndexedTaskStore(), new CompactTaskStore(new DescriptionPool()) }) {
+            CrewTimeline timeline = new CrewTimeline("crew", null, store);
+            int threads = 8;
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CyclicBarrier start = new CyclicBarrier(threads);
+            List<Future<Integer>> added = new ArrayList<>();
+            for (int w = 0; w < threads; w++) {
+                long seed = w;
+                added.add(pool.submit(() -> {
+                    SplittableRandom rnd = new SplittableRandom(seed);
+                    start.await();
+                    int applied = 0;
+                    for (int i = 0; i < 20_000; i++) {
+                        String description = DESCRIPTIONS[rnd.nextInt(DESCRIPTIONS.length)];
+                        if (rnd.nextInt(3) == 0) {
+                            timeline.remove(description);
+                        } else {
+                            int from = rnd.nextInt(24 * 60 - 121);
+                            Task task = new Task(description, TaskFactory.timeOf(from),
+                                    TaskFactory.timeOf(from + 1 + rnd.nextInt(120)), Task.Priority.MEDIUM);
+                            if (timeline.add(task).isApplied()) applied++;
+                        }
+                    }
+                    return applied;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> f : added) total += f.get(60, TimeUnit.SECONDS);
+            pool.shutdown();
+
+            String context = store.getClass().getSimpleName();
+            assertTrue(total > 0, context);
+            List<Task> tasks = timeline.snapshot();
+            for (int i = 0; i < tasks.size(); i++) {
+                for (int j = i + 1; j < tasks.size(); j++) {
+                    assertFalse(TaskIntervalIndex.isConflict(tasks.get(i), tasks.get(j)),
+                            context + ": " + tasks.get(i) + " overlaps " + tasks.get(j));
+                }
+            }
+        }
+    }
+}
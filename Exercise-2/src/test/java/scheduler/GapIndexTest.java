@@ -0,0 +1,34 @@
+package scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GapIndexTest {
+    @Test
+    void findReturnsEarliestSlotPerGap() {
+        GapIndex gaps = new GapIndex();
+        gaps.occupy(60, 119);
+        assertArrayEquals(new int[] { 0, 120 }, gaps.find(30, 0, GapIndex.MINUTES - 1, 2));
+    }
+
+    @Test
+    void findWithZeroSlotsReturnsNothing() {
+        assertEquals(0, new GapIndex().find(30, 0, GapIndex.MINUTES - 1, 0).length);
+    }
+
+    @Test
+    void findRejectsNegativeSlotCount() {
+        assertThrows(IllegalArgumentException.class, () -> new GapIndex().find(30, 0, GapIndex.MINUTES - 1, -1));
+    }
+
+    @Test
+    void findFreeSlotsChecksSlotCount() {
+        CrewTimeline timeline = new CrewTimeline("crew");
+        assertTrue(timeline.findFreeSlots(30, LocalTime.of(8, 0), LocalTime.of(12, 0), 0).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> timeline.findFreeSlots(30, LocalTime.of(8, 0), LocalTime.of(12, 0), -1));
+    }
+}
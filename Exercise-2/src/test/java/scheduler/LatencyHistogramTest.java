@@ -0,0 +1,102 @@
+package scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+    // Lowest value that falls into the bucket
+    private static long lowerBound(int index) {
+        return (index == 0) ? 0 : LatencyHistogram.upperBound(index - 1) + 1;
+    }
+
+    // Small values get a bucket each
+    @Test
+    void smallValuesAreExact() {
+        for (long v = 0; v < 32; v++) {
+            assertEquals(v, LatencyHistogram.indexOf(v));
+            assertEquals(v, LatencyHistogram.upperBound((int) v));
+        }
+    }
+
+    // Buckets tile the range without gaps, and every value lands in a bucket within 1/32 of it
+    @Test
+    void bucketsCoverEveryValueWithinThreePercent() {
+        for (int i = 1; i < LatencyHistogram.BUCKETS - 1; i++) {
+            assertEquals(LatencyHistogram.upperBound(i - 1) + 1, lowerBound(i), "bucket " + i);
+            assertTrue(LatencyHistogram.upperBound(i) >= lowerBound(i), "bucket " + i);
+        }
+        SplittableRandom random = new SplittableRandom(7);
+        for (int n = 0; n < 100_000; n++) {
+            long v = random.nextLong(1L << random.nextInt(1, 42));
+            int index = LatencyHistogram.indexOf(v);
+            assertTrue(lowerBound(index) <= v && v <= LatencyHistogram.upperBound(index), "value " + v);
+            assertTrue(LatencyHistogram.upperBound(index) - v <= v / 32, "value " + v);
+        }
+    }
+
+    // Values past the largest bucket, about 70 minutes, all land in the last one
+    @Test
+    void hugeValuesLandInTheLastBucket() {
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.indexOf(1L << 50));
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.indexOf(Long.MAX_VALUE));
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, h.snapshot().valueAt(0.5));
+    }
+
+    @Test
+    void percentilesOfAUniformRun() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) h.record(v);
+        LatencyHistogram.Snapshot s = h.snapshot();
+        assertEquals(10_000, s.count);
+        assertEquals(10_000, s.operations);
+        assertEquals(5000.5, s.mean(), 1e-9);
+        assertEquals(10_000, s.max);
+        // A percentile reports the top of its bucket: never below the exact value and at most 1/32 above it
+        long[][] expected = { { 1, 100 }, { 50, 5000 }, { 90, 9000 }, { 99, 9900 } };
+        for (long[] e : expected) {
+            long value = s.valueAt(e[0] / 100.0);
+            assertTrue(value >= e[1] && value <= e[1] + e[1] / 32, "p" + e[0] + " = " + value);
+        }
+        assertEquals(10_000, s.valueAt(1.0));
+        assertEquals(1, s.valueAt(0.0));
+    }
+
+    // The top bucket is capped at the largest value actually seen
+    @Test
+    void percentilesNeverExceedTheMax() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(1_000_001);
+        h.record(1_000_000);
+        assertEquals(1_000_001, h.snapshot().valueAt(0.99));
+    }
+
+    @Test
+    void emptyAndNegative() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.snapshot().valueAt(0.99));
+        assertEquals(0, h.snapshot().mean());
+        h.record(-5); // A clock step back counts as zero
+        LatencyHistogram.Snapshot s = h.snapshot();
+        assertEquals(1, s.count);
+        assertEquals(0, s.valueAt(0.5));
+        assertEquals(0, s.max);
+    }
+
+    // Sampled histograms scale operations back up but take percentiles from the samples
+    @Test
+    void samplingScalesOperations() {
+        LatencyHistogram h = new LatencyHistogram(8);
+        for (int i = 0; i < 100; i++) h.record(500);
+        LatencyHistogram.Snapshot s = h.snapshot();
+        assertEquals(100, s.count);
+        assertEquals(800, s.operations);
+        assertTrue(s.valueAt(0.5) >= 500 && s.valueAt(0.5) <= 500 + 500 / 32);
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(3));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(0));
+    }
+}
@@ -0,0 +1,113 @@
+package scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+    private static final LocalDate MONDAY = LocalDate.of(2026, 1, 5);
+
+    // First day in [from, to] on which both rules occur, found by checking every day
+    private static LocalDate bruteForce(RecurrenceRule a, RecurrenceRule b, LocalDate from, LocalDate to) {
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            if (a.occursOn(d) && b.occursOn(d)) return d;
+        }
+        return null;
+    }
+
+    private static void assertCommon(RecurrenceRule a, RecurrenceRule b, LocalDate expected) {
+        assertEquals(expected, a.firstCommonDate(b), a + " / " + b);
+        assertEquals(expected, b.firstCommonDate(a), b + " / " + a);
+    }
+
+    @Test
+    void occursOnAndOccurrencesBetweenMatchEveryDay() {
+        List<RecurrenceRule> rules = List.of(
+                RecurrenceRule.daily(MONDAY, 1, null),
+                RecurrenceRule.daily(MONDAY.plusDays(2), 3, MONDAY.plusDays(100)),
+                RecurrenceRule.weekly(MONDAY.plusDays(2), 1, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), null),
+                RecurrenceRule.weekly(MONDAY.plusDays(4), 2, EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.SUNDAY), MONDAY.plusDays(90)));
+        LocalDate from = MONDAY.plusDays(10), to = MONDAY.plusDays(120);
+        for (RecurrenceRule rule : rules) {
+            List<LocalDate> expected = new ArrayList<>();
+            for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+                if (rule.occursOn(d)) expected.add(d);
+            }
+            assertEquals(expected, rule.occurrencesBetween(from, to), rule.toString());
+        }
+        // Weeks count from the week of the start date: Monday has already passed on a Wednesday start
+        RecurrenceRule weekly = rules.get(2);
+        assertFalse(weekly.occursOn(MONDAY));
+        assertTrue(weekly.occursOn(MONDAY.plusDays(4)));
+        assertTrue(weekly.occursOn(MONDAY.plusDays(7)));
+        assertFalse(rules.get(1).occursOn(MONDAY.plusDays(101)));
+    }
+
+    @Test
+    void firstCommonDateMatchesBruteForce() {
+        List<RecurrenceRule> rules = new ArrayList<>();
+        for (int interval : new int[] { 1, 2, 3, 4, 5, 6, 9 }) {
+            for (int offset = 0; offset < 4; offset++) {
+                rules.add(RecurrenceRule.daily(MONDAY.plusDays(offset), interval, null));
+            }
+        }
+        rules.add(RecurrenceRule.weekly(MONDAY, 2, EnumSet.of(DayOfWeek.WEDNESDAY), null));
+        rules.add(RecurrenceRule.weekly(MONDAY.plusDays(3), 3, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.SATURDAY), null));
+        rules.add(RecurrenceRule.daily(MONDAY, 4, MONDAY.plusDays(10)));
+        LocalDate to = MONDAY.plusDays(2 * 9 * 7 * 3 * 4 * 5);
+        for (RecurrenceRule a : rules) {
+            for (RecurrenceRule b : rules) {
+                assertEquals(bruteForce(a, b, MONDAY, to), a.firstCommonDate(b), a + " / " + b);
+            }
+        }
+    }
+
+    @Test
+    void coprimeAndSharedFactorIntervals() {
+        // 3 and 5 are coprime: days 1 + 3i and 2 + 5j first meet on day 7
+        assertCommon(RecurrenceRule.daily(MONDAY.plusDays(1), 3, null), RecurrenceRule.daily(MONDAY.plusDays(2), 5, null),
+                MONDAY.plusDays(7));
+        // 4 and 6 share a factor of 2: even offsets meet, here on day 12
+        assertCommon(RecurrenceRule.daily(MONDAY, 4, null), RecurrenceRule.daily(MONDAY.plusDays(6), 6, null),
+                MONDAY.plusDays(12));
+    }
+
+    @Test
+    void rulesThatNeverCoincide() {
+        // Same interval, different parity
+        assertCommon(RecurrenceRule.daily(MONDAY, 2, null), RecurrenceRule.daily(MONDAY.plusDays(1), 2, null), null);
+        // 4 and 6 with an odd offset
+        assertCommon(RecurrenceRule.daily(MONDAY, 4, null), RecurrenceRule.daily(MONDAY.plusDays(1), 6, null), null);
+        // Different weekdays
+        assertCommon(RecurrenceRule.weekly(MONDAY, 1, EnumSet.of(DayOfWeek.MONDAY), null),
+                RecurrenceRule.weekly(MONDAY, 3, EnumSet.of(DayOfWeek.TUESDAY), null), null);
+        // They would meet on day 7, but the first one ends before that
+        assertCommon(RecurrenceRule.daily(MONDAY.plusDays(1), 3, MONDAY.plusDays(6)),
+                RecurrenceRule.daily(MONDAY.plusDays(2), 5, null), null);
+    }
+
+    @Test
+    void largeIntervals() {
+        // A weekly period of 7 * 2e9 days against a daily one: the modular product exceeds a long
+        RecurrenceRule weekly = RecurrenceRule.weekly(MONDAY, 2_000_000_000, EnumSet.of(DayOfWeek.MONDAY), null);
+        long period = 7L * 2_000_000_000;
+        LocalDate third = LocalDate.ofEpochDay(MONDAY.toEpochDay() + 3 * period);
+        RecurrenceRule daily = RecurrenceRule.daily(third.minusDays(5L * 1_000_000_007), 1_000_000_007, null);
+        LocalDate expected = null;
+        for (LocalDate d : weekly.occurrencesBetween(MONDAY, LocalDate.MAX)) {
+            if (daily.occursOn(d)) {
+                expected = d;
+                break;
+            }
+        }
+        assertEquals(third, expected);
+        assertCommon(weekly, daily, third);
+
+        // Coprime periods near Integer.MAX_VALUE first meet far beyond the last representable date
+        assertCommon(RecurrenceRule.daily(MONDAY, Integer.MAX_VALUE, null),
+                RecurrenceRule.daily(MONDAY.plusDays(1), Integer.MAX_VALUE - 18, null), null);
+    }
+}
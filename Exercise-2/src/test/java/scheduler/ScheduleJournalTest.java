@@ -0,0 +1,127 @@
+package scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleJournalTest {
+    private static final String CREW = "crew";
+
+    @TempDir
+    Path dir;
+
+    private static Task task(String description, int start, int minutes, Task.Priority priority) {
+        return new Task(description, TaskFactory.timeOf(start), TaskFactory.timeOf(start + minutes), priority);
+    }
+
+    private ScheduleManager open(long snapshotEvery) throws Exception {
+        ScheduleManager manager = new ScheduleManager(null); // No audit log file
+        manager.setRenderer(new HeadlessScheduleRenderer());
+        manager.enablePersistence(dir, false, snapshotEvery);
+        return manager;
+    }
+
+    // A change to one of several tasks with the same description must hit the same task after a restart
+    @Test
+    void duplicateDescriptionsRecoverAfterSnapshotAndCrash() throws Exception {
+        ScheduleManager live = open(2);
+        live.addTask(CREW, task("Exercise", 600, 30, Task.Priority.HIGH));
+        live.addTask(CREW, task("exercise", 480, 30, Task.Priority.LOW));
+        Path snapshot = dir.resolve("snapshot.bin");
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!Files.exists(snapshot)) {
+            assertTrue(System.nanoTime() < deadline, "snapshot was not written");
+            Thread.sleep(5);
+        }
+        assertTrue(live.removeTask(CREW, "Exercise"));
+        // Halt without closing the journal, as after a crash
+        assertRecovered(live, open(0));
+    }
+
+    @Test
+    void duplicateDescriptionsRecoverFromTheLog() throws Exception {
+        ScheduleManager live = open(0);
+        live.addTask(CREW, task("Meal", 720, 30, Task.Priority.MEDIUM));
+        live.addTask(CREW, task("meal", 360, 30, Task.Priority.MEDIUM));
+        live.addTask(CREW, task("MEAL", 1080, 30, Task.Priority.MEDIUM));
+        CrewTimeline timeline = live.timeline(CREW);
+        assertTrue(timeline.edit("meal", task("Meal", 780, 30, Task.Priority.HIGH)).isApplied());
+        assertTrue(timeline.markCompleted("Meal").isApplied());
+        assertTrue(live.removeTask(CREW, "MEAL"));
+        assertRecovered(live, open(0));
+    }
+
+    // Series survive a clean shutdown through the snapshot, and a crash through the log
+    @Test
+    void recurringSeriesRecover() throws Exception {
+        LocalDate monday = LocalDate.of(2026, 1, 5);
+        ScheduleManager live = open(0);
+        assertTrue(live.addRecurringTask(CREW, series("Exercise", 480, RecurrenceRule.daily(monday, 1, null))));
+        assertTrue(live.addRecurringTask(CREW, series("Meal", 720,
+                RecurrenceRule.weekly(monday, 2, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), monday.plusDays(60)))));
+        assertTrue(live.addRecurringTask(CREW, series("Sleep", 1320, RecurrenceRule.daily(monday, 3, null))));
+        assertTrue(live.addTask(CREW, monday, task("Briefing", 600, 30, Task.Priority.HIGH)));
+        assertTrue(live.removeRecurringTask(CREW, "Sleep"));
+        live.closePersistence();
+
+        ScheduleManager restarted = open(0);
+        assertSeries(live, restarted);
+        assertEquals(render(live.timeline(CREW, monday).snapshot()), render(restarted.timeline(CREW, monday).snapshot()));
+        assertFalse(restarted.addTask(CREW, monday, task("Run", 490, 30, Task.Priority.LOW)), "series conflict lost");
+        assertTrue(restarted.removeRecurringTask(CREW, "Exercise"));
+        assertTrue(restarted.addRecurringTask(CREW, series("Exercise", 1020, RecurrenceRule.daily(monday, 2, null))));
+
+        // Halt without closing the journal, as after a crash
+        assertSeries(restarted, open(0));
+    }
+
+    private static RecurringTask series(String description, int start, RecurrenceRule rule) {
+        return new RecurringTask(description, TaskFactory.timeOf(start), TaskFactory.timeOf(start + 30), Task.Priority.MEDIUM, rule);
+    }
+
+    private static void assertSeries(ScheduleManager live, ScheduleManager recovered) {
+        assertEquals(String.valueOf(live.recurring(CREW).getSeries()), String.valueOf(recovered.recurring(CREW).getSeries()));
+    }
+
+    // A snapshot requested after close, like an automatic one still queued, must not open a new log segment
+    @Test
+    void snapshotAfterCloseDoesNothing() throws Exception {
+        ScheduleManager manager = new ScheduleManager(null);
+        ScheduleJournal journal = ScheduleJournal.open(dir, manager, false, 0, new HashMap<>(), new HashMap<>());
+        journal.close();
+        Set<Path> before = files();
+        journal.snapshot();
+        assertEquals(before, files());
+        assertThrows(IllegalStateException.class, () -> journal.logAdd(CREW, task("Meal", 720, 30, Task.Priority.LOW)));
+    }
+
+    private Set<Path> files() throws Exception {
+        Set<Path> names = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path p : stream) names.add(p.getFileName());
+        }
+        return names;
+    }
+
+    // Same tasks, and the same task found for each remaining description
+    private static void assertRecovered(ScheduleManager live, ScheduleManager recovered) {
+        CrewTimeline a = live.timeline(CREW), b = recovered.timeline(CREW);
+        assertEquals(render(a.snapshot()), render(b.snapshot()));
+        while (!a.snapshot().isEmpty()) {
+            String description = a.snapshot().get(0).getDescription();
+            assertEquals(String.valueOf(a.remove(description).getTask()), String.valueOf(b.remove(description).getTask()));
+            assertEquals(render(a.snapshot()), render(b.snapshot()));
+        }
+    }
+
+    private static List<String> render(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task t : tasks) lines.add(t.toString() + " completed=" + t.isCompleted());
+        return lines;
+    }
+}
@@ -0,0 +1,67 @@
+package scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskFactoryTest {
+    private static void assertRejected(String start, String end, String priority, String message) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> TaskFactory.createTask("Exercise", start, end, priority));
+        assertEquals(message, e.getMessage());
+    }
+
+    @Test
+    void parsesValidTimes() {
+        assertEquals(0, TaskFactory.parseMinutes("00:00"));
+        assertEquals(7 * 60 + 5, TaskFactory.parseMinutes("07:05"));
+        assertEquals(23 * 60 + 59, TaskFactory.parseMinutes("23:59"));
+        assertEquals(12 * 60, TaskFactory.parseMinutes(" 12:00 "));
+        assertEquals(LocalTime.of(9, 30), TaskFactory.parseTime("09:30"));
+    }
+
+    @Test
+    void rejectsInvalidTimesWithoutThrowing() {
+        for (String text : new String[] { "24:00", "12:60", "7:5", "07:5", "ab:cd", "0730", "07-30", "", " ", null }) {
+            assertEquals(TaskFactory.INVALID_TIME, TaskFactory.parseMinutes(text), "\"" + text + "\"");
+            assertNull(TaskFactory.parseTime(text), "\"" + text + "\"");
+        }
+    }
+
+    @Test
+    void parsesPrioritiesIgnoringCase() {
+        assertEquals(Task.Priority.HIGH, TaskFactory.parsePriority("High"));
+        assertEquals(Task.Priority.MEDIUM, TaskFactory.parsePriority(" medium "));
+        assertEquals(Task.Priority.LOW, TaskFactory.parsePriority("LOW"));
+        for (String text : new String[] { "Hi", "Highest", "Urgent", "", null }) {
+            assertNull(TaskFactory.parsePriority(text), "\"" + text + "\"");
+        }
+    }
+
+    @Test
+    void createsValidTask() {
+        Task task = TaskFactory.createTask("Exercise", "07:00", "07:45", "high");
+        assertEquals(LocalTime.of(7, 0), task.getStartTime());
+        assertEquals(LocalTime.of(7, 45), task.getEndTime());
+        assertEquals(Task.Priority.HIGH, task.getPriority());
+    }
+
+    @Test
+    void reportsTheRightError() {
+        String invalidTime = "Error: Invalid time format. Use HH:mm (00:00 - 23:59)";
+        assertRejected("24:00", "24:30", "High", invalidTime);
+        assertRejected("7:5", "08:00", "High", invalidTime);
+        assertRejected("07:00", "ab:cd", "High", invalidTime);
+        assertRejected("", "08:00", "High", invalidTime);
+
+        String endNotAfterStart = "Error: End time must be after start time.";
+        assertRejected("08:00", "08:00", "High", endNotAfterStart);
+        assertRejected("09:00", "08:00", "High", endNotAfterStart);
+
+        assertRejected("07:00", "08:00", "Urgent", "Error: Invalid priority. Use High, Medium, or Low.");
+        // Times are checked before the priority
+        assertRejected("09:00", "08:00", "Urgent", endNotAfterStart);
+    }
+}
@@ -0,0 +1,82 @@
+package scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskImporterTest {
+    private static ImportReport importText(CrewTimeline timeline, String... lines) throws IOException {
+        return TaskImporter.importLines(new BufferedReader(new StringReader(String.join("\n", lines))), timeline);
+    }
+
+    private static List<String> descriptions(Collection<Task> tasks) {
+        List<String> names = new ArrayList<>();
+        for (Task t : tasks) names.add(t.getDescription());
+        return names;
+    }
+
+    @Test
+    void cleanImportAddsEveryRowInStartOrder() throws IOException {
+        CrewTimeline timeline = new CrewTimeline("crew");
+        ImportReport report = importText(timeline,
+                "description,start,end,priority",
+                "# morning",
+                "Meal, with crew,12:00,12:30,Medium",
+                "",
+                "Exercise,07:00,07:45,High",
+                "Sleep,22:00,23:30,low");
+
+        assertTrue(report.getRejected().isEmpty(), String.valueOf(report.getRejected()));
+        assertEquals(List.of("Exercise", "Meal, with crew", "Sleep"), descriptions(report.getAccepted()));
+        assertEquals(List.of("Exercise", "Meal, with crew", "Sleep"), descriptions(timeline.snapshot()));
+        assertEquals(Task.Priority.LOW, timeline.snapshot().get(2).getPriority());
+    }
+
+    @Test
+    void parseErrorsReportTheirLine() throws IOException {
+        CrewTimeline timeline = new CrewTimeline("crew");
+        ImportReport report = importText(timeline,
+                "Exercise,07:00,07:45,High",
+                "Repair,24:00,25:00,High",
+                "Call,09:00,08:00,Low",
+                "no commas here",
+                "Meal,12:00,12:30,Urgent");
+
+        assertEquals(List.of("Exercise"), descriptions(report.getAccepted()));
+        List<ImportReport.Rejection> rejected = report.getRejected();
+        assertEquals(4, rejected.size());
+        assertRejection(rejected.get(0), 2, "Repair,24:00,25:00,High", TaskFactory.InputError.INVALID_TIME.getReason());
+        assertRejection(rejected.get(1), 3, "Call,09:00,08:00,Low", TaskFactory.InputError.END_NOT_AFTER_START.getReason());
+        assertRejection(rejected.get(2), 4, "no commas here", "Malformed row. Expected description,start,end,priority");
+        assertRejection(rejected.get(3), 5, "Meal,12:00,12:30,Urgent", TaskFactory.InputError.INVALID_PRIORITY.getReason());
+    }
+
+    // The sweep checks each row against the timeline's tasks and against the rows of the batch accepted before it
+    @Test
+    void conflictsWithExistingTasksAndEarlierRows() throws IOException {
+        CrewTimeline timeline = new CrewTimeline("crew");
+        assertTrue(timeline.add(new Task("Briefing", LocalTime.of(9, 0), LocalTime.of(10, 0), Task.Priority.HIGH)).isApplied());
+        ImportReport report = importText(timeline,
+                "Repair,11:30,12:30,High",
+                "Call,09:30,09:45,Low",
+                "Meal,11:00,12:00,Medium",
+                "Exercise,07:00,07:45,High");
+
+        assertEquals(List.of("Exercise", "Meal"), descriptions(report.getAccepted()));
+        assertEquals(List.of("Exercise", "Briefing", "Meal"), descriptions(timeline.snapshot()));
+        List<ImportReport.Rejection> rejected = report.getRejected();
+        assertEquals(2, rejected.size());
+        assertRejection(rejected.get(0), 1, "Repair,11:30,12:30,High", "Conflicts with imported task \"Meal\" (line 3).");
+        assertRejection(rejected.get(1), 2, "Call,09:30,09:45,Low", "Conflicts with existing task \"Briefing\".");
+    }
+
+    private static void assertRejection(ImportReport.Rejection r, int line, String text, String reason) {
+        assertEquals(line, r.getLine());
+        assertEquals(text, r.getText());
+        assertEquals(reason, r.getReason());
+    }
+}
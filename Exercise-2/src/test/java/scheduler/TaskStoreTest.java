@@ -0,0 +1,79 @@
+package scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskStoreTest {
+    private static final String[] DESCRIPTIONS = { "Exercise", "exercise", "EXERCISE", "Meal", "meal", "Sleep" };
+
+    private static Task task(String description, int start, int minutes, Task.Priority priority) {
+        return new Task(description, TaskFactory.timeOf(start), TaskFactory.timeOf(start + minutes), priority);
+    }
+
+    @Test
+    void duplicateDescriptionsResolveToTheFirstAddedTask() {
+        for (TaskStore store : new TaskStore[] { new IndexedTaskStore(), new CompactTaskStore(new DescriptionPool()) }) {
+            CrewTimeline timeline = new CrewTimeline("crew", null, store);
+            timeline.add(task("Exercise", 600, 30, Task.Priority.HIGH));
+            timeline.add(task("exercise", 480, 30, Task.Priority.LOW));
+            assertEquals(LocalTime.of(10, 0), store.find("EXERCISE").getStartTime(), store.getClass().getSimpleName());
+
+            // An edit counts as adding the task again
+            timeline.edit("Exercise", task("Exercise", 660, 30, Task.Priority.HIGH));
+            assertEquals(LocalTime.of(8, 0), store.find("exercise").getStartTime(), store.getClass().getSimpleName());
+        }
+    }
+
+    // The same random adds, removes, edits and completions on both stores must give identical results
+    @Test
+    void indexedAndCompactStoresBehaveAlike() {
+        SplittableRandom rnd = new SplittableRandom(7);
+        IndexedTaskStore indexed = new IndexedTaskStore();
+        CompactTaskStore compact = new CompactTaskStore(new DescriptionPool());
+        CrewTimeline a = new CrewTimeline("indexed", null, indexed);
+        CrewTimeline b = new CrewTimeline("compact", null, compact);
+
+        for (int step = 0; step < 5_000; step++) {
+            String description = DESCRIPTIONS[rnd.nextInt(DESCRIPTIONS.length)];
+            Task.Priority priority = Task.Priority.values()[rnd.nextInt(3)];
+            int start = rnd.nextInt(24 * 60 - 61);
+            int minutes = 1 + rnd.nextInt(60);
+            ScheduleResult ra, rb;
+            switch (rnd.nextInt(4)) {
+                case 0:
+                    ra = a.add(task(description, start, minutes, priority));
+                    rb = b.add(task(description, start, minutes, priority));
+                    break;
+                case 1:
+                    ra = a.remove(description);
+                    rb = b.remove(description);
+                    break;
+                case 2:
+                    String renamed = DESCRIPTIONS[rnd.nextInt(DESCRIPTIONS.length)];
+                    ra = a.edit(description, task(renamed, start, minutes, priority));
+                    rb = b.edit(description, task(renamed, start, minutes, priority));
+                    break;
+                default:
+                    ra = a.markCompleted(description);
+                    rb = b.markCompleted(description);
+            }
+            String context = "step " + step;
+            assertEquals(ra.getStatus(), rb.getStatus(), context);
+            assertEquals(String.valueOf(ra.getTask()), String.valueOf(rb.getTask()), context);
+            assertEquals(render(indexed.inOrder()), render(compact.inOrder()), context);
+            for (String d : DESCRIPTIONS) {
+                assertEquals(String.valueOf(indexed.find(d)), String.valueOf(compact.find(d)), context + " find " + d);
+            }
+        }
+    }
+
+    private static List<String> render(Collection<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task t : tasks) lines.add(t.toString());
+        return lines;
+    }
+}